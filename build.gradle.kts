@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.caffeine)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,11 +35,14 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    // virtual thread (spring.threads.virtual.enabled) 를 사용하기 위해 21 로 빌드
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
 }
 
 // bundling tasks
@@ -50,3 +57,13 @@ tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
 }
+
+// benchmark tasks (src/jmh/java)
+jmh {
+    jmhVersion = libs.versions.jmh.core.get()
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // ex) gradle jmh -Pjmh.includes=BalanceEngineBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
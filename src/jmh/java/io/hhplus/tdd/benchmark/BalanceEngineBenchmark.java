@@ -0,0 +1,146 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.IdempotencyCache;
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.CasEngineProperties;
+import io.hhplus.tdd.point.engine.CasPointEngine;
+import io.hhplus.tdd.point.engine.PointCommandCombiner;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.UserPointRepositoryImpl;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 기반 처리(LockHelper.executeWithLock)와 CAS 엔진의 충전/사용 처리량 비교
+ * - 테이블은 지연 없는 대역을 사용해서 락/CAS 자체의 비용만 측정한다.
+ * - 요청의 80% 는 충전, 20% 는 사용이며 유저는 uniform / zipf 분포로 고른다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BalanceEngineBenchmark {
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private PointService lockService;
+
+    private CasPointEngine casEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+
+        UserPointRepositoryImpl lockRepository = new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics());
+        StaticListableBeanFactory noEngine = new StaticListableBeanFactory(Map.of());
+        LockHelper lockHelper = new LockHelper();
+        DiscardingPointHistoryRepository lockHistoryRepository = new DiscardingPointHistoryRepository();
+        lockService = new PointService(lockRepository, lockHistoryRepository, lockHelper, new PointMetrics(), new IdempotencyCache(),
+                HotKeyDetector.disabled(), new PointCommandCombiner(lockRepository, lockHistoryRepository, lockHelper),
+                noEngine.getBeanProvider(PointEngine.class));
+
+        UserPointRepositoryImpl casRepository = new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics());
+        casEngine = new CasPointEngine(casRepository, new DiscardingPointHistoryRepository(),
+                new CasEngineProperties(100_000), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        casEngine.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint lock_t1() {
+        return lockOperation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint lock_t8() {
+        return lockOperation();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint lock_t64() {
+        return lockOperation();
+    }
+
+    @Benchmark
+    @Threads(512)
+    public UserPoint lock_t512() {
+        return lockOperation();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint cas_t1() {
+        return casOperation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint cas_t8() {
+        return casOperation();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint cas_t64() {
+        return casOperation();
+    }
+
+    @Benchmark
+    @Threads(512)
+    public UserPoint cas_t512() {
+        return casOperation();
+    }
+
+    private UserPoint lockOperation() {
+        long id = userIds.next();
+        try {
+            return isCharge() ? lockService.charge(id, 10) : lockService.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+
+    private UserPoint casOperation() {
+        long id = userIds.next();
+        try {
+            return isCharge() ? casEngine.charge(id, 10) : casEngine.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCharge() {
+        return ThreadLocalRandom.current().nextInt(10) < 8;
+    }
+}
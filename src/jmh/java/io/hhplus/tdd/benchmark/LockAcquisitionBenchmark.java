@@ -0,0 +1,72 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.LockProperties;
+import io.hhplus.tdd.point.enums.LockStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LockHelper 의 락 획득/해제 비용 비교
+ * - 락 안에서는 아무 일도 하지 않으므로 락 관리 방식(strategy)의 비용과 경합만 측정한다.
+ * - 유저 수(users)와 분포에 따라 같은 락으로 몰리는 정도가 달라진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LockAcquisitionBenchmark {
+
+    @Param({"PER_KEY", "STRIPED", "REF_COUNTED"})
+    private LockStrategy strategy;
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    @Param({"10000", "1000000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private LockHelper lockHelper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+        lockHelper = new LockHelper(new LockProperties(strategy, 1024), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void acquire_t1(Blackhole blackhole) {
+        acquire(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void acquire_t8(Blackhole blackhole) {
+        acquire(blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void acquire_t64(Blackhole blackhole) {
+        acquire(blackhole);
+    }
+
+    private void acquire(Blackhole blackhole) {
+        long id = userIds.next();
+        lockHelper.executeWithLock(id, () -> blackhole.consume(id));
+    }
+}
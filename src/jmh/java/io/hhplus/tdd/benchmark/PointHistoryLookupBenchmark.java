@@ -0,0 +1,84 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 내역 조회 비용 비교
+ * - tableScan : PointHistoryTable 처럼 전체 내역을 훑는 방식, 전체 내역 수에 비례
+ * - indexed : IndexedPointHistoryRepository, 해당 유저의 내역 수에 비례
+ * - indexedPage : IndexedPointHistoryRepository 의 첫 페이지(20건) 조회, 유저의 내역 수와 거의 무관
+ * 내역과 조회 대상 유저는 같은 분포(uniform / zipf)로 고른다.
+ * 전체 내역 수(rows)를 늘려가며 두 방식의 차이가 벌어지는 지점을 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryLookupBenchmark {
+
+    private static final PointHistoryQuery FIRST_PAGE = PointHistoryQuery.firstPage(20);
+
+    @Param({"1000", "100000", "1000000", "4000000"})
+    private int rows;
+
+    @Param({"100", "10000"})
+    private int users;
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    private UserIdDistribution userIds;
+
+    private UnthrottledPointHistoryTable table;
+
+    private IndexedPointHistoryRepository indexedRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+        table = new UnthrottledPointHistoryTable();
+        indexedRepository = new IndexedPointHistoryRepository(table, new PointMetrics());
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < rows; i++) {
+            long userId = userIds.next();
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            indexedRepository.insert(userId, random.nextInt(1, 10_000), type, i);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return table.selectAllByUserId(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> indexed() {
+        return indexedRepository.selectAllByUserId(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> indexedPage() {
+        return indexedRepository.selectByUserId(nextUserId(), FIRST_PAGE);
+    }
+
+    private long nextUserId() {
+        return userIds.next();
+    }
+}
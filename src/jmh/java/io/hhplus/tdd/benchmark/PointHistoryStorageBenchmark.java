@@ -0,0 +1,96 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 저장소별 메모리 사용량과 조회 비용 비교
+ * - table : PointHistoryTable 의 ArrayList 에 PointHistory 객체로 보관
+ * - indexed : table 에 유저별 인덱스(참조 배열)를 더한 방식 (기본값)
+ * - columnar : 유저별 primitive 배열에 컬럼으로 보관, 반환하는 내역만 PointHistory 로 생성
+ * 메모리는 내역을 채우기 전후의 heap 사용량(GC 후) 차이를 내역 수로 나눠 bytes/row 로 출력한다.
+ * 조회는 유저의 전체 내역(selectAll)과, 최근 1% 기간의 내역(recentRange)을 조회해서 비교한다.
+ * recentRange 는 유저의 내역을 처음부터 끝까지 조건 검사하므로 저장 방식에 따른 스캔 비용 차이가 드러난다.
+ * 할당량은 -prof gc 로 함께 확인한다.
+ * ex) java -jar build/libs/*-jmh.jar PointHistoryStorageBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryStorageBenchmark {
+
+    @Param({"table", "indexed", "columnar"})
+    private String storage;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private PointHistoryRepository repository;
+
+    private PointHistoryQuery recentRange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of("uniform", users);
+        recentRange = new PointHistoryQuery(0, Integer.MAX_VALUE, rows - rows / 100, rows, null);
+
+        long before = usedHeapAfterGc();
+        repository = switch (storage) {
+            case "table" -> new PointHistoryRepositoryImpl(new UnthrottledPointHistoryTable(), new PointMetrics());
+            case "indexed" -> new IndexedPointHistoryRepository(new UnthrottledPointHistoryTable(), new PointMetrics());
+            case "columnar" -> new ColumnarPointHistoryRepository(new PointMetrics());
+            default -> throw new IllegalArgumentException("알 수 없는 저장소입니다. " + storage);
+        };
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < rows; i++) {
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            repository.insert(userIds.next(), random.nextInt(1, 10_000), type, i);
+        }
+        long after = usedHeapAfterGc();
+
+        System.out.printf("%n[%s] rows=%d heap=%d bytes (%.1f bytes/row)%n",
+                storage, rows, after - before, (double) (after - before) / rows);
+    }
+
+    @Benchmark
+    public List<PointHistory> selectAll() {
+        return repository.selectAllByUserId(userIds.next());
+    }
+
+    @Benchmark
+    public List<PointHistory> recentRange() {
+        return repository.selectByUserId(userIds.next(), recentRange);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
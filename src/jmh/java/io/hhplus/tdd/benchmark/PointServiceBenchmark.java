@@ -0,0 +1,130 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.HotKeyProperties;
+import io.hhplus.tdd.point.common.IdempotencyCache;
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.CasEngineProperties;
+import io.hhplus.tdd.point.engine.CasPointEngine;
+import io.hhplus.tdd.point.engine.CombiningPointEngine;
+import io.hhplus.tdd.point.engine.PointCommandCombiner;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepositoryImpl;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 의 충전/사용/조회 처리량
+ * - point.engine.type 과 같은 값(engine)으로 처리 방식을 바꿔가며 서비스 전체 경로를 측정한다.
+ * - hot-key 는 락 기반 처리에 hot key 감지를 켜서, 요청이 몰리는 유저만 combiner 로 처리한다.
+ * - 테이블은 지연 없는 대역을 사용하고, 내역은 보관하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+
+    @Param({"lock", "hot-key", "combining", "cas"})
+    private String engine;
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private PointService pointService;
+
+    private CasPointEngine casEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+
+        UserPointRepositoryImpl userPointRepository = new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics());
+        PointHistoryRepository pointHistoryRepository = new DiscardingPointHistoryRepository();
+        LockHelper lockHelper = new LockHelper();
+
+        StaticListableBeanFactory engines = new StaticListableBeanFactory(switch (engine) {
+            case "lock", "hot-key" -> Map.of();
+            case "combining" -> Map.of("pointEngine", new CombiningPointEngine(
+                    new PointCommandCombiner(userPointRepository, pointHistoryRepository, lockHelper), userPointRepository));
+            case "cas" -> {
+                casEngine = new CasPointEngine(userPointRepository, pointHistoryRepository,
+                        new CasEngineProperties(100_000), new SimpleMeterRegistry());
+                yield Map.of("pointEngine", casEngine);
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 엔진입니다. " + engine);
+        });
+        HotKeyDetector hotKeyDetector = engine.equals("hot-key")
+                ? new HotKeyDetector(new HotKeyProperties(true, 2048, 4, 200, Duration.ofSeconds(1), 64), new SimpleMeterRegistry())
+                : HotKeyDetector.disabled();
+        pointService = new PointService(userPointRepository, pointHistoryRepository, lockHelper, new PointMetrics(), new IdempotencyCache(),
+                hotKeyDetector, new PointCommandCombiner(userPointRepository, pointHistoryRepository, lockHelper),
+                engines.getBeanProvider(PointEngine.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (casEngine != null) {
+            casEngine.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint chargeUse_t1() {
+        return chargeOrUse();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeUse_t8() {
+        return chargeOrUse();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint chargeUse_t64() {
+        return chargeOrUse();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint getPoint_t8() {
+        return pointService.getPoint(userIds.next());
+    }
+
+    // 요청의 80% 는 충전, 20% 는 사용
+    private UserPoint chargeOrUse() {
+        long id = userIds.next();
+        try {
+            return ThreadLocalRandom.current().nextInt(10) < 8 ? pointService.charge(id, 10) : pointService.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.IdempotencyCache;
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.CasEngineProperties;
+import io.hhplus.tdd.point.engine.CasPointEngine;
+import io.hhplus.tdd.point.engine.PointCommandCombiner;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.engine.RingBufferEngineProperties;
+import io.hhplus.tdd.point.engine.RingBufferPointEngine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.UserPointRepositoryImpl;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 락 기반 처리, CAS 엔진, 링 버퍼 엔진의 충전/사용 응답 시간 분포
+ * - SampleTime 모드로 요청마다 시간을 재서 p0.50 / p0.99 / p0.999 를 비교한다.
+ * - 테이블은 지연 없는 대역을 사용해서 처리 방식 자체의 비용만 측정한다.
+ * - 요청의 80% 는 충전, 20% 는 사용이며 유저는 uniform / zipf 분포로 고른다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RingBufferEngineLatencyBenchmark {
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private PointService lockService;
+
+    private CasPointEngine casEngine;
+
+    private RingBufferPointEngine ringBufferEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+
+        StaticListableBeanFactory noEngine = new StaticListableBeanFactory(Map.of());
+        UserPointRepositoryImpl lockRepository = new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics());
+        DiscardingPointHistoryRepository lockHistoryRepository = new DiscardingPointHistoryRepository();
+        LockHelper lockHelper = new LockHelper();
+        lockService = new PointService(lockRepository, lockHistoryRepository, lockHelper, new PointMetrics(), new IdempotencyCache(),
+                HotKeyDetector.disabled(), new PointCommandCombiner(lockRepository, lockHistoryRepository, lockHelper),
+                noEngine.getBeanProvider(PointEngine.class));
+        casEngine = new CasPointEngine(new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics()),
+                new DiscardingPointHistoryRepository(), new CasEngineProperties(100_000), new SimpleMeterRegistry());
+        ringBufferEngine = new RingBufferPointEngine(new UserPointRepositoryImpl(new UnthrottledUserPointTable(), new PointMetrics()),
+                new DiscardingPointHistoryRepository(), new RingBufferEngineProperties(65536, 1024), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        casEngine.close();
+        ringBufferEngine.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint lock_t8() {
+        long id = userIds.next();
+        try {
+            return isCharge() ? lockService.charge(id, 10) : lockService.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint cas_t8() {
+        return engineOperation(casEngine);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint ringBuffer_t8() {
+        return engineOperation(ringBufferEngine);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint ringBuffer_t64() {
+        return engineOperation(ringBufferEngine);
+    }
+
+    private UserPoint engineOperation(PointEngine engine) {
+        long id = userIds.next();
+        try {
+            return isCharge() ? engine.charge(id, 10) : engine.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCharge() {
+        return ThreadLocalRandom.current().nextInt(10) < 8;
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.ShardedEngineProperties;
+import io.hhplus.tdd.point.engine.ShardedPointEngine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 엔진의 샤드 수에 따른 충전/사용 처리량
+ * - 샤드 수를 코어 수까지 늘리면 처리량이 거의 비례해서 늘어나야 한다. 코어 수보다 많은 샤드는 이득이 없다.
+ * - 요청의 80% 는 충전, 20% 는 사용이며 유저는 uniform / zipf 분포로 고른다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShardedEngineBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    @Param({"uniform", "zipf"})
+    private String distribution;
+
+    @Param({"10000"})
+    private int users;
+
+    private UserIdDistribution userIds;
+
+    private ShardedPointEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = UserIdDistribution.of(distribution, users);
+        engine = new ShardedPointEngine(new ShardedEngineProperties(shards, 100_000), new PointMetrics(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint sharded_t8() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint sharded_t64() {
+        return operation();
+    }
+
+    private UserPoint operation() {
+        long id = userIds.next();
+        try {
+            return ThreadLocalRandom.current().nextInt(10) < 8 ? engine.charge(id, 10) : engine.use(id, 10);
+        } catch (PointException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청이 향하는 유저 id 분포
+ * - uniform : 모든 유저가 같은 확률
+ * - zipf : 순위가 높은 소수의 유저에게 요청이 몰리는 분포 (지수 0.99)
+ */
+public final class UserIdDistribution {
+
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    private final int users;
+
+    // zipf 분포의 누적 확률, uniform 이면 null
+    private final double[] cumulative;
+
+    private UserIdDistribution(int users, double[] cumulative) {
+        this.users = users;
+        this.cumulative = cumulative;
+    }
+
+    public static UserIdDistribution of(String name, int users) {
+        return switch (name) {
+            case "uniform" -> new UserIdDistribution(users, null);
+            case "zipf" -> new UserIdDistribution(users, zipfCumulative(users));
+            default -> throw new IllegalArgumentException("알 수 없는 분포입니다. " + name);
+        };
+    }
+
+    // 1 부터 users 까지의 유저 id
+    public long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cumulative == null) {
+            return random.nextInt(users) + 1;
+        }
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1L;
+    }
+
+    private static double[] zipfCumulative(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[users - 1] = 1.0;
+        return cumulative;
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointWalProperties;
+import io.hhplus.tdd.point.repository.WalUserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 WAL 저장소의 변경 처리량
+ * - fsync=true 면 묶음마다 fsync 하므로, 동시 요청 수(스레드)가 늘수록 fsync 한 번을 나눠 쓰는 변경이 많아진다.
+ * - t1 과 t32 의 건당 비용 차이가 group commit 으로 줄어든 fsync 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserPointWalBenchmark {
+
+    @Param({"true", "false"})
+    private boolean fsync;
+
+    @Param({"100000"})
+    private int users;
+
+    private Path directory;
+
+    private WalUserPointRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-balance-wal");
+        UserPointWalProperties properties = new UserPointWalProperties(directory.toString(), fsync, 4096, Duration.ZERO, Duration.ofMinutes(1));
+        repository = new WalUserPointRepository(properties, new PointMetrics(), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        WalBenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint insertOrUpdate_t1() {
+        return insertOrUpdate();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public UserPoint insertOrUpdate_t32() {
+        return insertOrUpdate();
+    }
+
+    private UserPoint insertOrUpdate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return repository.insertOrUpdate(random.nextInt(users), random.nextInt(1, 1_000_000));
+    }
+}
@@ -0,0 +1,111 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.repository.UserPointWalProperties;
+import io.hhplus.tdd.point.repository.WalUserPointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 WAL 저장소의 복구 시간
+ * - users 명의 잔액을 스냅샷으로 남기고, 그 뒤 users / 10 건의 변경을 WAL 에만 남긴 상태에서 저장소를 여는 시간을 잰다.
+ * - 스냅샷 읽기(유저 수에 비례)와 WAL 재실행(마지막 스냅샷 이후 변경 수에 비례)이 모두 포함된다.
+ * - 10M 유저는 잔액 map 에만 1GB 가량 필요하므로 -Xmx 를 충분히 준다.
+ * ex) java -jar build/libs/*-jmh.jar UserPointWalRecoveryBenchmark -p users=10000000 -jvmArgs -Xmx4g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class UserPointWalRecoveryBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int users;
+
+    private Path directory;
+
+    private UserPointWalProperties properties;
+
+    private WalUserPointRepository crashed;
+
+    private final List<WalUserPointRepository> recovered = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("point-balance-recovery");
+        properties = new UserPointWalProperties(directory.toString(), false, 4096, Duration.ZERO, Duration.ofDays(1));
+
+        // 정상 종료하면 스냅샷이 남는다.
+        WalUserPointRepository snapshotted = open();
+        write(snapshotted, users, 0);
+        snapshotted.close();
+
+        // 비정상 종료를 흉내 내기 위해 측정이 끝날 때까지 닫지 않고, 변경을 WAL 에만 남긴다.
+        crashed = open();
+        write(crashed, users / 10, 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRecovered() throws Exception {
+        // 복구만 한 저장소는 변경이 없으므로 닫아도 스냅샷을 새로 만들지 않는다.
+        for (WalUserPointRepository repository : recovered) {
+            repository.close();
+        }
+        recovered.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        crashed.close();
+        WalBenchmarkFiles.delete(directory);
+    }
+
+    @Benchmark
+    public WalUserPointRepository recover() {
+        WalUserPointRepository repository = open();
+        recovered.add(repository);
+        return repository;
+    }
+
+    private WalUserPointRepository open() {
+        return new WalUserPointRepository(properties, new PointMetrics(), new SimpleMeterRegistry());
+    }
+
+    private static void write(WalUserPointRepository repository, int count, long amount) {
+        int threads = 64;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (long id = offset; id < count; id += threads) {
+                        repository.insertOrUpdate(id, amount);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.domain.HotKeyStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청이 몰리는 유저(hot key)를 찾는 감지기
+ * - 유저별 요청 수를 count-min sketch 로 추정한다. 유저 수와 상관없이 width * depth 칸만 사용하며, 추정치는 실제보다 작지 않다.
+ * - window 마다 모든 칸을 절반으로 줄여서, 최근 요청이 많은 유저만 threshold 를 넘는다.
+ * - threshold 를 넘은 유저는 maxKeys 명까지 hot key 로 등록하고, 추정치가 threshold 의 절반 아래로 내려가면 해제한다.
+ * - hot key 로 등록된 유저는 요청 수와 락 대기 시간을 따로 모은다.
+ */
+@Component
+public class HotKeyDetector {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final boolean enabled;
+
+    private final int depth;
+
+    private final int mask;
+
+    private final int threshold;
+
+    private final int maxKeys;
+
+    // depth 개의 행을 이어 붙인 카운터
+    private final AtomicIntegerArray counters;
+
+    private final Map<Long, HotKey> hotKeys = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService decayer;
+
+    public static HotKeyDetector disabled() {
+        return new HotKeyDetector(new HotKeyProperties(false, 16, 1, Integer.MAX_VALUE, Duration.ofDays(1), 0), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public HotKeyDetector(HotKeyProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.depth = Math.min(Math.max(1, properties.depth()), SEEDS.length);
+        int width = Integer.highestOneBit(Math.max(2, properties.width()) - 1) << 1;
+        this.mask = width - 1;
+        this.threshold = properties.threshold();
+        this.maxKeys = properties.maxKeys();
+        this.counters = new AtomicIntegerArray(enabled ? depth * width : 0);
+        Gauge.builder("point.hot-key.count", hotKeys, Map::size)
+                .description("hot key 로 감지된 유저 수")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            this.decayer = null;
+            return;
+        }
+        long windowMillis = properties.window().toMillis();
+        this.decayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-decayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.decayer.scheduleAtFixedRate(this::decay, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 유저의 요청을 한 번 센다.
+     *
+     * @return 유저가 hot key 면 true
+     */
+    public boolean record(long userId) {
+        if (!enabled) {
+            return false;
+        }
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, userId)));
+        }
+
+        HotKey hotKey = hotKeys.get(userId);
+        if (hotKey == null && estimate >= threshold && hotKeys.size() < maxKeys) {
+            hotKey = hotKeys.computeIfAbsent(userId, id -> new HotKey(System.currentTimeMillis()));
+        }
+        if (hotKey == null) {
+            return false;
+        }
+        hotKey.requests.increment();
+        return true;
+    }
+
+    public boolean isHot(long userId) {
+        return hotKeys.containsKey(userId);
+    }
+
+    // hot key 로 등록된 유저가 락을 기다린 시간을 기록한다.
+    public void recordLockWait(long userId, long waitNanos) {
+        HotKey hotKey = hotKeys.get(userId);
+        if (hotKey != null) {
+            hotKey.lockWaits.increment();
+            hotKey.lockWaitNanos.add(waitNanos);
+            hotKey.maxLockWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    public int estimate(long userId) {
+        if (!enabled) {
+            return 0;
+        }
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, userId)));
+        }
+        return estimate;
+    }
+
+    // 추정 요청 수가 많은 순서의 hot key 목록
+    public List<HotKeyStats> hotKeys() {
+        return hotKeys.entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey(), estimate(entry.getKey())))
+                .sorted(Comparator.comparingLong(HotKeyStats::estimatedCount).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (decayer != null) {
+            decayer.shutdownNow();
+        }
+    }
+
+    // 모든 칸을 절반으로 줄이고, 요청이 줄어든 유저를 hot key 에서 해제한다.
+    void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, count -> count >>> 1);
+        }
+        hotKeys.keySet().removeIf(userId -> estimate(userId) < threshold / 2);
+    }
+
+    private int index(int row, long userId) {
+        long hash = userId * SEEDS[row];
+        return row * (mask + 1) + ((int) (hash ^ (hash >>> 32)) & mask);
+    }
+
+    private static final class HotKey {
+
+        private final long detectedAtMillis;
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder lockWaits = new LongAdder();
+
+        private final LongAdder lockWaitNanos = new LongAdder();
+
+        private final AtomicLong maxLockWaitNanos = new AtomicLong();
+
+        private HotKey(long detectedAtMillis) {
+            this.detectedAtMillis = detectedAtMillis;
+        }
+
+        private HotKeyStats stats(long userId, long estimatedCount) {
+            long waits = lockWaits.sum();
+            long averageMicros = waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(lockWaitNanos.sum() / waits);
+            return new HotKeyStats(userId, estimatedCount, requests.sum(), waits, averageMicros,
+                    TimeUnit.NANOSECONDS.toMicros(maxLockWaitNanos.get()), detectedAtMillis);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 요청이 몰리는 유저(hot key) 감지 설정
+ * - enabled : 감지 여부, false 면 모든 유저를 락 기반으로 처리한다.
+ * - width, depth : count-min sketch 의 행 길이(2의 거듭제곱으로 올림)와 행 수
+ * - threshold : 감쇠된 요청 수 추정치가 이 값 이상이면 hot key 로 본다.
+ * - window : 모든 요청 수를 절반으로 줄이는 주기, 요청이 줄어든 유저는 hot key 에서 빠진다.
+ * - maxKeys : 동시에 hot key 로 다루는 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.hot-key")
+public record HotKeyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2048") int width,
+        @DefaultValue("4") int depth,
+        @DefaultValue("200") int threshold,
+        @DefaultValue("1s") Duration window,
+        @DefaultValue("64") int maxKeys
+) {
+}
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.IDEMPOTENCY_IN_PROGRESS;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_IDEMPOTENCY_KEY;
+
+/**
+ * Idempotency-Key 로 같은 요청의 중복 실행을 막는 결과 캐시
+ * - 처음 도착한 요청만 실행하고, 같은 key 로 동시에 도착한 요청은 그 결과를 기다렸다가 함께 받는다.
+ * - 처리가 끝난 결과는 ttl 동안 보관하며, 그 사이 재시도는 실행 없이 보관된 결과를 받는다.
+ * - 보관하는 key 수는 maximumSize 로 제한되어 key 가 계속 늘어나도 메모리가 일정 수준을 넘지 않는다.
+ * - 처리 중인 요청은 크기 제한이 있는 결과 캐시가 아니라 별도의 map 에 두고, 끝난 뒤에 결과 캐시로 옮긴다.
+ *   처리 중에 key 가 제거되어 같은 key 의 재시도가 한 번 더 실행되는 일이 없다.
+ * - 처리 중인 요청의 결과는 waitTimeout 까지만 기다리고, 넘으면 IDEMPOTENCY_IN_PROGRESS 로 응답한다.
+ * - 실패한 요청은 보관하지 않으므로 같은 key 로 다시 시도할 수 있다.
+ * - key 는 유저별로 구분하고, 같은 key 로 다른 요청(종류, 포인트)을 보내면 예외를 반환한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    // Idempotency-Key 의 최대 길이
+    static final int MAX_KEY_LENGTH = 255;
+
+    // 처리가 끝난 결과
+    private final Cache<Key, Entry> cache;
+
+    // 처리 중인 요청, 끝나면 결과를 cache 에 넣은 뒤 제거한다.
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final long waitTimeoutNanos;
+
+    public IdempotencyCache() {
+        this(new IdempotencyProperties(500_000, Duration.ofMinutes(10), Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.waitTimeoutNanos = properties.waitTimeout().toNanos();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "point.idempotency");
+        Gauge.builder("point.idempotency.in-flight", inFlight, Map::size)
+                .description("같은 key 의 결과를 기다리게 하는 처리 중인 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * key 로 처리된 결과가 있으면 그 결과를, 없으면 supplier 를 실행한 결과를 반환한다.
+     * fingerprint 는 요청 내용을 나타내는 값으로, 같은 key 의 요청끼리 비교한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(long userId, String idempotencyKey, String fingerprint, Supplier<T> supplier) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new PointException(INVALID_IDEMPOTENCY_KEY, "Idempotency-Key 는 1 ~ %d 자로 입력해주세요.".formatted(MAX_KEY_LENGTH));
+        }
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, created);
+            entry = existing == null ? executeFirst(key, created, fingerprint, supplier) : await(existing);
+        }
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new PointException(INVALID_IDEMPOTENCY_KEY, "이미 다른 요청에 사용된 Idempotency-Key 입니다.");
+        }
+        return (T) entry.result();
+    }
+
+    // inFlight 에 먼저 등록한 요청만 실행하고, 결과를 cache 에 넣은 뒤 inFlight 에서 뺀다.
+    private Entry executeFirst(Key key, CompletableFuture<Entry> created, String fingerprint, Supplier<?> supplier) {
+        // 앞선 요청은 결과를 cache 에 넣은 뒤 inFlight 에서 빠지므로, 그 사이에 들어왔다면 cache 에 결과가 있다.
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            inFlight.remove(key, created);
+            created.complete(entry);
+            return entry;
+        }
+        try {
+            entry = new Entry(fingerprint, supplier.get());
+            cache.put(key, entry);
+            inFlight.remove(key, created);
+            created.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new PointException(IDEMPOTENCY_IN_PROGRESS, "같은 Idempotency-Key 의 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("같은 Idempotency-Key 의 요청을 기다리는 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(String fingerprint, Object result) {
+    }
+}
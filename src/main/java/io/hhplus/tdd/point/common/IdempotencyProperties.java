@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 결과 캐시 설정
+ * - maximumSize : 보관하는 최대 key 수, 넘으면 오래 사용하지 않은 key 부터 제거한다.
+ * - ttl : 처리가 끝난 결과를 보관하는 시간
+ * - waitTimeout : 같은 key 로 처리 중인 요청의 결과를 기다리는 최대 시간, 넘으면 IDEMPOTENCY_IN_PROGRESS(409)를 반환한다.
+ *   락 대기(point.lock.timeout, 3s)와 테이블 지연을 합친 것보다 길게 둔다.
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("500000") long maximumSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("5s") Duration waitTimeout
+) {
+}
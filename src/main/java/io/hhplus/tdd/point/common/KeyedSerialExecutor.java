@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.common;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 의 작업을 제출된 순서대로 하나씩 실행하는 executor
+ * - 작업은 주어진 executor 에서 실행되고, 호출한 스레드는 기다리지 않고 CompletableFuture 를 받는다.
+ * - 실행 전에 취소되거나 타임아웃된 작업은 실행하지 않고 건너뛴다.
+ * - 실행 중인 작업은 중단하지 않으므로, 타임아웃 이후에도 작업 자체는 끝까지 반영될 수 있다.
+ * - 대기 중인 작업이 없는 key 는 제거되어 메모리에 남지 않는다.
+ * - executor 가 작업을 거절하면 그 작업은 거절된 예외로 끝나고, 같은 key 의 다음 작업은 그대로 이어서 실행한다.
+ */
+public class KeyedSerialExecutor {
+
+    private final Executor executor;
+
+    // key 별 마지막으로 제출된 작업
+    private final Map<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> submit(long key, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // 작업의 결과는 key 정리가 끝난 뒤에 result 로 전달해서, 결과를 받은 시점에는 pendingKeys 에 남아있지 않도록 한다.
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        CompletableFuture<Void> tail = tails.compute(key, (k, previous) -> {
+            // 앞의 작업이 실패로 끝나도 이 작업은 건너뛰지 않는다.
+            CompletableFuture<Void> ready = previous == null
+                    ? CompletableFuture.completedFuture(null)
+                    : previous.exceptionally(e -> null);
+            return ready.thenRunAsync(() -> run(task, result, outcome), executor);
+        });
+        tail.whenComplete((ignored, e) -> {
+            tails.remove(key, tail);
+            // executor 가 거절하면 run 이 호출되지 않으므로, 거절된 예외로 결과를 끝낸다.
+            if (e != null) {
+                outcome.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+            outcome.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+
+    public int pendingKeys() {
+        return tails.size();
+    }
+
+    private static <T> void run(Supplier<T> task, CompletableFuture<T> result, CompletableFuture<T> outcome) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            outcome.complete(task.get());
+        } catch (Throwable e) {
+            outcome.completeExceptionally(e);
+        }
+    }
+}
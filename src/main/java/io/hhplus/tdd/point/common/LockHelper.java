@@ -1,45 +1,235 @@
 package io.hhplus.tdd.point.common;
 
+import io.hhplus.tdd.point.enums.LockStrategy;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+import static io.hhplus.tdd.point.exception.ErrorCode.LOCK_TIMEOUT;
+import static io.hhplus.tdd.point.exception.ErrorCode.TOO_BUSY;
+
+/**
+ * 유저 단위로 작업을 직렬화하는 락 도우미
+ * - 락을 잡은 채 테이블 지연(sleep)을 기다리므로 synchronized 대신 ReentrantLock 을 사용한다.
+ *   virtual thread 가 synchronized 안에서 멈추면 carrier thread 를 붙잡지만(pinning), ReentrantLock 은 그렇지 않다.
+ * - 요청이 한 유저에게 몰려도 요청 스레드가 모두 그 유저의 락 앞에 묶이지 않도록
+ *   유저별 대기 요청 수(maxWaiters)와 대기 시간(timeout)을 제한한다.
+ */
 @Component
 public class LockHelper {
 
-    private final Map<Long, Lock> lockMap;
+    private final LockRegistry lockRegistry;
+
+    private final boolean fair;
+    private final long timeoutNanos;
+    private final int maxWaiters;
+
+    // 유저별로 락을 기다리는 중인 요청 수, 기다리는 요청이 없는 유저는 제거된다.
+    private final Map<Long, Integer> waiters = new ConcurrentHashMap<>();
+
+    private final Counter acquireCounter;
+    private final Counter contendedCounter;
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    // hot key 로 감지된 유저의 락 대기 시간을 따로 모은다.
+    private final HotKeyDetector hotKeyDetector;
 
     public LockHelper() {
-        // 동시성 이슈를 막기 위해 부분락을 사용하는 ConcurrentHashMap 을 이용
-        this.lockMap = new ConcurrentHashMap<>();
+        this(new LockProperties(LockStrategy.PER_KEY, 1024), new SimpleMeterRegistry());
+    }
+
+    public LockHelper(LockProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, HotKeyDetector.disabled());
+    }
+
+    @Autowired
+    public LockHelper(LockProperties properties, MeterRegistry meterRegistry, HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+        this.fair = properties.fair();
+        this.timeoutNanos = properties.timeout().toNanos();
+        this.maxWaiters = properties.maxWaiters();
+        this.lockRegistry = switch (properties.strategy()) {
+            case PER_KEY -> new PerKeyLockRegistry(fair);
+            case STRIPED -> new StripedLockRegistry(properties.stripes(), fair);
+            case REF_COUNTED -> new RefCountedLockRegistry(fair);
+        };
+
+        String strategy = properties.strategy().name();
+        this.acquireCounter = Counter.builder("point.lock.acquisitions")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.contendedCounter = Counter.builder("point.lock.contended")
+                .description("다른 요청이 락을 잡고 있어서 기다린 횟수")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("point.lock.wait")
+                .description("락을 기다린 시간 (기다린 경우만 기록)")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.holdTimer = Timer.builder("point.lock.hold")
+                .description("락을 잡고 작업을 실행한 시간")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("point.lock.rejected")
+                .description("같은 유저를 기다리는 요청이 maxWaiters 를 넘어서 기다리지 않고 거절한 횟수")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("point.lock.timeouts")
+                .description("timeout 안에 락을 잡지 못한 횟수")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
+        Gauge.builder("point.lock.count", lockRegistry, LockRegistry::size)
+                .description("메모리에 유지 중인 락 수")
+                .tag("strategy", strategy)
+                .register(meterRegistry);
     }
 
+    /**
+     * 유저 id 에 해당하는 락을 반환한다.
+     * REF_COUNTED 방식에서는 사용 중이 아닌 락이 언제든 제거될 수 있으므로 executeWithLock 을 사용한다.
+     */
     public Lock getLock(Long id) {
-        // computeIfAbsent 이걸 사용하면 원자성 보장, 만약 userId가 없다면 새로운 lock 을 생성
-        return lockMap.computeIfAbsent(id, k -> new ReentrantLock());
+        Lock lock = lockRegistry.acquire(id);
+        lockRegistry.release(id, lock);
+        return lock;
     }
 
     public <T> T executeWithLock(Long id, Supplier<T> supplier) {
-        Lock lock = getLock(id);
-        lock.lock();
+        Lock lock = lockRegistry.acquire(id);
         try {
-            return supplier.get();
+            lock(id, lock);
+            long lockedNanos = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                lock.unlock();
+                holdTimer.record(System.nanoTime() - lockedNanos, TimeUnit.NANOSECONDS);
+            }
         } finally {
-            lock.unlock();
+            lockRegistry.release(id, lock);
         }
     }
 
+    /**
+     * 두 유저의 락을 모두 잡은 채로 작업을 실행한다.
+     * 락은 요청 순서와 상관없이 항상 LockRegistry.order 의 오름차순으로 잡으므로, 서로 반대 방향의 요청이 동시에 와도 교착 상태가 생기지 않는다.
+     */
+    public <T> T executeWithLocks(Long firstId, Long secondId, Supplier<T> supplier) {
+        long firstOrder = lockRegistry.order(firstId);
+        long secondOrder = lockRegistry.order(secondId);
+        if (firstOrder == secondOrder) {
+            // 두 유저가 같은 락을 사용
+            return executeWithLock(firstId, supplier);
+        }
+        Long lowerId = firstOrder < secondOrder ? firstId : secondId;
+        Long upperId = firstOrder < secondOrder ? secondId : firstId;
+        return executeWithLock(lowerId, () -> executeWithLock(upperId, supplier));
+    }
+
     public void executeWithLock(Long id, Runnable runnable) {
-        Lock lock = getLock(id);
-        lock.lock();
-        try {
+        executeWithLock(id, () -> {
             runnable.run();
+            return null;
+        });
+    }
+
+    public int lockCount() {
+        return lockRegistry.size();
+    }
+
+    /**
+     * 바로 잡을 수 있으면 시간 측정 없이 잡고, 기다려야 하는 경우만 기록
+     * - 같은 유저를 기다리는 요청이 이미 maxWaiters 개면 기다리지 않고 TOO_BUSY 예외를 반환한다.
+     * - timeout 안에 잡지 못하면 LOCK_TIMEOUT 예외를 반환한다.
+     */
+    private void lock(Long id, Lock lock) {
+        acquireCounter.increment();
+        if (tryLockNow(lock)) {
+            return;
+        }
+        contendedCounter.increment();
+        if (!enterWait(id)) {
+            rejectedCounter.increment();
+            throw new PointException(TOO_BUSY, TOO_BUSY.getMessage());
+        }
+        long startNanos = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lockWithTimeout(lock);
         } finally {
-            lock.unlock();
+            exitWait(id);
+            long waitNanos = System.nanoTime() - startNanos;
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            hotKeyDetector.recordLockWait(id, waitNanos);
+        }
+        if (!locked) {
+            timeoutCounter.increment();
+            throw new PointException(LOCK_TIMEOUT, LOCK_TIMEOUT.getMessage());
+        }
+    }
+
+    // 공정 락이어도 tryLock() 은 기다리는 요청을 앞질러 잡으므로, 대기 순서를 지키는 tryLock(0) 을 사용한다.
+    private boolean tryLockNow(Lock lock) {
+        if (!fair) {
+            return lock.tryLock();
+        }
+        try {
+            return lock.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 인터럽트되면 락을 잡지 못한 것으로 보고 인터럽트 상태를 되돌려 놓는다.
+    private boolean lockWithTimeout(Lock lock) {
+        if (timeoutNanos <= 0) {
+            lock.lock();
+            return true;
+        }
+        try {
+            return lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 대기 요청 수는 같은 key 의 compute 안에서만 바뀌므로, 동시에 들어와도 maxWaiters 를 넘지 않는다.
+    private boolean enterWait(Long id) {
+        if (maxWaiters <= 0) {
+            return true;
+        }
+        boolean[] admitted = new boolean[1];
+        waiters.compute(id, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxWaiters) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private void exitWait(Long id) {
+        if (maxWaiters <= 0) {
+            return;
         }
+        waiters.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
     }
 }
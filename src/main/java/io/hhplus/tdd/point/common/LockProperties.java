@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.enums.LockStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저 락 설정
+ * - strategy : 락 관리 방식
+ * - stripes : STRIPED 방식의 락 개수, 2의 거듭제곱으로 올림한다.
+ * - fair : true 면 먼저 기다린 요청부터 락을 잡는다. 처리량은 줄지만 오래 기다리는 요청이 생기지 않는다.
+ * - timeout : 락을 기다리는 최대 시간, 넘으면 LOCK_TIMEOUT 예외를 반환한다. 0 이면 제한 없이 기다린다.
+ * - maxWaiters : 유저 한 명의 락을 동시에 기다릴 수 있는 요청 수, 넘으면 기다리지 않고 TOO_BUSY 예외를 반환한다. 0 이면 제한하지 않는다.
+ *
+ * maxWaiters 번째로 기다리는 요청은 앞선 요청들이 락을 한 번씩 잡았다 놓을 때까지 기다리므로,
+ * maxWaiters * (락을 잡고 있는 최대 시간) 이 timeout 보다 작아야 받아들인 요청이 LOCK_TIMEOUT 으로 끝나지 않는다.
+ * 기본값은 락 안의 테이블 호출(조회 최대 200ms + 저장 최대 300ms)을 500ms 로 보고 5 * 500ms < 3s 로 잡았다.
+ * 공정 락이 아니면 새로 온 요청이 기다리던 요청을 앞지를 수 있어 이 관계가 깨지므로 기본값은 fair 다.
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record LockProperties(
+        @DefaultValue("per-key") LockStrategy strategy,
+        @DefaultValue("1024") int stripes,
+        @DefaultValue("true") boolean fair,
+        @DefaultValue("3s") Duration timeout,
+        @DefaultValue("5") int maxWaiters
+) {
+
+    @ConstructorBinding
+    public LockProperties {
+    }
+
+    // 대기 시간과 대기 요청 수를 제한하지 않는 설정
+    public LockProperties(LockStrategy strategy, int stripes) {
+        this(strategy, stripes, false, Duration.ZERO, 0);
+    }
+}
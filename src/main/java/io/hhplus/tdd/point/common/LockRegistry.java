@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.common;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 유저 id 에 해당하는 락을 찾아주는 저장소
+ * - acquire 로 받은 락은 사용이 끝나면 반드시 release 로 돌려준다.
+ */
+interface LockRegistry {
+
+    Lock acquire(long id);
+
+    void release(long id, Lock lock);
+
+    /**
+     * 여러 락을 함께 잡을 때 사용하는 순서, 모든 요청이 이 값의 오름차순으로 잡아야 교착 상태가 생기지 않는다.
+     * 값이 같으면 같은 락이다.
+     */
+    default long order(long id) {
+        return id;
+    }
+
+    // 현재 메모리에 유지 중인 락 수
+    int size();
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저마다 락을 만들고 제거하지 않는 저장소
+ */
+class PerKeyLockRegistry implements LockRegistry {
+
+    // 동시성 이슈를 막기 위해 부분락을 사용하는 ConcurrentHashMap 을 이용
+    private final Map<Long, Lock> lockMap = new ConcurrentHashMap<>();
+
+    private final boolean fair;
+
+    PerKeyLockRegistry(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public Lock acquire(long id) {
+        // computeIfAbsent 이걸 사용하면 원자성 보장, 만약 userId가 없다면 새로운 lock 을 생성
+        return lockMap.computeIfAbsent(id, k -> new ReentrantLock(fair));
+    }
+
+    @Override
+    public void release(long id, Lock lock) {
+    }
+
+    @Override
+    public int size() {
+        return lockMap.size();
+    }
+}
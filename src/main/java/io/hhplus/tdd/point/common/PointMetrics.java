@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 서비스와 저장소 호출 시간을 기록하는 meter 모음
+ * - point.service.operation{operation, outcome} : 서비스 처리 시간, outcome 은 success / ErrorCode 이름 / error
+ * - point.repository.call{repository, method} : 저장소 호출 시간
+ * 모든 Timer 는 생성 시점에 등록해두고 배열에서 꺼내 쓰므로, 기록할 때 태그나 객체를 새로 만들지 않는다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET_POINT, CHARGE, USE, TRANSFER, GET_HISTORY, GET_HISTORY_PAGE
+    }
+
+    public enum RepositoryCall {
+        USER_POINT_SELECT("user_point", "selectById"),
+        USER_POINT_UPSERT("user_point", "insertOrUpdate"),
+        POINT_HISTORY_INSERT("point_history", "insert"),
+        POINT_HISTORY_SELECT("point_history", "selectByUserId");
+
+        private final String repository;
+        private final String method;
+
+        RepositoryCall(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+        }
+    }
+
+    private static final ErrorCode[] ERROR_CODES = ErrorCode.values();
+
+    // outcome 인덱스 : 0 = success, 1 ~ ErrorCode 개수 = ErrorCode, 마지막 = error
+    private static final int SUCCESS = 0;
+    private static final int ERROR = ERROR_CODES.length + 1;
+
+    private final Timer[][] operationTimers;
+
+    private final Timer[] repositoryTimers;
+
+    public PointMetrics() {
+        this(new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public PointMetrics(MeterRegistry meterRegistry) {
+        Operation[] operations = Operation.values();
+        this.operationTimers = new Timer[operations.length][ERROR + 1];
+        for (Operation operation : operations) {
+            for (int outcome = 0; outcome <= ERROR; outcome++) {
+                operationTimers[operation.ordinal()][outcome] = Timer.builder("point.service.operation")
+                        .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcomeName(outcome))
+                        .register(meterRegistry);
+            }
+        }
+
+        RepositoryCall[] calls = RepositoryCall.values();
+        this.repositoryTimers = new Timer[calls.length];
+        for (RepositoryCall call : calls) {
+            repositoryTimers[call.ordinal()] = Timer.builder("point.repository.call")
+                    .tag("repository", call.repository)
+                    .tag("method", call.method)
+                    .register(meterRegistry);
+        }
+    }
+
+    public void recordSuccess(Operation operation, long startNanos) {
+        record(operationTimers[operation.ordinal()][SUCCESS], startNanos);
+    }
+
+    public void recordFailure(Operation operation, ErrorCode errorCode, long startNanos) {
+        record(operationTimers[operation.ordinal()][errorCode.ordinal() + 1], startNanos);
+    }
+
+    public void recordError(Operation operation, long startNanos) {
+        record(operationTimers[operation.ordinal()][ERROR], startNanos);
+    }
+
+    public void recordRepositoryCall(RepositoryCall call, long startNanos) {
+        record(repositoryTimers[call.ordinal()], startNanos);
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeName(int outcome) {
+        if (outcome == SUCCESS) {
+            return "success";
+        }
+        if (outcome == ERROR) {
+            return "error";
+        }
+        return ERROR_CODES[outcome - 1].name();
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락을 사용 중인 요청 수를 세어서, 아무도 사용하지 않는 락은 제거하는 저장소
+ * - 메모리에는 지금 락을 잡고 있거나 기다리는 유저의 락만 남는다.
+ */
+class RefCountedLockRegistry implements LockRegistry {
+
+    private final Map<Long, CountedLock> lockMap = new ConcurrentHashMap<>();
+
+    private final boolean fair;
+
+    RefCountedLockRegistry(boolean fair) {
+        this.fair = fair;
+    }
+
+    @Override
+    public Lock acquire(long id) {
+        // 참조 수는 같은 key 의 compute 안에서만 바뀌므로 별도 동기화가 필요 없다.
+        return lockMap.compute(id, (key, lock) -> {
+            CountedLock counted = lock == null ? new CountedLock(fair) : lock;
+            counted.references++;
+            return counted;
+        });
+    }
+
+    @Override
+    public void release(long id, Lock lock) {
+        lockMap.computeIfPresent(id, (key, counted) -> --counted.references == 0 ? null : counted);
+    }
+
+    @Override
+    public int size() {
+        return lockMap.size();
+    }
+
+    private static class CountedLock extends ReentrantLock {
+        private int references;
+
+        private CountedLock(boolean fair) {
+            super(fair);
+        }
+    }
+}
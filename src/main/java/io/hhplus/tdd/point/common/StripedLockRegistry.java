@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.common;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정된 개수의 락을 유저 id 해시로 나눠서 사용하는 저장소
+ * - 메모리는 락 개수만큼으로 고정되고, 같은 락을 쓰는 다른 유저끼리는 서로 기다릴 수 있다.
+ */
+class StripedLockRegistry implements LockRegistry {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    StripedLockRegistry(int stripeCount, boolean fair) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+    }
+
+    @Override
+    public Lock acquire(long id) {
+        return stripes[indexOf(id)];
+    }
+
+    @Override
+    public void release(long id, Lock lock) {
+    }
+
+    // 유저 id 가 아니라 실제로 잡는 락(stripe)의 순서
+    @Override
+    public long order(long id) {
+        return indexOf(id);
+    }
+
+    @Override
+    public int size() {
+        return stripes.length;
+    }
+
+    int indexOf(long id) {
+        // 연속된 id 가 고르게 흩어지도록 섞은 뒤 하위 비트를 사용
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.service.PointAsyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /point API 의 비동기 버전
+ * - 요청 스레드는 처리 완료를 기다리지 않고 반환되며, future 가 완료되면 응답이 전송된다.
+ */
+@RestController
+@RequestMapping("/async/point")
+@RequiredArgsConstructor
+public class PointAsyncController {
+
+    private final PointAsyncService pointAsyncService;
+
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointAsyncService.getPointAsync(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id
+    ) {
+        return pointAsyncService.getHistoryAsync(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.chargeAsync(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.useAsync(id, amount);
+    }
+}
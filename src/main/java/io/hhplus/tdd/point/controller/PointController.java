@@ -1,14 +1,35 @@
 package io.hhplus.tdd.point.controller;
 
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.domain.HotKeyStats;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.PointTransferRequest;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.ExportFormat;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.service.PointHistoryExportService;
+import io.hhplus.tdd.point.service.PointLookupService;
 import io.hhplus.tdd.point.service.PointService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_HISTORY_QUERY;
 
 @RestController
 @RequestMapping("/point")
@@ -17,8 +38,18 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PointService pointService;
 
+    private final PointHistoryExportService pointHistoryExportService;
+
+    private final PointBatchService pointBatchService;
+
+    private final PointLookupService pointLookupService;
+
+    private final HotKeyDetector hotKeyDetector;
+
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
@@ -29,24 +60,97 @@ public class PointController {
         return pointService.getPoint(id);
     }
 
+    /**
+     * 여러 유저의 포인트를 한 번에 조회한다.
+     * - ids=1,2,3 처럼 전달하며, 중복된 id 는 한 번만 조회한다.
+     * - 유저 id 를 key 로 하는 map 으로 응답한다.
+     */
+    @GetMapping(params = "ids")
+    public Map<Long, UserPoint> points(
+            @RequestParam List<Long> ids
+    ) {
+        return pointLookupService.getPoints(ids);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 조회한다.
+     * - URL 길이 제한을 넘는 많은 유저를 조회할 때 사용하며, 요청 본문은 유저 id 의 JSON 배열
+     */
+    @PostMapping("lookup")
+    public Map<Long, UserPoint> lookupPoints(
+            @RequestBody List<Long> ids
+    ) {
+        return pointLookupService.getPoints(ids);
+    }
+
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - limit 없이 cursor, from, to, type 을 주면 필터가 적용되지 않은 전체 내역이 응답되므로 400 으로 거절한다.
      */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
     ) {
+        if (cursor != null || from != null || to != null || type != null) {
+            throw new PointException(INVALID_HISTORY_QUERY, "cursor, from, to, type 은 limit 과 함께 전달해야 합니다.");
+        }
         return pointService.getHistory(id);
     }
 
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 나눠서 조회한다.
+     * - limit 이 있으면 페이지 조회로 동작하고, 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다.
+     * - limit 은 1 이상이어야 하며(0 이하는 400), 한 페이지는 최대 1000 건이라 더 큰 limit 은 1000 으로 줄여서 조회한다.
+     * - from, to 는 updateMillis 기준 (epoch millis)
+     */
+    @GetMapping(value = "{id}/histories", params = "limit")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        return pointService.getHistoryPage(id, cursor, limit, from, to, type);
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/이용 내역을 스트리밍으로 내보낸다.
+     * - userIds 목록 또는 fromUserId ~ toUserId 범위로 유저를 지정한다.
+     * - 전체 내역을 메모리에 모으지 않고 응답 스트림에 페이지 단위로 바로 기록한다.
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(required = false) List<Long> userIds,
+            @RequestParam(required = false) Long fromUserId,
+            @RequestParam(required = false) Long toUserId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        // 응답이 시작되기 전에 범위를 검증해서 잘못된 요청은 400 으로 응답
+        LongStream targets = pointHistoryExportService.resolveUserIds(userIds, fromUserId, toUserId);
+        StreamingResponseBody body = out -> pointHistoryExportService.export(targets, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .body(body);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
+        if (idempotencyKey != null) {
+            return pointService.charge(id, amount, idempotencyKey);
+        }
         return pointService.charge(id, amount);
     }
 
@@ -56,8 +160,52 @@ public class PointController {
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
+        if (idempotencyKey != null) {
+            return pointService.use(id, amount, idempotencyKey);
+        }
         return pointService.use(id, amount);
     }
+
+    /**
+     * 다른 유저에게 포인트를 전송한다.
+     * - 보내는 유저의 차감과 받는 유저의 충전이 함께 반영되고, 양쪽에 전송 내역이 남는다.
+     */
+    @PatchMapping("{id}/transfer")
+    public PointTransfer transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request
+    ) {
+        return pointService.transfer(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 여러 유저의 충전/사용을 한 번에 처리한다.
+     * - 요청 본문은 {"userId", "type", "amount"} 의 JSON 배열 또는 NDJSON
+     * - 중간에 읽을 수 없는 작업이 있으면 그 위치의 INVALID_BATCH_OPERATION 결과를 마지막으로 응답한다.
+     * - 같은 유저의 작업은 요청 순서대로, 다른 유저의 작업은 병렬로 처리된다.
+     * - 결과는 처리가 끝나는 대로 NDJSON 으로 응답하며, index 로 요청의 몇 번째 작업인지 구분한다.
+     */
+    @PostMapping("batch")
+    public ResponseEntity<StreamingResponseBody> batch(
+            InputStream body
+    ) {
+        // 응답이 시작되기 전에 첫 작업을 읽어서 형식이 잘못된 요청은 400 으로 응답, 나머지는 응답을 쓰면서 읽는다.
+        Iterator<PointOperation> operations = pointBatchService.read(body);
+        StreamingResponseBody response = out -> pointBatchService.execute(operations, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.contentType()))
+                .body(response);
+    }
+
+    /**
+     * 요청이 몰리고 있는 유저(hot key) 목록을 조회한다.
+     * - 추정 요청 수가 많은 순서이며, hot key 로 감지된 뒤의 요청 수와 락 대기 통계를 함께 응답한다.
+     */
+    @GetMapping("admin/hot-keys")
+    public List<HotKeyStats> hotKeys() {
+        return hotKeyDetector.hotKeys();
+    }
 }
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * hot key 로 감지된 유저의 통계
+ * - estimatedCount : count-min sketch 로 추정한 감쇠된 요청 수
+ * - requests : hot key 로 감지된 뒤 받은 요청 수
+ * - lockWaits : hot key 로 감지된 뒤 유저 락을 기다린 횟수
+ * - averageLockWaitMicros, maxLockWaitMicros : 락을 기다린 평균/최대 시간
+ * - detectedAtMillis : hot key 로 감지된 시각
+ */
+public record HotKeyStats(
+        long userId,
+        long estimatedCount,
+        long requests,
+        long lockWaits,
+        long averageLockWaitMicros,
+        long maxLockWaitMicros,
+        long detectedAtMillis
+) {
+}
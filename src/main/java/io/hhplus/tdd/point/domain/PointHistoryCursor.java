@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.exception.PointException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_CURSOR;
+
+/**
+ * 포인트 내역 커서
+ * - 마지막으로 읽은 PointHistory.id 를 base64url 로 감싼 값으로, 클라이언트는 내용을 해석하지 않는다.
+ */
+public final class PointHistoryCursor {
+
+    private static final byte VERSION = 1;
+
+    private PointHistoryCursor() {
+    }
+
+    public static String encode(long lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(Byte.BYTES + Long.BYTES).put(VERSION).putLong(lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // 커서가 없으면 처음부터 조회
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != Byte.BYTES + Long.BYTES || buffer.get() != VERSION) {
+                throw new PointException(INVALID_CURSOR, "잘못된 커서입니다.");
+            }
+            return buffer.getLong();
+        } catch (IllegalArgumentException e) {
+            throw new PointException(INVALID_CURSOR, "잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지
+ * - nextCursor : 다음 페이지 조회에 사용하는 커서, 마지막 페이지면 null
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        String nextCursor
+) {
+}
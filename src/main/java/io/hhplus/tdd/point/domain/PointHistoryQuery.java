@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.enums.TransactionType;
+
+/**
+ * 포인트 내역 범위 조회 조건
+ * - afterId : 이 id 보다 큰 내역부터 조회 (커서)
+ * - limit : 최대 조회 건수
+ * - fromMillis, toMillis : updateMillis 범위 (양 끝 포함)
+ * - type : 트랜잭션 종류, null 이면 전체
+ */
+public record PointHistoryQuery(
+        long afterId,
+        int limit,
+        long fromMillis,
+        long toMillis,
+        TransactionType type
+) {
+
+    public static PointHistoryQuery firstPage(int limit) {
+        return new PointHistoryQuery(0, limit, Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        return pointHistory.id() > afterId
+                && pointHistory.updateMillis() >= fromMillis
+                && pointHistory.updateMillis() <= toMillis
+                && (type == null || pointHistory.type() == type);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.enums.TransactionType;
+
+/**
+ * 일괄 처리 요청의 작업 하나
+ * - type : CHARGE 또는 USE
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.ErrorCode;
+
+/**
+ * 일괄 처리 작업 하나의 결과
+ * - index : 요청 목록에서 작업의 위치 (0부터), 결과는 처리가 끝난 순서대로 응답되므로 이 값으로 요청과 맞춘다.
+ * - point : 성공한 경우 작업 반영 직후의 잔액, 실패하면 null
+ * - errorCode : 실패한 경우 ErrorCode 이름, 성공하면 null
+ */
+public record PointOperationResult(
+        int index,
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        Long point,
+        String errorCode
+) {
+
+    public static PointOperationResult success(int index, PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(index, operation.userId(), operation.type(), operation.amount(), true, userPoint.point(), null);
+    }
+
+    public static PointOperationResult failure(int index, PointOperation operation, ErrorCode errorCode) {
+        return failure(index, operation, errorCode.name());
+    }
+
+    public static PointOperationResult failure(int index, PointOperation operation, String errorCode) {
+        return new PointOperationResult(index, operation.userId(), operation.type(), operation.amount(), false, null, errorCode);
+    }
+
+    // 요청 본문에서 index 번째 작업을 읽지 못한 경우, 이후 작업은 처리하지 않는다.
+    public static PointOperationResult invalid(int index, ErrorCode errorCode) {
+        return new PointOperationResult(index, 0, null, 0, false, null, errorCode.name());
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 전송 결과
+ * - from : 보낸 유저의 전송 직후 잔액
+ * - to : 받은 유저의 전송 직후 잔액
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
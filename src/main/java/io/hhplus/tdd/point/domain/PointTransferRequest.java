@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 전송 요청
+ * - toUserId : 받는 유저 id
+ * - amount : 보낼 포인트
+ */
+public record PointTransferRequest(
+        long toUserId,
+        long amount
+) {
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * CAS 엔진 설정
+ * - persistQueueCapacity : 저장 대기열 크기, 가득 차면 요청이 저장을 기다린다.
+ */
+@ConfigurationProperties(prefix = "point.engine.cas")
+public record CasEngineProperties(
+        @DefaultValue("100000") int persistQueueCapacity
+) {
+}
@@ -0,0 +1,267 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_TRANSFER;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+
+/**
+ * 락 없이 CAS 로 잔액을 변경하는 엔진
+ * - 잔액은 유저별 long 필드를 VarHandle 로 compare-and-set 해서 변경한다.
+ * - 테이블 저장은 대기열에 넣고 별도 스레드가 모아서 처리하므로, 요청은 테이블 지연을 기다리지 않는다.
+ * - 잔액은 대기열 순서가 아니라 저장 시점의 메모리 잔액으로 저장해서, 마지막 값이 항상 반영된다.
+ * - 저장에 실패하면 잠시 기다렸다가 다시 시도하고, MAX_PERSIST_ATTEMPTS 번 모두 실패하면 저장을 멈추고 이후 변경 요청을 거절한다.
+ *   이미 응답한 변경이 테이블에 반영되지 않은 채로 메모리 잔액만 앞서 나가지 않도록 한다.
+ * - 잔액은 유저마다 따로 CAS 하므로 두 유저의 잔액을 한 번에 바꿀 수 없다. 그래서 전송은 지원하지 않고 INVALID_TRANSFER 로 거절한다.
+ *   차감과 적립을 따로 반영하면 그 사이에 조회한 잔액에서 전송 중인 포인트가 사라지고, 적립 전에 저장이 멈추면 포인트를 잃는다.
+ * - point.engine.type=cas
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "cas")
+public class CasPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CasPointEngine.class);
+
+    private static final int PERSIST_BATCH_SIZE = 1024;
+
+    // 저장 한 건을 시도하는 최대 횟수와 실패 후 다시 시도하기까지 기다리는 시간
+    private static final int MAX_PERSIST_ATTEMPTS = 10;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final UserPointRepository userPointRepository;
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<PersistTask> persistQueue;
+
+    private final Thread persister;
+
+    private final Counter retryCounter;
+
+    private volatile boolean running = true;
+
+    // 다시 시도해도 저장하지 못한 경우의 예외, 설정된 뒤로는 잔액을 변경하지 않는다.
+    private volatile RuntimeException failure;
+
+    public CasPointEngine(UserPointRepository userPointRepository,
+                          PointHistoryRepository pointHistoryRepository,
+                          CasEngineProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.persistQueue = new ArrayBlockingQueue<>(properties.persistQueueCapacity());
+        this.retryCounter = Counter.builder("point.engine.cas.retries")
+                .description("다른 요청과 충돌해서 CAS 를 다시 시도한 횟수")
+                .register(meterRegistry);
+        Gauge.builder("point.engine.cas.persist.queue", persistQueue, BlockingQueue::size).register(meterRegistry);
+
+        this.persister = new Thread(this::persistLoop, "cas-point-persister");
+        this.persister.setDaemon(true);
+        this.persister.start();
+    }
+
+    @Override
+    public UserPoint getPoint(long id) {
+        Balance balance = balanceOf(id);
+        return new UserPoint(id, balance.point(), balance.updateMillis);
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return deposit(id, amount, CHARGE);
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return withdraw(id, amount, USE);
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        throw new PointException(INVALID_TRANSFER, "CAS 엔진에서는 포인트를 전송할 수 없습니다.");
+    }
+
+    private UserPoint deposit(long id, long amount, TransactionType type) {
+        checkWritable();
+        Balance balance = balanceOf(id);
+        long after = balance.add(amount);
+        return applied(id, balance, amount, type, after);
+    }
+
+    private UserPoint withdraw(long id, long amount, TransactionType type) {
+        checkWritable();
+        Balance balance = balanceOf(id);
+        long current = balance.point();
+        while (true) {
+            // 포인트가 부족하지 않은지 체크
+            if (current < amount) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            long after = current - amount;
+            if (balance.compareAndSet(current, after)) {
+                return applied(id, balance, amount, type, after);
+            }
+            retryCounter.increment();
+            current = balance.point();
+        }
+    }
+
+    private UserPoint applied(long id, Balance balance, long amount, TransactionType type, long after) {
+        long now = System.currentTimeMillis();
+        balance.updateMillis = now;
+        enqueue(new PersistTask(id, amount, type, now));
+        return new UserPoint(id, after, now);
+    }
+
+    // 처음 사용하는 유저는 테이블에서 잔액을 읽어오고, 동시에 읽은 경우 먼저 등록된 값을 사용
+    private Balance balanceOf(long id) {
+        Balance balance = balances.get(id);
+        if (balance != null) {
+            return balance;
+        }
+        UserPoint loaded = userPointRepository.selectById(id);
+        Balance created = new Balance(loaded.point(), loaded.updateMillis());
+        Balance previous = balances.putIfAbsent(id, created);
+        return previous != null ? previous : created;
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new IllegalStateException("포인트 저장에 실패해서 잔액을 변경할 수 없습니다.", failure);
+        }
+    }
+
+    private void enqueue(PersistTask task) {
+        try {
+            persistQueue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 저장 대기 중 중단되었습니다.", e);
+        }
+    }
+
+    private void persistLoop() {
+        List<PersistTask> batch = new ArrayList<>(PERSIST_BATCH_SIZE);
+        while (running || !persistQueue.isEmpty()) {
+            try {
+                PersistTask first = persistQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                persistQueue.drainTo(batch, PERSIST_BATCH_SIZE - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 저장하지 못한 변경이 남아있으므로 더 이상 변경을 받지 않는다.
+                failure = e;
+                log.error("포인트 저장에 실패해서 엔진을 멈춥니다. 저장되지 않은 건수={}", batch.size() + persistQueue.size(), e);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 한 건씩 다시 시도하므로, 일부가 저장된 뒤 실패해도 이미 저장된 내역을 다시 저장하지 않는다.
+    private void persist(List<PersistTask> batch) throws InterruptedException {
+        Set<Long> dirtyIds = new LinkedHashSet<>();
+        for (PersistTask task : batch) {
+            withRetry(() -> pointHistoryRepository.insert(task.id(), task.amount(), task.type(), task.updateMillis()));
+            dirtyIds.add(task.id());
+        }
+        // 유저별로 한 번, 저장 시점의 최신 잔액을 반영
+        for (Long id : dirtyIds) {
+            withRetry(() -> userPointRepository.insertOrUpdate(id, balances.get(id).point()));
+        }
+    }
+
+    private static void withRetry(Runnable write) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_PERSIST_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("포인트 저장에 실패했습니다. 다시 시도합니다. attempt={}", attempt, e);
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        persister.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private record PersistTask(long id, long amount, TransactionType type, long updateMillis) {
+    }
+
+    private static final class Balance {
+
+        private static final VarHandle POINT;
+
+        static {
+            try {
+                POINT = MethodHandles.lookup().findVarHandle(Balance.class, "point", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long point;
+
+        private volatile long updateMillis;
+
+        private Balance(long point, long updateMillis) {
+            this.point = point;
+            this.updateMillis = updateMillis;
+        }
+
+        private long point() {
+            return point;
+        }
+
+        private long add(long amount) {
+            return (long) POINT.getAndAdd(this, amount) + amount;
+        }
+
+        private boolean compareAndSet(long expected, long next) {
+            return POINT.compareAndSet(this, expected, next);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모든 충전/사용 요청을 PointCommandCombiner 로 모아서 처리하는 엔진
+ * - point.engine.type=combining
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "combining")
+@RequiredArgsConstructor
+public class CombiningPointEngine implements PointEngine {
+
+    private final PointCommandCombiner pointCommandCombiner;
+
+    private final UserPointRepository userPointRepository;
+
+    @Override
+    public UserPoint getPoint(long id) {
+        return userPointRepository.selectById(id);
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return pointCommandCombiner.charge(id, amount);
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return pointCommandCombiner.use(id, amount);
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        return pointCommandCombiner.transfer(fromId, toId, amount);
+    }
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트 소싱 엔진의 잔액이 내역과 일치하는지 주기적으로 검사한다.
+ * - 체크포인트를 가진 유저를 verifyParallelism 개로 나눠서 동시에 검사한다.
+ * - 유저마다 락을 잡고 체크포인트 이후 내역만 재계산하므로, 한 유저의 검사는 진행 중인 변경을 잠깐만 막는다.
+ * - 어긋난 유저 수는 point.engine.event-sourced.verify.mismatch 로 남기고, repair 면 내역 기준으로 고친다.
+ * - point.engine.type=event-sourced
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "event-sourced")
+public class EventSourcedBalanceVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSourcedBalanceVerifier.class);
+
+    private final EventSourcedPointEngine engine;
+
+    private final int parallelism;
+
+    private final boolean repair;
+
+    private final ExecutorService workers;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Timer verifyTimer;
+
+    private final Counter mismatchCounter;
+
+    public EventSourcedBalanceVerifier(EventSourcedPointEngine engine,
+                                       EventSourcedEngineProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.engine = engine;
+        this.parallelism = properties.verifyParallelism();
+        this.repair = properties.repair();
+        this.verifyTimer = Timer.builder("point.engine.event-sourced.verify")
+                .description("전체 유저의 잔액과 내역을 검사하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("point.engine.event-sourced.verify.mismatch")
+                .description("검사에서 잔액이 내역과 다른 유저 수")
+                .register(meterRegistry);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "point-balance-verifier-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.verifyInterval().toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-balance-verify-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::verifyQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 체크포인트를 가진 모든 유저를 검사한다.
+     * 검사 중에 처음 사용된 유저는 다음 검사에서 확인한다.
+     */
+    public VerificationResult verifyAll() {
+        long startNanos = System.nanoTime();
+        List<Long> users = List.copyOf(engine.users());
+        int partitionSize = Math.max(1, (users.size() + parallelism - 1) / parallelism);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += partitionSize) {
+            List<Long> partition = users.subList(from, Math.min(users.size(), from + partitionSize));
+            futures.add(CompletableFuture.supplyAsync(() -> verify(partition), workers));
+        }
+        int mismatched = futures.stream().mapToInt(CompletableFuture::join).sum();
+
+        verifyTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        mismatchCounter.increment(mismatched);
+        return new VerificationResult(users.size(), mismatched);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private int verify(List<Long> users) {
+        int mismatched = 0;
+        for (Long id : users) {
+            if (!engine.verify(id, repair)) {
+                mismatched++;
+            }
+        }
+        return mismatched;
+    }
+
+    private void verifyQuietly() {
+        try {
+            VerificationResult result = verifyAll();
+            if (result.mismatched() > 0) {
+                log.warn("잔액 검사에서 내역과 다른 유저를 찾았습니다. 검사 {} 명, 불일치 {} 명", result.checked(), result.mismatched());
+            }
+        } catch (RuntimeException e) {
+            log.error("잔액 검사에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 검사 결과
+     * - checked : 검사한 유저 수
+     * - mismatched : 잔액이 내역과 달랐던 유저 수
+     */
+    public record VerificationResult(int checked, int mismatched) {
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 이벤트 소싱 엔진 설정
+ * - checkpointInterval : 유저별로 이 건수만큼 내역이 쌓이면 체크포인트를 앞으로 옮긴다. 잔액 재계산은 체크포인트 이후 내역만 읽는다.
+ * - verifyInterval : 잔액과 내역의 일치 여부를 검사하는 주기
+ * - verifyParallelism : 검사를 동시에 실행하는 스레드 수
+ * - repair : 검사에서 어긋난 잔액을 내역으로 재계산한 값으로 고칠지 여부
+ */
+@ConfigurationProperties(prefix = "point.engine.event-sourced")
+public record EventSourcedEngineProperties(
+        @DefaultValue("64") int checkpointInterval,
+        @DefaultValue("5m") Duration verifyInterval,
+        @DefaultValue("4") int verifyParallelism,
+        @DefaultValue("true") boolean repair
+) {
+}
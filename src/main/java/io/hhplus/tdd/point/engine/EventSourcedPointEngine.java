@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+
+/**
+ * 포인트 내역을 기준으로 잔액을 유지하는 이벤트 소싱 엔진
+ * - PointHistory 가 원본이고, UserPoint 는 내역을 누적한 결과(projection)다. 변경은 내역을 먼저 저장한 뒤 잔액에 반영한다.
+ * - 유저별 체크포인트(잔액, 마지막 내역 id)를 두고, 잔액 재계산은 체크포인트 이후 내역만 읽는다.
+ *   체크포인트도 이전 체크포인트에 내역을 더해서 옮기므로, 잔액 저장소의 값이 어긋나도 체크포인트에는 섞이지 않는다.
+ * - 처음 사용하는 유저는 전체 내역으로 체크포인트를 만들고, 잔액이 다르면 내역 기준으로 고친다.
+ * - 내역 저장 후 잔액 반영에 실패한 유저는 다음 요청에서 재계산한 값으로 고친다.
+ * - 잔액과 내역의 일치 여부는 EventSourcedBalanceVerifier 가 주기적으로 검사한다.
+ * - point.engine.type=event-sourced
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "event-sourced")
+public class EventSourcedPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSourcedPointEngine.class);
+
+    // 재계산할 때 내역 저장소에서 한 번에 읽는 건수
+    private static final int REPLAY_PAGE_SIZE = 1024;
+
+    private final UserPointRepository userPointRepository;
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final LockHelper lockHelper;
+
+    private final int checkpointInterval;
+
+    private final Map<Long, BalanceCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    // 내역은 저장했지만 잔액 반영에 실패한 유저
+    private final Set<Long> staleUsers = ConcurrentHashMap.newKeySet();
+
+    private final Counter replayedCounter;
+
+    private final Counter repairedCounter;
+
+    public EventSourcedPointEngine(UserPointRepository userPointRepository,
+                                   PointHistoryRepository pointHistoryRepository,
+                                   LockHelper lockHelper,
+                                   EventSourcedEngineProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.lockHelper = lockHelper;
+        this.checkpointInterval = properties.checkpointInterval();
+        this.replayedCounter = Counter.builder("point.engine.event-sourced.replayed")
+                .description("잔액 재계산에서 읽은 내역 수")
+                .register(meterRegistry);
+        this.repairedCounter = Counter.builder("point.engine.event-sourced.repaired")
+                .description("내역과 달라서 재계산한 값으로 고친 잔액 수")
+                .register(meterRegistry);
+        Gauge.builder("point.engine.event-sourced.checkpoints", checkpoints, Map::size)
+                .description("체크포인트를 가진 유저 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint getPoint(long id) {
+        return userPointRepository.selectById(id);
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return lockHelper.executeWithLock(id, () -> apply(id, balanceOf(id), amount, CHARGE));
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return lockHelper.executeWithLock(id, () -> {
+            long balance = balanceOf(id);
+            // 포인트가 부족하지 않은지 체크
+            if (balance < amount) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            return apply(id, balance, amount, USE);
+        });
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        return lockHelper.executeWithLocks(fromId, toId, () -> {
+            long fromBalance = balanceOf(fromId);
+            // 포인트가 부족하지 않은지 체크
+            if (fromBalance < amount) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            long toBalance = balanceOf(toId);
+            UserPoint from = apply(fromId, fromBalance, amount, TRANSFER_OUT);
+            UserPoint to = apply(toId, toBalance, amount, TRANSFER_IN);
+            return new PointTransfer(from, to);
+        });
+    }
+
+    /**
+     * 내역으로 재계산한 잔액과 잔액 저장소의 값을 비교한다.
+     * 유저 락을 잡고 비교하므로 진행 중인 변경과 섞이지 않으며, repair 면 어긋난 잔액을 고친다.
+     *
+     * @return 일치하면 true
+     */
+    boolean verify(long id, boolean repair) {
+        return lockHelper.executeWithLock(id, () -> {
+            long expected = recompute(id);
+            long actual = userPointRepository.selectById(id).point();
+            if (expected == actual) {
+                return true;
+            }
+            log.warn("잔액이 내역과 다릅니다. userId={}, 잔액={}, 내역 기준={}", id, actual, expected);
+            if (repair) {
+                repair(id, expected);
+            }
+            return false;
+        });
+    }
+
+    // 체크포인트를 가진 유저, 검사 대상이다.
+    Set<Long> users() {
+        return checkpoints.keySet();
+    }
+
+    BalanceCheckpoint checkpointOf(long id) {
+        return checkpoints.get(id);
+    }
+
+    // 유저 락 안에서 호출, 처음 사용하거나 잔액 반영에 실패했던 유저는 내역으로 재계산한 값을 사용한다.
+    private long balanceOf(long id) {
+        if (checkpoints.containsKey(id) && !staleUsers.contains(id)) {
+            return userPointRepository.selectById(id).point();
+        }
+        long expected = recompute(id);
+        if (userPointRepository.selectById(id).point() != expected) {
+            repair(id, expected);
+        }
+        staleUsers.remove(id);
+        return expected;
+    }
+
+    // 유저 락 안에서 호출, 내역을 먼저 저장하고 잔액에 반영한다.
+    private UserPoint apply(long id, long balance, long amount, TransactionType type) {
+        long after = applyTo(balance, type, amount);
+        PointHistory event = pointHistoryRepository.insert(id, amount, type, System.currentTimeMillis());
+        advanceCheckpoint(id, event);
+        try {
+            return userPointRepository.insertOrUpdate(id, after);
+        } catch (RuntimeException e) {
+            staleUsers.add(id);
+            throw e;
+        }
+    }
+
+    // 체크포인트 이후 쌓인 내역이 checkpointInterval 에 이르면 그 내역을 더해서 체크포인트를 옮긴다.
+    private void advanceCheckpoint(long id, PointHistory event) {
+        BalanceCheckpoint checkpoint = checkpoints.get(id);
+        if (checkpoint.eventsSince() + 1 < checkpointInterval) {
+            checkpoints.put(id, checkpoint.withEventsSince(checkpoint.eventsSince() + 1));
+            return;
+        }
+        checkpoints.put(id, replay(id, checkpoint, event.id()));
+    }
+
+    // 유저 락 안에서 호출, 체크포인트에 그 이후 내역을 더한 잔액. 체크포인트가 없으면 전체 내역으로 만든다.
+    private long recompute(long id) {
+        BalanceCheckpoint checkpoint = checkpoints.get(id);
+        if (checkpoint == null) {
+            checkpoint = replay(id, BalanceCheckpoint.EMPTY, Long.MAX_VALUE);
+            checkpoints.put(id, checkpoint);
+            return checkpoint.balance();
+        }
+        return replay(id, checkpoint, Long.MAX_VALUE).balance();
+    }
+
+    // from 이후부터 untilId 까지의 내역을 더한 체크포인트
+    private BalanceCheckpoint replay(long id, BalanceCheckpoint from, long untilId) {
+        long balance = from.balance();
+        long lastId = from.lastHistoryId();
+        int replayed = 0;
+        while (true) {
+            PointHistoryQuery query = new PointHistoryQuery(lastId, REPLAY_PAGE_SIZE, Long.MIN_VALUE, Long.MAX_VALUE, null);
+            List<PointHistory> events = pointHistoryRepository.selectByUserId(id, query);
+            for (PointHistory event : events) {
+                if (event.id() > untilId) {
+                    replayedCounter.increment(replayed);
+                    return new BalanceCheckpoint(balance, lastId, 0);
+                }
+                balance = applyTo(balance, event.type(), event.amount());
+                lastId = event.id();
+                replayed++;
+            }
+            if (events.size() < REPLAY_PAGE_SIZE) {
+                replayedCounter.increment(replayed);
+                return new BalanceCheckpoint(balance, lastId, 0);
+            }
+        }
+    }
+
+    private static long applyTo(long balance, TransactionType type, long amount) {
+        return type == CHARGE || type == TRANSFER_IN ? balance + amount : balance - amount;
+    }
+
+    private void repair(long id, long expected) {
+        userPointRepository.insertOrUpdate(id, expected);
+        repairedCounter.increment();
+    }
+
+    /**
+     * 유저별 체크포인트
+     * - balance : lastHistoryId 까지의 내역을 더한 잔액
+     * - lastHistoryId : 체크포인트에 포함된 마지막 내역 id
+     * - eventsSince : 체크포인트 이후 이 엔진이 저장한 내역 수
+     */
+    record BalanceCheckpoint(long balance, long lastHistoryId, int eventsSince) {
+
+        static final BalanceCheckpoint EMPTY = new BalanceCheckpoint(0, 0, 0);
+
+        BalanceCheckpoint withEventsSince(int eventsSince) {
+            return new BalanceCheckpoint(balance, lastHistoryId, eventsSince);
+        }
+    }
+}
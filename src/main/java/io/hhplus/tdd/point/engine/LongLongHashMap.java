@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point.engine;
+
+/**
+ * long -> long open addressing 해시 맵
+ * - 한 스레드에서만 사용하며, 키/값을 primitive 배열에 담아서 조회와 변경에 객체를 만들지 않는다.
+ * - 절반 이상 차면 두 배로 늘리므로, 늘어날 때를 빼면 할당이 없다.
+ */
+final class LongLongHashMap {
+
+    private long[] keys;
+
+    private long[] values;
+
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    boolean containsKey(long key) {
+        return used[indexOf(key)];
+    }
+
+    long get(long key, long missingValue) {
+        int index = indexOf(key);
+        return used[index] ? values[index] : missingValue;
+    }
+
+    void put(long key, long value) {
+        int index = indexOf(key);
+        values[index] = value;
+        if (used[index]) {
+            return;
+        }
+        keys[index] = key;
+        used[index] = true;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // key 가 있는 칸, 없으면 key 를 넣을 빈 칸
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while (used[index] && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                used[index] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+
+/**
+ * 유저별 충전/사용 요청을 모아서 한 번에 반영하는 combiner
+ * - 요청은 유저별 큐에 쌓이고, 먼저 락을 잡은 요청이 쌓인 요청을 도착 순서대로 메모리에서 적용한다.
+ * - 배치 당 잔액 조회/저장은 한 번, 내역은 요청마다 한 번 저장한다.
+ * - 각 요청은 자신의 요청이 반영된 직후의 잔액을 결과로 받는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointCommandCombiner {
+
+    // 한 번에 처리하는 최대 요청 수, 남은 요청은 대기 중인 다른 요청이 이어서 처리한다.
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final UserPointRepository userPointRepository;
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final LockHelper lockHelper;
+
+    private final Map<Long, Queue<PointCommand>> queues = new ConcurrentHashMap<>();
+
+    public UserPoint charge(long id, long amount) {
+        return submit(id, new PointCommand(CHARGE, amount));
+    }
+
+    public UserPoint use(long id, long amount) {
+        return submit(id, new PointCommand(USE, amount));
+    }
+
+    /**
+     * 두 유저의 락을 모두 잡고 바로 반영한다.
+     * 각 유저 큐에 쌓인 요청은 락 안에서만 반영되므로, 전송과 섞여도 잔액이 어긋나지 않는다.
+     */
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        return lockHelper.executeWithLocks(fromId, toId, () -> {
+            UserPoint from = userPointRepository.selectById(fromId);
+            if (from.point() < amount) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            UserPoint to = userPointRepository.selectById(toId);
+
+            UserPoint fromAfter = userPointRepository.insertOrUpdate(fromId, from.point() - amount);
+            UserPoint toAfter = userPointRepository.insertOrUpdate(toId, to.point() + amount);
+            pointHistoryRepository.insert(fromId, amount, TRANSFER_OUT, fromAfter.updateMillis());
+            pointHistoryRepository.insert(toId, amount, TRANSFER_IN, toAfter.updateMillis());
+            return new PointTransfer(fromAfter, toAfter);
+        });
+    }
+
+    private UserPoint submit(long id, PointCommand command) {
+        Queue<PointCommand> queue = queues.computeIfAbsent(id, k -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+
+        // 락을 잡았을 때 이미 다른 요청이 처리해줬다면 결과만 가져간다.
+        while (!command.result.isDone()) {
+            try {
+                lockHelper.executeWithLock(id, () -> {
+                    if (!command.result.isDone()) {
+                        drain(id, queue);
+                    }
+                });
+            } catch (PointException e) {
+                // 락을 잡지 못해(TOO_BUSY, LOCK_TIMEOUT) 실패를 반환하는 요청은 나중에라도 반영되지 않도록 큐에서 뺀다.
+                // 이미 다른 요청이 꺼내갔다면 그 요청이 처리한 결과를 기다린다.
+                if (queue.remove(command)) {
+                    throw e;
+                }
+                return command.await();
+            }
+        }
+        return command.await();
+    }
+
+    private void drain(long id, Queue<PointCommand> queue) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand polled;
+        while (batch.size() < MAX_BATCH_SIZE && (polled = queue.poll()) != null) {
+            batch.add(polled);
+        }
+
+        try {
+            apply(id, batch);
+        } catch (RuntimeException e) {
+            // 처리되지 못한 요청이 계속 대기하지 않도록 같은 예외로 끝낸다.
+            batch.forEach(command -> command.result.completeExceptionally(e));
+        } finally {
+            // 비어있는 큐는 정리, 정리된 큐에 뒤늦게 들어온 요청은 그 요청이 직접 처리한다.
+            queues.computeIfPresent(id, (key, current) -> current.isEmpty() ? null : current);
+        }
+    }
+
+    private void apply(long id, List<PointCommand> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // 메모리에서 도착 순서대로 적용
+        long balance = userPointRepository.selectById(id).point();
+        List<PointCommand> applied = new ArrayList<>(batch.size());
+        for (PointCommand command : batch) {
+            if (command.type == USE && command.amount > balance) {
+                command.result.completeExceptionally(new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다."));
+                continue;
+            }
+            balance = command.type == CHARGE ? balance + command.amount : balance - command.amount;
+            command.balanceAfter = balance;
+            applied.add(command);
+        }
+
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        UserPoint saved = userPointRepository.insertOrUpdate(id, balance);
+        for (PointCommand command : applied) {
+            pointHistoryRepository.insert(id, command.amount, command.type, saved.updateMillis());
+            command.result.complete(new UserPoint(id, command.balanceAfter, saved.updateMillis()));
+        }
+    }
+
+    private static final class PointCommand {
+
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        // 락 안에서만 쓰고 읽는다.
+        private long balanceAfter;
+
+        private PointCommand(TransactionType type, long amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+
+        private UserPoint await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
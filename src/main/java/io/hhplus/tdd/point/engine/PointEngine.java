@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+
+/**
+ * 포인트 잔액 변경을 처리하는 엔진
+ * - point.engine.type 설정으로 하나를 선택하며, 선택하지 않으면 PointService 의 락 기반 처리를 사용한다.
+ * - 포인트 값의 유효성 체크는 PointService 에서 끝난 뒤 호출된다.
+ */
+public interface PointEngine {
+
+    UserPoint getPoint(long id);
+
+    UserPoint charge(long id, long amount);
+
+    UserPoint use(long id, long amount);
+
+    PointTransfer transfer(long fromId, long toId, long amount);
+
+    /**
+     * 엔진이 내역을 직접 보관하면 그 내역의 저장소를 반환한다.
+     * 기본값 null 이면 PointService 는 PointHistoryRepository 에서 내역을 조회한다.
+     */
+    default PointHistoryRepository historyRepository() {
+        return null;
+    }
+
+    /**
+     * 내역을 읽고 쓸 저장소를 정한다.
+     * 엔진이 내역을 직접 보관하면 엔진의 저장소를, 엔진이 없거나 보관하지 않으면 pointHistoryRepository 를 반환한다.
+     * 내역을 읽는 서비스는 모두 이 메서드로 저장소를 정해서, 엔진에 따라 서로 다른 저장소를 읽지 않도록 한다.
+     */
+    static PointHistoryRepository historyRepositoryOf(PointEngine pointEngine, PointHistoryRepository pointHistoryRepository) {
+        if (pointEngine != null && pointEngine.historyRepository() != null) {
+            return pointEngine.historyRepository();
+        }
+        return pointHistoryRepository;
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point.engine;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 미리 만들어둔 명령 칸을 돌려 쓰는 다중 producer 링 버퍼
+ * - producer 는 순번(sequence)을 받아서 해당 칸을 채운 뒤 publish 하고, consumer 는 publish 된 순번을 순서대로 읽는다.
+ * - 칸마다 publish 된 바퀴 수를 기록해서, 순번을 먼저 받은 producer 가 늦게 publish 해도 consumer 는 순서를 건너뛰지 않는다.
+ * - 마지막 consumer(gating) 들이 모두 지나간 칸만 다시 쓰므로, 저장이 밀리면 producer 가 기다린다.
+ */
+final class PointRingBuffer {
+
+    // 링이 가득 찼을 때 producer 가 다시 확인하기까지 쉬는 시간
+    private static final long FULL_PARK_NANOS = 1_000;
+
+    private final Slot[] slots;
+
+    private final int mask;
+
+    private final int indexShift;
+
+    // 칸마다 마지막으로 publish 된 순번의 바퀴 수
+    private final AtomicIntegerArray published;
+
+    // 마지막으로 나눠준 순번
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    private AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    // gating consumer 가 멈춰서 칸이 더 이상 비워지지 않는 경우, 기다리는 producer 를 내보낸다.
+    private volatile boolean halted;
+
+    PointRingBuffer(int requestedSize) {
+        int size = Integer.highestOneBit(Math.max(2, requestedSize) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    // consumer 를 시작하기 전에 한 번 설정한다.
+    void setGatingSequences(AtomicLong... sequences) {
+        this.gatingSequences = sequences;
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    /**
+     * 다음 순번을 받는다. 그 칸을 이전 바퀴의 명령이 아직 쓰고 있으면 비워질 때까지 기다린다.
+     * halt 된 뒤로는 기다리지 않고 예외를 반환한다.
+     */
+    long next() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        while (wrapPoint > minimumGatingSequence()) {
+            if (halted) {
+                throw new IllegalStateException("링 버퍼가 멈춰서 명령을 받을 수 없습니다.");
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return sequence;
+    }
+
+    void halt() {
+        halted = true;
+    }
+
+    Slot get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    void publish(long sequence) {
+        published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    // from 부터 끊기지 않고 publish 된 마지막 순번, from 이 아직이면 from - 1
+    long highestPublished(long from, long limit) {
+        long sequence = from;
+        while (sequence <= limit && isPublished(sequence)) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    // 사용 중인 칸 수 (받았지만 마지막 consumer 가 지나가지 않은 순번)
+    long used() {
+        return claimed.get() - minimumGatingSequence();
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? claimed.get() : minimum;
+    }
+
+    /**
+     * 링 버퍼의 한 칸
+     * - 요청 스레드가 명령을 채우고, 처리 consumer 가 결과를 채우며, 저장 consumer 는 둘 다 읽기만 한다.
+     * - 채우는 쪽과 읽는 쪽은 publish 와 consumer 순번(volatile)으로 순서가 보장되므로 필드는 volatile 이 아니다.
+     */
+    static final class Slot {
+
+        // 요청 스레드가 채운다.
+        byte command;
+        long userId;
+        long targetId;
+        long amount;
+        boolean userLoaded;
+        long userStoredPoint;
+        boolean targetLoaded;
+        long targetStoredPoint;
+        RingBufferPointEngine.PendingResult result;
+
+        // 처리 consumer 가 채운다.
+        boolean applied;
+        long point;
+        long targetPoint;
+        long updateMillis;
+    }
+}
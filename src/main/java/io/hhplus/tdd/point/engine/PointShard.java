@@ -0,0 +1,264 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+
+/**
+ * 일부 유저의 잔액과 내역을 혼자 관리하는 샤드
+ * - 모든 요청은 대기열에 넣고 샤드 스레드 하나가 순서대로 실행하므로, 잔액/내역 저장소는 락 없는 HashMap 을 사용한다.
+ * - 요청한 스레드는 실행이 끝날 때까지 기다렸다가 결과를 받는다.
+ * - 내역 id 는 샤드 안의 순번 * 샤드 수 + 샤드 번호 + 1 로 부여해서, 샤드끼리 겹치지 않고 유저별로 증가한다.
+ * - 다른 샤드의 유저에게 전송할 때는 두 샤드 스레드를 번호 순서로 멈춰 세운 뒤 양쪽을 한 번에 반영한다.
+ */
+class PointShard {
+
+    private final int index;
+
+    private final int shardCount;
+
+    private final BlockingQueue<Runnable> queue;
+
+    private final Thread thread;
+
+    // 아래 필드는 샤드 스레드에서만 읽고 쓴다. 예외로 transferAcross 는 샤드 스레드를 멈춰 세운 동안 요청한 스레드에서 쓴다.
+    private final Map<Long, UserPoint> balances = new HashMap<>();
+
+    private final Map<Long, List<PointHistory>> histories = new HashMap<>();
+
+    private long nextSequence;
+
+    // 샤드 스레드만 쓰고, 메트릭 조회 스레드가 읽는다.
+    private volatile long busyNanos;
+
+    private volatile long completedTasks;
+
+    private final long startNanos = System.nanoTime();
+
+    private long sampledBusyNanos;
+
+    private long sampledAtNanos = startNanos;
+
+    private volatile boolean running = true;
+
+    PointShard(int index, int shardCount, int queueCapacity) {
+        this.index = index;
+        this.shardCount = shardCount;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = new Thread(this::runLoop, "point-shard-" + index);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    UserPoint getPoint(long id) {
+        return call(() -> balanceOf(id));
+    }
+
+    UserPoint deposit(long id, long amount, TransactionType type) {
+        return call(() -> applyDeposit(id, amount, type));
+    }
+
+    UserPoint withdraw(long id, long amount, TransactionType type) {
+        return call(() -> applyWithdraw(id, amount, type));
+    }
+
+    // 두 유저가 모두 이 샤드에 있으면 한 번에 반영한다.
+    PointTransfer transferWithin(long fromId, long toId, long amount) {
+        return call(() -> {
+            UserPoint from = applyWithdraw(fromId, amount, TRANSFER_OUT);
+            UserPoint to = applyDeposit(toId, amount, TRANSFER_IN);
+            return new PointTransfer(from, to);
+        });
+    }
+
+    // 두 유저가 서로 다른 샤드에 있으면, 두 샤드를 모두 멈춰 세운 동안 요청한 스레드에서 양쪽을 반영한다.
+    // 멈춘 샤드는 다른 요청을 실행하지 않으므로 차감만 반영된 잔액이 조회되지 않는다.
+    // 항상 번호가 작은 샤드부터 멈추므로, 반대 방향의 전송이 동시에 들어와도 서로 기다리며 멈추지 않는다.
+    static PointTransfer transferAcross(PointShard fromShard, long fromId, PointShard toShard, long toId, long amount) {
+        PointShard first = fromShard.index < toShard.index ? fromShard : toShard;
+        PointShard second = first == fromShard ? toShard : fromShard;
+        CompletableFuture<Void> firstRelease = first.hold();
+        try {
+            CompletableFuture<Void> secondRelease = second.hold();
+            try {
+                UserPoint from = fromShard.applyWithdraw(fromId, amount, TRANSFER_OUT);
+                UserPoint to = toShard.applyDeposit(toId, amount, TRANSFER_IN);
+                return new PointTransfer(from, to);
+            } finally {
+                secondRelease.complete(null);
+            }
+        } finally {
+            firstRelease.complete(null);
+        }
+    }
+
+    PointHistory insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        return call(() -> append(id, amount, type, updateMillis));
+    }
+
+    List<PointHistory> selectHistories(long id, PointHistoryQuery query) {
+        return call(() -> {
+            List<PointHistory> userHistories = histories.getOrDefault(id, List.of());
+            List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), userHistories.size()));
+            for (int i = firstAfter(userHistories, query.afterId()); i < userHistories.size() && result.size() < query.limit(); i++) {
+                PointHistory pointHistory = userHistories.get(i);
+                if (query.matches(pointHistory)) {
+                    result.add(pointHistory);
+                }
+            }
+            return result;
+        });
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    long completedTasks() {
+        return completedTasks;
+    }
+
+    double busySeconds() {
+        return busyNanos / 1e9;
+    }
+
+    // 마지막 조회 이후 샤드 스레드가 요청을 실행한 시간의 비율 (0 ~ 1)
+    synchronized double utilization() {
+        long now = System.nanoTime();
+        long busy = busyNanos;
+        long elapsed = now - sampledAtNanos;
+        double utilization = elapsed <= 0 ? 0 : Math.min(1.0, (double) (busy - sampledBusyNanos) / elapsed);
+        sampledBusyNanos = busy;
+        sampledAtNanos = now;
+        return utilization;
+    }
+
+    void close() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    // 샤드 스레드가 반환한 future 가 완료될 때까지 다른 요청을 실행하지 않고 기다리게 한다.
+    // 샤드 스레드가 멈춘 뒤에 반환하므로, 그동안 요청한 스레드가 이 샤드의 잔액/내역을 읽고 써도 된다.
+    private CompletableFuture<Void> hold() {
+        CompletableFuture<Void> held = new CompletableFuture<>();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        enqueue(() -> {
+            held.complete(null);
+            release.join();
+        });
+        held.join();
+        return release;
+    }
+
+    private <T> T call(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void enqueue(Runnable task) {
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("샤드 대기열에 넣는 중 중단되었습니다.", e);
+        }
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            Runnable task;
+            try {
+                task = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == null) {
+                continue;
+            }
+            long taskStartNanos = System.nanoTime();
+            task.run();
+            busyNanos += System.nanoTime() - taskStartNanos;
+            completedTasks++;
+        }
+    }
+
+    private UserPoint balanceOf(long id) {
+        return balances.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    private UserPoint applyDeposit(long id, long amount, TransactionType type) {
+        return applied(id, balanceOf(id).point() + amount, amount, type);
+    }
+
+    private UserPoint applyWithdraw(long id, long amount, TransactionType type) {
+        long current = balanceOf(id).point();
+        // 포인트가 부족하지 않은지 체크
+        if (current < amount) {
+            throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+        }
+        return applied(id, current - amount, amount, type);
+    }
+
+    private UserPoint applied(long id, long after, long amount, TransactionType type) {
+        UserPoint userPoint = new UserPoint(id, after, System.currentTimeMillis());
+        balances.put(id, userPoint);
+        append(id, amount, type, userPoint.updateMillis());
+        return userPoint;
+    }
+
+    private PointHistory append(long id, long amount, TransactionType type, long updateMillis) {
+        long historyId = nextSequence++ * shardCount + index + 1;
+        PointHistory pointHistory = new PointHistory(historyId, id, amount, type, updateMillis);
+        histories.computeIfAbsent(id, k -> new ArrayList<>()).add(pointHistory);
+        return pointHistory;
+    }
+
+    // afterId 보다 큰 첫 내역의 위치, 유저별 내역은 id 오름차순이다.
+    private static int firstAfter(List<PointHistory> userHistories, long afterId) {
+        int low = 0;
+        int high = userHistories.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (userHistories.get(mid).id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 링 버퍼 엔진 설정
+ * - bufferSize : 링 버퍼 칸 수, 2의 거듭제곱으로 올림한다. 저장이 이만큼 밀리면 요청이 자리가 날 때까지 기다린다.
+ * - persistBatchSize : 저장 consumer 가 한 번에 저장하는 최대 명령 수
+ */
+@ConfigurationProperties(prefix = "point.engine.ring-buffer")
+public record RingBufferEngineProperties(
+        @DefaultValue("65536") int bufferSize,
+        @DefaultValue("1024") int persistBatchSize
+) {
+}
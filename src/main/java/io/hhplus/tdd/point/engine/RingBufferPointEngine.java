@@ -0,0 +1,446 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.PointRingBuffer.Slot;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+
+/**
+ * 충전/사용/전송 명령을 링 버퍼로 처리하는 엔진 (LMAX Disruptor 방식)
+ * - 요청 스레드는 미리 만들어진 링 버퍼 칸에 명령을 채워 publish 하고, 결과가 나올 때까지 기다린다.
+ * - 처리 consumer 스레드 하나가 명령을 순서대로 메모리 잔액(LongLongHashMap)에 적용한다. 혼자 쓰므로 락이 없고, 결과는 칸과
+ *   요청 스레드가 만든 PendingResult 에 채우므로 객체를 만들지 않는다.
+ * - 처리된 명령은 잔액 저장 consumer 와 내역 저장 consumer 가 각각 묶음으로 저장한다. 잔액은 묶음 안에서 유저별 마지막 값만 저장한다.
+ * - 두 저장 consumer 가 모두 지나간 칸만 다시 쓰므로, 저장이 밀리면 요청이 링 버퍼에 자리가 날 때까지 기다린다.
+ * - 저장에 실패하면 같은 칸을 다시 시도하고, MAX_PERSIST_ATTEMPTS 번 모두 실패하면 저장 순번을 넘기지 않은 채 엔진을 멈춘다.
+ *   멈춘 뒤로는 충전/사용/전송을 거절해서, 저장되지 않을 변경을 성공으로 응답하지 않는다.
+ * - 처음 보는 유저는 요청 스레드가 테이블에서 잔액을 읽어 명령에 담고, 처리 consumer 는 메모리에 없을 때만 그 값을 사용한다.
+ *   테이블 지연이 처리 consumer 를 막지 않도록 하기 위함이며, 잔액 변경은 모두 이 엔진을 거친다는 전제다.
+ * - point.engine.type=ring-buffer
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "ring-buffer")
+public class RingBufferPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBufferPointEngine.class);
+
+    static final byte GET = 0;
+    static final byte CHARGE_COMMAND = 1;
+    static final byte USE_COMMAND = 2;
+    static final byte TRANSFER_COMMAND = 3;
+
+    // 처리 consumer 가 잠들기 전에, 요청 스레드가 결과를 기다리며 park 하기 전에 확인하는 횟수
+    private static final int SPIN_TRIES = 100;
+
+    // consumer 가 처리할 명령이 없을 때 쉬는 최대 시간
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // 저장 한 건을 시도하는 최대 횟수와 실패 후 다시 시도하기까지 기다리는 시간
+    private static final int MAX_PERSIST_ATTEMPTS = 10;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final UserPointRepository userPointRepository;
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final PointRingBuffer ringBuffer;
+
+    private final int persistBatchSize;
+
+    // 처리 consumer 만 읽고 쓴다.
+    private final LongLongHashMap balances = new LongLongHashMap(1 << 16);
+
+    // 처리 consumer 가 한 번이라도 처리한 유저, 요청 스레드가 테이블을 다시 읽지 않도록 한다.
+    private final Set<Long> loadedUsers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong processedSequence = new AtomicLong(-1);
+
+    private final AtomicLong balancePersistedSequence = new AtomicLong(-1);
+
+    private final AtomicLong historyPersistedSequence = new AtomicLong(-1);
+
+    private final Thread processor;
+
+    private final Thread balancePersister;
+
+    private final Thread historyPersister;
+
+    private final DistributionSummary processBatchSummary;
+
+    private final DistributionSummary balanceBatchSummary;
+
+    private final DistributionSummary historyBatchSummary;
+
+    private volatile boolean processorSleeping;
+
+    private volatile boolean running = true;
+
+    // 다시 시도해도 저장하지 못한 경우의 예외, 설정된 뒤로는 잔액을 변경하지 않는다.
+    private volatile RuntimeException failure;
+
+    public RingBufferPointEngine(UserPointRepository userPointRepository,
+                                 PointHistoryRepository pointHistoryRepository,
+                                 RingBufferEngineProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.ringBuffer = new PointRingBuffer(properties.bufferSize());
+        this.persistBatchSize = properties.persistBatchSize();
+        this.ringBuffer.setGatingSequences(balancePersistedSequence, historyPersistedSequence);
+
+        this.processBatchSummary = batchSummary(meterRegistry, "process");
+        this.balanceBatchSummary = batchSummary(meterRegistry, "balance");
+        this.historyBatchSummary = batchSummary(meterRegistry, "history");
+        Gauge.builder("point.engine.ring.used", ringBuffer, PointRingBuffer::used)
+                .description("링 버퍼에서 저장이 끝나지 않은 칸 수")
+                .register(meterRegistry);
+        Gauge.builder("point.engine.ring.persist.lag", this, engine -> engine.processedSequence.get() - engine.balancePersistedSequence.get())
+                .description("처리됐지만 저장되지 않은 명령 수")
+                .tag("consumer", "balance")
+                .register(meterRegistry);
+        Gauge.builder("point.engine.ring.persist.lag", this, engine -> engine.processedSequence.get() - engine.historyPersistedSequence.get())
+                .description("처리됐지만 저장되지 않은 명령 수")
+                .tag("consumer", "history")
+                .register(meterRegistry);
+
+        this.processor = start(this::processLoop, "point-ring-processor");
+        this.balancePersister = start(() -> persistLoop(balancePersistedSequence, balanceBatchSummary, this::persistBalances), "point-ring-balance-persister");
+        this.historyPersister = start(() -> persistLoop(historyPersistedSequence, historyBatchSummary, this::persistHistories), "point-ring-history-persister");
+    }
+
+    @Override
+    public UserPoint getPoint(long id) {
+        PendingResult result = publish(GET, id, 0, 0);
+        return new UserPoint(id, result.point, result.updateMillis);
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        PendingResult result = publish(CHARGE_COMMAND, id, 0, amount);
+        return new UserPoint(id, result.point, result.updateMillis);
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        PendingResult result = publish(USE_COMMAND, id, 0, amount);
+        return new UserPoint(id, result.point, result.updateMillis);
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        PendingResult result = publish(TRANSFER_COMMAND, fromId, toId, amount);
+        return new PointTransfer(new UserPoint(fromId, result.point, result.updateMillis), new UserPoint(toId, result.targetPoint, result.updateMillis));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(processor);
+        processor.join(TimeUnit.SECONDS.toMillis(30));
+        balancePersister.join(TimeUnit.SECONDS.toMillis(30));
+        historyPersister.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private PendingResult publish(byte command, long userId, long targetId, long amount) {
+        if (!running) {
+            throw new IllegalStateException("링 버퍼 엔진이 종료되었습니다.");
+        }
+        checkWritable(command);
+        // 테이블 조회는 링 버퍼 칸을 받기 전에 끝내서, 칸을 오래 붙잡지 않는다.
+        boolean needsUser = !loadedUsers.contains(userId);
+        long userStoredPoint = needsUser ? userPointRepository.selectById(userId).point() : 0;
+        boolean needsTarget = command == TRANSFER_COMMAND && !loadedUsers.contains(targetId);
+        long targetStoredPoint = needsTarget ? userPointRepository.selectById(targetId).point() : 0;
+        PendingResult result = new PendingResult(Thread.currentThread());
+
+        long sequence = ringBuffer.next();
+        Slot slot = ringBuffer.get(sequence);
+        slot.command = command;
+        slot.userId = userId;
+        slot.targetId = targetId;
+        slot.amount = amount;
+        slot.userLoaded = needsUser;
+        slot.userStoredPoint = userStoredPoint;
+        slot.targetLoaded = needsTarget;
+        slot.targetStoredPoint = targetStoredPoint;
+        slot.result = result;
+        ringBuffer.publish(sequence);
+        if (processorSleeping) {
+            LockSupport.unpark(processor);
+        }
+
+        result.await();
+        if (needsUser) {
+            loadedUsers.add(userId);
+        }
+        if (needsTarget) {
+            loadedUsers.add(targetId);
+        }
+        if (!result.applied) {
+            checkWritable(command);
+            throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+        }
+        return result;
+    }
+
+    private void checkWritable(byte command) {
+        if (command != GET && failure != null) {
+            throw new IllegalStateException("포인트 저장에 실패해서 잔액을 변경할 수 없습니다.", failure);
+        }
+    }
+
+    // 처리 consumer, publish 된 명령을 순서대로 메모리 잔액에 적용한다.
+    private void processLoop() {
+        long next = processedSequence.get() + 1;
+        int idle = 0;
+        while (running || ringBuffer.isPublished(next)) {
+            long available = ringBuffer.highestPublished(next, next + ringBuffer.size() - 1);
+            if (available < next) {
+                idle = waitForPublish(next, idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                process(ringBuffer.get(sequence));
+            }
+            processedSequence.set(available);
+            processBatchSummary.record(available - next + 1);
+            next = available + 1;
+        }
+    }
+
+    // 잠깐 확인을 반복하다가, 그래도 없으면 요청 스레드가 깨울 때까지 잠든다.
+    private int waitForPublish(long next, int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+            return idle + 1;
+        }
+        processorSleeping = true;
+        if (!ringBuffer.isPublished(next) && running) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        processorSleeping = false;
+        return idle;
+    }
+
+    private void process(Slot slot) {
+        long now = System.currentTimeMillis();
+        long point = balanceOf(slot.userId, slot.userLoaded, slot.userStoredPoint);
+        slot.updateMillis = now;
+        if (slot.command != GET && failure != null) {
+            // 저장이 멈춘 뒤에 들어온 변경은 적용하지 않는다. 요청 스레드는 failure 를 보고 예외를 반환한다.
+            reject(slot, point);
+            return;
+        }
+        switch (slot.command) {
+            case CHARGE_COMMAND -> apply(slot, point + slot.amount, 0);
+            case USE_COMMAND -> {
+                // 포인트가 부족하지 않은지 체크
+                if (point < slot.amount) {
+                    reject(slot, point);
+                } else {
+                    apply(slot, point - slot.amount, 0);
+                }
+            }
+            case TRANSFER_COMMAND -> {
+                long target = balanceOf(slot.targetId, slot.targetLoaded, slot.targetStoredPoint);
+                if (point < slot.amount) {
+                    reject(slot, point);
+                } else {
+                    balances.put(slot.targetId, target + slot.amount);
+                    apply(slot, point - slot.amount, target + slot.amount);
+                }
+            }
+            default -> {
+                // 조회는 저장 consumer 가 건너뛰도록 applied=false 로 남긴다.
+                slot.applied = false;
+                slot.point = point;
+                slot.result.complete(true, point, 0, now);
+            }
+        }
+    }
+
+    private long balanceOf(long id, boolean loaded, long storedPoint) {
+        if (!balances.containsKey(id)) {
+            balances.put(id, loaded ? storedPoint : 0);
+        }
+        return balances.get(id, 0);
+    }
+
+    private void apply(Slot slot, long point, long targetPoint) {
+        balances.put(slot.userId, point);
+        slot.applied = true;
+        slot.point = point;
+        slot.targetPoint = targetPoint;
+        slot.result.complete(true, point, targetPoint, slot.updateMillis);
+    }
+
+    private void reject(Slot slot, long point) {
+        slot.applied = false;
+        slot.result.complete(false, point, 0, slot.updateMillis);
+    }
+
+    // 저장 consumer, 처리된 명령을 persistBatchSize 씩 저장한다.
+    private void persistLoop(AtomicLong persistedSequence, DistributionSummary batchSummary, BatchHandler handler) {
+        while (running || persistedSequence.get() < processedSequence.get() || processor.isAlive()) {
+            long from = persistedSequence.get() + 1;
+            long to = Math.min(processedSequence.get(), from + persistBatchSize - 1);
+            if (to < from) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                handler.persist(from, to);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // 저장 순번을 넘기지 않아서 칸이 재사용되지 않는다. 기다리던 요청은 링 버퍼에서 내보낸다.
+                failure = e;
+                ringBuffer.halt();
+                log.error("링 버퍼 명령 저장에 실패해서 엔진을 멈춥니다. sequence={}~{}", from, to, e);
+                return;
+            }
+            persistedSequence.set(to);
+            batchSummary.record(to - from + 1);
+        }
+    }
+
+    // 묶음 안에서 유저별 마지막 잔액만 저장한다.
+    private void persistBalances(long from, long to) throws InterruptedException {
+        Map<Long, Long> latest = new LinkedHashMap<>();
+        for (long sequence = from; sequence <= to; sequence++) {
+            Slot slot = ringBuffer.get(sequence);
+            if (!slot.applied) {
+                continue;
+            }
+            latest.put(slot.userId, slot.point);
+            if (slot.command == TRANSFER_COMMAND) {
+                latest.put(slot.targetId, slot.targetPoint);
+            }
+        }
+        // 유저마다 다시 시도하므로 일부 유저만 저장된 채로 다음 묶음으로 넘어가지 않는다.
+        for (Map.Entry<Long, Long> entry : latest.entrySet()) {
+            withRetry(() -> userPointRepository.insertOrUpdate(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    // 내역은 한 건씩 다시 시도하므로, 일부가 저장된 뒤 실패해도 이미 저장된 내역을 다시 저장하지 않는다.
+    private void persistHistories(long from, long to) throws InterruptedException {
+        for (long sequence = from; sequence <= to; sequence++) {
+            Slot slot = ringBuffer.get(sequence);
+            if (!slot.applied) {
+                continue;
+            }
+            switch (slot.command) {
+                case CHARGE_COMMAND -> withRetry(() -> pointHistoryRepository.insert(slot.userId, slot.amount, CHARGE, slot.updateMillis));
+                case USE_COMMAND -> withRetry(() -> pointHistoryRepository.insert(slot.userId, slot.amount, USE, slot.updateMillis));
+                case TRANSFER_COMMAND -> {
+                    withRetry(() -> pointHistoryRepository.insert(slot.userId, slot.amount, TRANSFER_OUT, slot.updateMillis));
+                    withRetry(() -> pointHistoryRepository.insert(slot.targetId, slot.amount, TRANSFER_IN, slot.updateMillis));
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static void withRetry(Runnable write) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_PERSIST_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("링 버퍼 명령 저장에 실패했습니다. 다시 시도합니다. attempt={}", attempt, e);
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private static DistributionSummary batchSummary(MeterRegistry meterRegistry, String consumer) {
+        return DistributionSummary.builder("point.engine.ring.batch")
+                .description("consumer 가 한 번에 처리한 명령 수")
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+    }
+
+    private static Thread start(Runnable loop, String name) {
+        Thread thread = new Thread(loop, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @FunctionalInterface
+    private interface BatchHandler {
+        void persist(long from, long to) throws InterruptedException;
+    }
+
+    /**
+     * 요청 스레드가 기다리는 결과
+     * - 처리 consumer 가 값을 채우고 done 을 세운 뒤 요청 스레드를 깨운다.
+     */
+    static final class PendingResult {
+
+        private final Thread waiter;
+
+        private boolean applied;
+
+        private long point;
+
+        private long targetPoint;
+
+        private long updateMillis;
+
+        private volatile boolean done;
+
+        PendingResult(Thread waiter) {
+            this.waiter = waiter;
+        }
+
+        private void complete(boolean applied, long point, long targetPoint, long updateMillis) {
+            this.applied = applied;
+            this.point = point;
+            this.targetPoint = targetPoint;
+            this.updateMillis = updateMillis;
+            this.done = true;
+            LockSupport.unpark(waiter);
+        }
+
+        private void await() {
+            for (int i = 0; i < SPIN_TRIES && !done; i++) {
+                Thread.onSpinWait();
+            }
+            while (!done) {
+                LockSupport.park(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.engine;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 샤드 엔진 설정
+ * - shards : 샤드 수, 0 이면 사용 가능한 CPU 수
+ * - queueCapacity : 샤드별 요청 대기열 크기, 가득 차면 요청이 자리가 날 때까지 기다린다.
+ */
+@ConfigurationProperties(prefix = "point.engine.sharded")
+public record ShardedEngineProperties(
+        @DefaultValue("0") int shards,
+        @DefaultValue("10000") int queueCapacity
+) {
+
+    public int shardCount() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+}
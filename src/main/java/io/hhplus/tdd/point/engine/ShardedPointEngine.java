@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_INSERT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_SELECT;
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+
+/**
+ * 유저를 샤드로 나눠서 샤드마다 한 스레드가 처리하는 엔진
+ * - 유저 id 의 해시로 샤드를 정하고, 그 유저의 잔액/내역은 해당 샤드만 읽고 쓴다.
+ * - 샤드끼리 공유하는 테이블이나 락이 없으므로, 처리량은 샤드 수(코어 수)에 따라 늘어난다.
+ * - 잔액과 내역은 샤드가 직접 보관하며 UserPointTable, PointHistoryTable 은 사용하지 않는다.
+ *   내역 조회도 historyRepository 를 통해 샤드에서 읽는다.
+ * - 서로 다른 샤드의 유저끼리 전송하면, 두 샤드를 번호 순서로 멈춰 세운 뒤 차감과 적립을 한 번에 반영한다.
+ *   그동안 두 샤드의 다른 요청은 기다리지만, 전송 중인 포인트가 어느 쪽 잔액에도 보이지 않는 순간은 없다.
+ * - point.engine.type=sharded
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "type", havingValue = "sharded")
+public class ShardedPointEngine implements PointEngine {
+
+    private final PointShard[] shards;
+
+    private final PointHistoryRepository historyRepository = new ShardedPointHistoryRepository();
+
+    private final PointMetrics pointMetrics;
+
+    public ShardedPointEngine(ShardedEngineProperties properties, PointMetrics pointMetrics, MeterRegistry meterRegistry) {
+        this.pointMetrics = pointMetrics;
+        int shardCount = properties.shardCount();
+        this.shards = new PointShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            PointShard shard = new PointShard(i, shardCount, properties.queueCapacity());
+            shards[i] = shard;
+
+            String tag = String.valueOf(i);
+            Gauge.builder("point.engine.shard.queue", shard, PointShard::queueSize)
+                    .description("샤드 대기열에서 실행을 기다리는 요청 수")
+                    .tag("shard", tag)
+                    .register(meterRegistry);
+            Gauge.builder("point.engine.shard.utilization", shard, PointShard::utilization)
+                    .description("직전 조회 이후 샤드 스레드가 요청을 실행한 시간의 비율")
+                    .tag("shard", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("point.engine.shard.busy", shard, PointShard::busySeconds)
+                    .description("샤드 스레드가 요청을 실행한 누적 시간(초)")
+                    .tag("shard", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("point.engine.shard.tasks", shard, PointShard::completedTasks)
+                    .description("샤드가 실행한 요청 수")
+                    .tag("shard", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public UserPoint getPoint(long id) {
+        return shardOf(id).getPoint(id);
+    }
+
+    @Override
+    public UserPoint charge(long id, long amount) {
+        return shardOf(id).deposit(id, amount, CHARGE);
+    }
+
+    @Override
+    public UserPoint use(long id, long amount) {
+        return shardOf(id).withdraw(id, amount, USE);
+    }
+
+    @Override
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        PointShard fromShard = shardOf(fromId);
+        PointShard toShard = shardOf(toId);
+        if (fromShard == toShard) {
+            return fromShard.transferWithin(fromId, toId, amount);
+        }
+        return PointShard.transferAcross(fromShard, fromId, toShard, toId, amount);
+    }
+
+    @Override
+    public PointHistoryRepository historyRepository() {
+        return historyRepository;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        for (PointShard shard : shards) {
+            shard.close();
+        }
+    }
+
+    // 연속된 id 가 한 샤드에 몰리지 않도록 섞은 뒤 나눈다.
+    int shardIndex(long id) {
+        return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), shards.length);
+    }
+
+    private PointShard shardOf(long id) {
+        return shards[shardIndex(id)];
+    }
+
+    // 유저의 샤드에서 내역을 읽고 쓰는 저장소
+    private class ShardedPointHistoryRepository implements PointHistoryRepository {
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            long startNanos = System.nanoTime();
+            try {
+                return shardOf(userId).insertHistory(userId, amount, type, updateMillis);
+            } finally {
+                pointMetrics.recordRepositoryCall(POINT_HISTORY_INSERT, startNanos);
+            }
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return selectByUserId(userId, PointHistoryQuery.firstPage(Integer.MAX_VALUE));
+        }
+
+        @Override
+        public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+            long startNanos = System.nanoTime();
+            try {
+                return shardOf(userId).selectHistories(userId, query);
+            } finally {
+                pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.enums;
+
+
+/**
+ * 포인트 내역 내보내기 형식
+ * - NDJSON : 한 줄에 PointHistory 하나씩 JSON 으로 기록
+ * - BINARY : 고정 길이(33 byte) 레코드, id / userId / amount / type / updateMillis 순서 (big-endian)
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    BINARY("application/octet-stream");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
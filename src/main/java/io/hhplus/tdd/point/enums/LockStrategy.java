@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.enums;
+
+
+/**
+ * 유저 락 관리 방식
+ * - PER_KEY : 유저마다 락을 만들고 계속 유지
+ * - STRIPED : 고정된 개수(2의 거듭제곱)의 락을 유저 id 해시로 나눠서 사용
+ * - REF_COUNTED : 유저마다 락을 만들고, 사용 중인 요청이 없으면 제거
+ */
+public enum LockStrategy {
+    PER_KEY, STRIPED, REF_COUNTED
+}
@@ -5,7 +5,9 @@ package io.hhplus.tdd.point.enums;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 다른 유저에게 보냄
+ * - TRANSFER_IN : 다른 유저에게서 받음
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN
 }
\ No newline at end of file
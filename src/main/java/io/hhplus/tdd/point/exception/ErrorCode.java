@@ -9,7 +9,17 @@ public enum ErrorCode {
 
     INVALID_CHARGE_POINT("0 미만의 포인트는 충전되지 않습니다.","400"),
     NOT_ENOUGH_POINT("포인트가 부족합니다.","400"),
-    ZERO_POINT("포인트가 0입니다.","400");
+    ZERO_POINT("포인트가 0입니다.","400"),
+    INVALID_CURSOR("잘못된 커서입니다.","400"),
+    INVALID_HISTORY_QUERY("잘못된 내역 조회 조건입니다.","400"),
+    INVALID_EXPORT_RANGE("내보낼 유저 범위가 올바르지 않습니다.","400"),
+    INVALID_BATCH_OPERATION("잘못된 일괄 처리 요청입니다.","400"),
+    INVALID_LOOKUP_IDS("조회할 유저 목록이 올바르지 않습니다.","400"),
+    INVALID_TRANSFER("잘못된 포인트 전송입니다.","400"),
+    INVALID_IDEMPOTENCY_KEY("잘못된 Idempotency-Key 입니다.","400"),
+    IDEMPOTENCY_IN_PROGRESS("같은 Idempotency-Key 의 요청이 아직 처리 중입니다.","409"),
+    TOO_BUSY("요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요.","429"),
+    LOCK_TIMEOUT("락 대기 시간이 초과되었습니다.","503");
 
     private final String message;
     private final String statusCode;
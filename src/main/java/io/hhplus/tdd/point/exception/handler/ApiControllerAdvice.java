@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
 
@@ -15,8 +17,15 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
 
+    // ErrorCode 의 statusCode 를 응답 상태로 사용한다. (TOO_BUSY 는 429, LOCK_TIMEOUT 은 503)
     @ExceptionHandler(value = PointException.class)
     public ResponseEntity<ErrorResponse> handlePointException(PointException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse(e.getErrorCode().getStatusCode(), e.getMessage()));
+        return ResponseEntity.status(Integer.parseInt(e.getErrorCode().getStatusCode())).body(new ErrorResponse(e.getErrorCode().getStatusCode(), e.getMessage()));
+    }
+
+    // 비동기 API 의 처리 시간이 point.async.timeout 을 넘은 경우
+    @ExceptionHandler(value = TimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleTimeoutException(TimeoutException e) {
+        return ResponseEntity.status(503).body(new ErrorResponse("503", "요청 처리 시간이 초과되었습니다."));
     }
 }
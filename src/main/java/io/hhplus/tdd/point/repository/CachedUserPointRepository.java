@@ -0,0 +1,226 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserPointTable 앞단의 write-behind 잔액 캐시
+ * - 읽기는 메모리의 잔액을 기준으로 응답하고, 없을 때만 테이블을 조회한다.
+ * - 쓰기는 메모리에만 반영하고, 유저별 마지막 값만 모아서 주기적으로 테이블에 반영한다.
+ * - 테이블 쓰기는 한 건에 최대 300ms 걸리므로, 변경된 유저를 flushParallelism 개의 스레드로 나눠서 동시에 반영한다.
+ * - flush 가 끝난 뒤 보관 중인 유저가 maximumSize 를 넘으면, 테이블에 반영된 유저부터 넘은 만큼 제거한다.
+ *   아직 반영되지 않은 유저는 제거하지 않는다.
+ * - 테이블을 읽는 동안 그 유저의 쓰기나 제거가 있었으면, 읽은 값은 넣지 않고 테이블에서 다시 읽는다.
+ *   느린 조회가 끝나기 전에 쓰기, flush, 제거가 모두 일어나도 지난 값이 캐시에 남지 않는다.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "point.cache", name = "enabled", havingValue = "true")
+public class CachedUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedUserPointRepository.class);
+
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final UserPointRepository delegate;
+
+    // 조회의 기준이 되는 잔액
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+
+    // 아직 테이블에 반영되지 않은 변경분, 유저별로 마지막 값만 남긴다.
+    private final Map<Long, PendingWrite> dirty = new ConcurrentHashMap<>();
+
+    // 유저별 쓰기/제거 횟수, 테이블을 읽는 동안 쓰기나 제거가 있었는지 확인한다.
+    // 유저 수만큼 늘어나지 않도록 id 의 해시로 나눈 칸에 센다. 같은 칸의 다른 유저가 바뀌면 한 번 더 읽을 뿐이다.
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    // 주기적인 flush 와 flush() 호출이 동시에 테이블에 쓰지 않도록 막는다.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledExecutorService flusher;
+
+    // 변경분을 테이블에 반영하는 스레드
+    private final ExecutorService flushWorkers;
+
+    private final int maximumSize;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Timer flushLagTimer;
+
+    public CachedUserPointRepository(@Qualifier(UserPointRepository.STORAGE) UserPointRepository delegate,
+                                     UserPointCacheProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maximumSize = properties.maximumSize();
+        this.hitCounter = Counter.builder("point.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("point.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.flushLagTimer = Timer.builder("point.cache.flush.lag")
+                .description("변경 후 UserPointTable 에 반영되기까지 걸린 시간")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("point.cache.evictions")
+                .description("보관 유저 수가 maximumSize 를 넘어서 제거한 유저 수")
+                .register(meterRegistry);
+        Gauge.builder("point.cache.dirty", dirty, Map::size).register(meterRegistry);
+        Gauge.builder("point.cache.size", balances, Map::size).register(meterRegistry);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        this.flushWorkers = Executors.newFixedThreadPool(properties.flushParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "user-point-flush-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalMillis = properties.flushInterval().toMillis();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        UserPoint cached = balances.get(id);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        while (true) {
+            long epoch = epochs.get(epochIndex(id));
+            UserPoint loaded = delegate.selectById(id);
+            // 조회하는 사이 쓰기가 먼저 반영됐다면 쓰기 값을 우선한다.
+            // 쓰기가 반영된 뒤 제거까지 됐다면 읽은 값은 이미 지난 값이므로 넣지 않고 테이블에서 다시 읽는다.
+            UserPoint current = balances.compute(id, (key, present) -> {
+                if (present != null) {
+                    return present;
+                }
+                return epochs.get(epochIndex(key)) == epoch ? loaded : null;
+            });
+            if (current != null) {
+                return current;
+            }
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        long now = System.nanoTime();
+
+        // 잔액과 변경분이 같은 순서로 반영되도록 compute 안에서 함께 갱신
+        balances.compute(id, (key, current) -> {
+            epochs.incrementAndGet(epochIndex(key));
+            dirty.merge(id, new PendingWrite(userPoint, now),
+                    (pending, next) -> new PendingWrite(next.userPoint(), pending.dirtySinceNanos()));
+            return userPoint;
+        });
+        return userPoint;
+    }
+
+    /**
+     * 쌓여있는 변경분을 모두 테이블에 반영한다.
+     * 종료 시점처럼 반영이 끝났음을 보장해야 할 때 호출한다.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>(dirty.size());
+            for (Long id : dirty.keySet()) {
+                PendingWrite pending = dirty.remove(id);
+                if (pending != null) {
+                    writes.add(CompletableFuture.runAsync(() -> write(id, pending), flushWorkers));
+                }
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+            // 이번 flush 의 반영이 모두 끝난 뒤에 제거해야, 제거 후 다시 조회할 때 테이블에서 이전 값을 읽지 않는다.
+            evictClean();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        return balances.size();
+    }
+
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        flushWorkers.shutdown();
+    }
+
+    private static int epochIndex(long id) {
+        return Long.hashCode(id * 0x9E3779B97F4A7C15L) & (EPOCH_STRIPES - 1);
+    }
+
+    private void write(long id, PendingWrite pending) {
+        try {
+            delegate.insertOrUpdate(id, pending.userPoint().point());
+            flushLagTimer.record(System.nanoTime() - pending.dirtySinceNanos(), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // 그 사이 새로운 값이 들어오지 않았다면 다음 flush 때 다시 시도
+            dirty.putIfAbsent(id, pending);
+            log.warn("유저 포인트 반영에 실패했습니다. id={}", id, e);
+        }
+    }
+
+    // 보관 중인 유저가 maximumSize 를 넘으면 테이블에 반영된 유저부터 넘은 만큼 제거한다.
+    private void evictClean() {
+        int excess = balances.size() - maximumSize;
+        for (Iterator<Long> ids = balances.keySet().iterator(); excess > 0 && ids.hasNext(); ) {
+            Long id = ids.next();
+            // 변경분은 balances.compute 안에서 함께 쌓이므로, 같은 key 의 computeIfPresent 안에서 확인하면 반영 전 값을 제거하지 않는다.
+            boolean[] evicted = new boolean[1];
+            balances.computeIfPresent(id, (key, current) -> {
+                if (dirty.containsKey(key)) {
+                    return current;
+                }
+                epochs.incrementAndGet(epochIndex(key));
+                evicted[0] = true;
+                return null;
+            });
+            if (evicted[0]) {
+                excess--;
+                evictionCounter.increment();
+            }
+        }
+    }
+
+    private record PendingWrite(UserPoint userPoint, long dirtySinceNanos) {
+    }
+}
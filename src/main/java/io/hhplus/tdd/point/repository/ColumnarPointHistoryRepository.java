@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_INSERT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_SELECT;
+
+/**
+ * 내역을 유저별 컬럼(primitive 배열)으로 보관하는 PointHistoryRepository
+ * - PointHistoryTable 을 사용하지 않고, 내역을 PointHistory 객체 대신 PointHistoryColumns 에 직접 보관한다.
+ * - 내역 한 건에 객체 헤더와 참조 없이 대부분 13 바이트만 사용하고, 조회 결과로 반환하는 내역만 PointHistory 로 만든다.
+ * - 내역 id 는 PointHistoryTable 과 같은 규칙(1부터 저장 순서대로)으로 부여한다.
+ * - point.history.storage=columnar
+ */
+@Component
+@Qualifier(PointHistoryRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.history", name = "storage", havingValue = "columnar")
+@RequiredArgsConstructor
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointMetrics pointMetrics;
+
+    private final Map<Long, PointHistoryColumns> columnsByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long startNanos = System.nanoTime();
+        try {
+            return columnsByUser.computeIfAbsent(userId, PointHistoryColumns::new)
+                    .append(sequence, amount, type, updateMillis);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_INSERT, startNanos);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long startNanos = System.nanoTime();
+        PointHistoryColumns columns = columnsByUser.get(userId);
+        try {
+            return columns == null ? List.of() : columns.toList();
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        long startNanos = System.nanoTime();
+        PointHistoryColumns columns = columnsByUser.get(userId);
+        try {
+            return columns == null ? List.of() : columns.select(query);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
+    }
+
+    // 컬럼 배열로 잡아둔 바이트, 유저별 PointHistoryColumns 자체의 크기는 제외
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (PointHistoryColumns columns : columnsByUser.values()) {
+            bytes += columns.allocatedBytes();
+        }
+        return bytes;
+    }
+}
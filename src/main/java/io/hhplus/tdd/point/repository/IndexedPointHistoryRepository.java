@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_INSERT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_SELECT;
+
+/**
+ * 유저별 인덱스를 함께 유지하는 PointHistoryRepository
+ * - 저장은 PointHistoryTable 에 하고, 저장된 내역을 유저별 인덱스에도 추가한다.
+ * - 조회는 테이블 전체를 훑지 않고 인덱스에서 해당 유저의 내역만 읽는다.
+ * - point.history.storage=indexed (기본값)
+ */
+@Component
+@Qualifier(PointHistoryRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.history", name = "storage", havingValue = "indexed", matchIfMissing = true)
+@RequiredArgsConstructor
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+
+    private final PointMetrics pointMetrics;
+
+    private final Map<Long, PointHistoryChunkList> index = new ConcurrentHashMap<>();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long startNanos = System.nanoTime();
+        try {
+            PointHistory pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+            index.computeIfAbsent(userId, k -> new PointHistoryChunkList()).append(pointHistory);
+            return pointHistory;
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_INSERT, startNanos);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long startNanos = System.nanoTime();
+        PointHistoryChunkList histories = index.get(userId);
+        try {
+            return histories == null ? List.of() : histories.toList();
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        long startNanos = System.nanoTime();
+        PointHistoryChunkList histories = index.get(userId);
+        try {
+            return histories == null ? List.of() : histories.select(query);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
+    }
+}
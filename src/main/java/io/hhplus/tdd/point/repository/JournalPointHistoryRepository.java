@@ -0,0 +1,281 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_INSERT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_SELECT;
+
+/**
+ * 메모리 매핑된 append-only segment 파일에 내역을 기록하는 PointHistoryRepository
+ * - 내역은 PointHistoryJournalSegment 에 고정 길이 레코드로 기록되어 재시작 후에도 남고, heap 에는 유저별 id 인덱스만 둔다.
+ * - segment 가 가득 차면 다음 segment 파일을 만들고, 내역 id 로 segment 와 위치를 바로 찾는다.
+ * - 시작할 때 segment 를 순서대로 읽어서 유저별 인덱스를 다시 만들고, 처음으로 온전하지 않은 레코드에서 멈춘다.
+ *   그 뒤의 내용은 지우고 다음 내역부터 그 자리에 기록한다. (중간에 끊긴 마지막 기록은 버린다.)
+ * - 조회는 인덱스의 id 로 매핑된 버퍼를 바로 읽고, 반환하는 내역만 PointHistory 로 만든다.
+ * - 기록은 OS 페이지 캐시에 반영되므로 프로세스가 죽어도 남지만, 장비 장애까지 견디려면 force() 가 필요하다. 종료 시 force() 한다.
+ * - point.history.storage=journal
+ */
+@Component
+@Qualifier(PointHistoryRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.history", name = "storage", havingValue = "journal")
+public class JournalPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPointHistoryRepository.class);
+
+    private final PointMetrics pointMetrics;
+
+    private final Path directory;
+
+    private final int segmentCapacity;
+
+    // id 순서대로 정렬된 segment 목록, 새 segment 가 생기면 배열을 바꿔서 공개한다.
+    private volatile PointHistoryJournalSegment[] segments;
+
+    private final Map<Long, UserIndex> indexByUser = new ConcurrentHashMap<>();
+
+    // id 부여와 기록이 같은 순서로 일어나도록 막는다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private long nextId;
+
+    public JournalPointHistoryRepository(PointHistoryJournalProperties properties, PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+        this.directory = Path.of(properties.directory());
+        long capacity = properties.segmentSize().toBytes() / PointHistoryJournalSegment.RECORD_SIZE;
+        if (capacity < 1 || capacity * PointHistoryJournalSegment.RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segment 크기는 %d 바이트 이상 2GB 미만이어야 합니다.".formatted(PointHistoryJournalSegment.RECORD_SIZE));
+        }
+        this.segmentCapacity = (int) capacity;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 journal 을 열 수 없습니다. directory=" + directory, e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long startNanos = System.nanoTime();
+        appendLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(nextId, userId, amount, type, updateMillis);
+            segmentForAppend(nextId).write(pointHistory);
+            nextId++;
+            // 기록이 끝난 뒤 인덱스에 추가해서, 조회는 항상 기록이 끝난 내역만 읽는다.
+            indexByUser.computeIfAbsent(userId, key -> new UserIndex()).add(pointHistory.id());
+            return pointHistory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 내역 segment 를 만들 수 없습니다.", e);
+        } finally {
+            appendLock.unlock();
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_INSERT, startNanos);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectByUserId(userId, new PointHistoryQuery(0, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, null));
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        long startNanos = System.nanoTime();
+        try {
+            UserIndex index = indexByUser.get(userId);
+            if (index == null) {
+                return List.of();
+            }
+            int count = index.size;
+            long[] ids = index.ids;
+            int type = query.type() == null ? -1 : query.type().ordinal();
+            List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), count));
+
+            PointHistoryJournalSegment segment = null;
+            for (int i = positionAfter(ids, count, query.afterId()); i < count && result.size() < query.limit(); i++) {
+                long id = ids[i];
+                if (segment == null || !segment.contains(id)) {
+                    segment = segmentOf(id);
+                }
+                long millis = segment.updateMillis(id);
+                if (millis >= query.fromMillis() && millis <= query.toMillis() && (type < 0 || segment.type(id) == type)) {
+                    result.add(segment.read(id));
+                }
+            }
+            return Collections.unmodifiableList(result);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
+    }
+
+    @Override
+    public long lastId() {
+        appendLock.lock();
+        try {
+            return nextId - 1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 기록된 내역을 디스크에 반영한다.
+     */
+    public void force() {
+        for (PointHistoryJournalSegment segment : segments) {
+            segment.force();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            for (PointHistoryJournalSegment segment : segments) {
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // segment 를 id 순서대로 읽어서 유저별 인덱스를 만들고, 다음 내역을 기록할 위치를 정한다.
+    private void recover() throws IOException {
+        long startNanos = System.nanoTime();
+        List<PointHistoryJournalSegment> recovered = new ArrayList<>();
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(PointHistoryJournalSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long id = 1;
+        boolean truncated = false;
+        for (Path path : paths) {
+            if (truncated) {
+                // 끊긴 위치 뒤에 있는 segment 는 이어지지 않으므로 사용하지 않는다.
+                Path corrupted = path.resolveSibling(path.getFileName() + ".corrupted");
+                Files.move(path, corrupted);
+                log.warn("이어지지 않는 포인트 내역 segment 를 제외했습니다. path={}", corrupted);
+                continue;
+            }
+            PointHistoryJournalSegment segment = PointHistoryJournalSegment.open(path);
+            if (segment.capacity() == 0) {
+                // 파일만 만들어지고 매핑 전에 멈춘 segment
+                segment.close();
+                Files.delete(path);
+                continue;
+            }
+            if (segment.baseId() != id) {
+                segment.close();
+                Path corrupted = path.resolveSibling(path.getFileName() + ".corrupted");
+                Files.move(path, corrupted);
+                log.warn("이어지지 않는 포인트 내역 segment 를 제외했습니다. path={}", corrupted);
+                truncated = true;
+                continue;
+            }
+            recovered.add(segment);
+            while (segment.contains(id) && segment.isValid(id)) {
+                indexByUser.computeIfAbsent(segment.userId(id), key -> new UserIndex()).add(id);
+                id++;
+            }
+            if (segment.contains(id)) {
+                segment.clearFrom(id);
+                truncated = true;
+            }
+        }
+
+        this.nextId = id;
+        this.segments = recovered.toArray(PointHistoryJournalSegment[]::new);
+        log.info("포인트 내역 journal 을 복구했습니다. 내역 {} 건, segment {} 개, {} ms",
+                id - 1, recovered.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private PointHistoryJournalSegment segmentForAppend(long id) throws IOException {
+        PointHistoryJournalSegment[] current = segments;
+        if (current.length > 0 && current[current.length - 1].contains(id)) {
+            return current[current.length - 1];
+        }
+        PointHistoryJournalSegment created = PointHistoryJournalSegment.create(directory, id, segmentCapacity);
+        PointHistoryJournalSegment[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = created;
+        segments = grown;
+        return created;
+    }
+
+    // id 를 담은 segment (baseId 오름차순이므로 이분 탐색)
+    private PointHistoryJournalSegment segmentOf(long id) {
+        PointHistoryJournalSegment[] current = segments;
+        int low = 0;
+        int high = current.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (current[mid].baseId() <= id) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return current[low];
+    }
+
+    // id 가 afterId 보다 큰 첫 위치
+    private static int positionAfter(long[] ids, int count, long afterId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 한 유저의 내역 id 목록, id 오름차순으로 쌓인다.
+     * 추가는 appendLock 안에서만 한다. 배열을 채운 뒤 size 를 늘리므로, 읽기는 size 를 먼저 읽고 그 수만큼만 읽는다.
+     */
+    private static final class UserIndex {
+
+        private volatile long[] ids = new long[8];
+
+        private volatile int size;
+
+        private void add(long id) {
+            long[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+                ids = current;
+            }
+            current[size] = id;
+            size = size + 1;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 한 유저의 포인트 내역을 담는 append-only 리스트
+ * - 8, 16, 32 ... 처럼 두 배씩 커지는 chunk 에 담아서, 늘어날 때 기존 내역을 복사하지 않는다.
+ * - 쓰기는 append 끼리만 동기화하고, 읽기는 락 없이 size 까지만 읽는다.
+ * - 유저별 내역은 PointService 의 유저 락 안에서 저장되므로 id 오름차순으로 쌓인다.
+ */
+class PointHistoryChunkList {
+
+    private static final int FIRST_CHUNK_SHIFT = 3;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+
+    private volatile PointHistory[][] chunks = new PointHistory[0][];
+
+    // 읽기 가능한 내역 수, 내역을 채운 뒤에 증가시킨다.
+    private volatile int size;
+
+    synchronized void append(PointHistory pointHistory) {
+        int position = size;
+        int chunkIndex = chunkIndex(position);
+        PointHistory[][] current = chunks;
+        if (chunkIndex == current.length) {
+            PointHistory[][] grown = new PointHistory[current.length + 1][];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[chunkIndex] = new PointHistory[FIRST_CHUNK_SIZE << chunkIndex];
+            chunks = grown;
+            current = grown;
+        }
+        current[chunkIndex][offset(position, chunkIndex)] = pointHistory;
+        size = position + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    PointHistory get(int position) {
+        int chunkIndex = chunkIndex(position);
+        return chunks[chunkIndex][offset(position, chunkIndex)];
+    }
+
+    List<PointHistory> toList() {
+        int count = size;
+        if (count == 0) {
+            return List.of();
+        }
+        PointHistory[][] snapshot = chunks;
+        List<PointHistory> result = new ArrayList<>(count);
+        for (int chunkIndex = 0, copied = 0; copied < count; chunkIndex++) {
+            PointHistory[] chunk = snapshot[chunkIndex];
+            int length = Math.min(chunk.length, count - copied);
+            for (int i = 0; i < length; i++) {
+                result.add(chunk[i]);
+            }
+            copied += length;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // afterId 다음 위치부터 조건에 맞는 내역을 limit 건까지만 읽는다.
+    List<PointHistory> select(PointHistoryQuery query) {
+        int count = size;
+        List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), count));
+        for (int position = positionAfter(query.afterId(), count); position < count && result.size() < query.limit(); position++) {
+            PointHistory pointHistory = get(position);
+            if (query.matches(pointHistory)) {
+                result.add(pointHistory);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // id 가 afterId 보다 큰 첫 위치 (id 오름차순이므로 이분 탐색)
+    private int positionAfter(long afterId, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid).id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // position + 8 이 [8 * 2^k, 8 * 2^(k+1)) 범위에 있으면 k 번째 chunk
+    private static int chunkIndex(int position) {
+        return 31 - Integer.numberOfLeadingZeros((position + FIRST_CHUNK_SIZE) >>> FIRST_CHUNK_SHIFT);
+    }
+
+    private static int offset(int position, int chunkIndex) {
+        return position + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunkIndex);
+    }
+}
@@ -0,0 +1,242 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한 유저의 포인트 내역을 컬럼별 primitive 배열로 담는 append-only 저장소
+ * - 내역 한 건을 PointHistory 객체 대신 id, amount, updateMillis, type 네 컬럼에 나눠 담는다.
+ *   userId 는 유저마다 하나만 있으면 되므로 따로 담지 않는다.
+ * - long 컬럼은 chunk 의 첫 값과의 차이를 int 로 담아서, 내역 한 건이 13 바이트(int 3개 + byte)를 차지한다.
+ *   차이가 int 범위를 넘는 값이 들어온 chunk 의 컬럼만 long 배열로 바꾼다.
+ * - chunk 는 8, 16 ... 256 까지 두 배씩 커지고 이후로는 256 건씩 추가해서, 늘어날 때 기존 내역을 복사하지 않고 빈 칸도 많이 남기지 않는다.
+ * - 조건 검사는 배열에서 바로 하고, 조회 결과로 반환할 내역만 PointHistory 로 만든다.
+ * - 쓰기는 append 끼리만 동기화하고, 읽기는 락 없이 size 까지만 읽는다.
+ */
+class PointHistoryColumns {
+
+    private static final int FIRST_CHUNK_SHIFT = 3;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+    private static final int MAX_CHUNK_SHIFT = 8;
+    private static final int MAX_CHUNK_SIZE = 1 << MAX_CHUNK_SHIFT;
+
+    // 두 배씩 커지는 chunk 의 수와 그 chunk 들에 담기는 내역 수 (8 + 16 + ... + 256)
+    private static final int GROWING_CHUNKS = MAX_CHUNK_SHIFT - FIRST_CHUNK_SHIFT + 1;
+    private static final int GROWING_ROWS = (MAX_CHUNK_SIZE << 1) - FIRST_CHUNK_SIZE;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    // 읽기 가능한 내역 수, 내역을 채운 뒤에 증가시킨다.
+    private volatile int size;
+
+    PointHistoryColumns(long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 다음 id 를 부여해서 내역을 추가한다.
+     * id 를 유저 단위 동기화 안에서 부여하므로, 유저별 내역은 항상 id 오름차순으로 쌓인다.
+     */
+    synchronized PointHistory append(AtomicLong sequence, long amount, TransactionType type, long updateMillis) {
+        long id = sequence.getAndIncrement();
+        int position = size;
+        int chunkIndex = chunkIndex(position);
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            Chunk[] grown = new Chunk[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            grown[chunkIndex] = new Chunk(chunkSize(chunkIndex), id, amount, updateMillis);
+            chunks = grown;
+            current = grown;
+        }
+        current[chunkIndex].set(offset(position, chunkIndex), id, amount, type, updateMillis);
+        size = position + 1;
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 채워지지 않은 칸을 포함해 컬럼 배열로 잡아둔 바이트
+    long allocatedBytes() {
+        long bytes = 0;
+        for (Chunk chunk : chunks) {
+            bytes += chunk.allocatedBytes();
+        }
+        return bytes;
+    }
+
+    List<PointHistory> toList() {
+        int count = size;
+        if (count == 0) {
+            return List.of();
+        }
+        Chunk[] snapshot = chunks;
+        List<PointHistory> result = new ArrayList<>(count);
+        for (int chunkIndex = 0, copied = 0; copied < count; chunkIndex++) {
+            Chunk chunk = snapshot[chunkIndex];
+            int length = Math.min(chunk.capacity, count - copied);
+            for (int i = 0; i < length; i++) {
+                result.add(chunk.materialize(userId, i));
+            }
+            copied += length;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // afterId 다음 위치부터 조건에 맞는 내역을 limit 건까지만 읽는다.
+    List<PointHistory> select(PointHistoryQuery query) {
+        int count = size;
+        Chunk[] snapshot = chunks;
+        List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), count));
+        int position = positionAfter(snapshot, query.afterId(), count);
+        int chunkIndex = chunkIndex(position);
+        int offset = offset(position, chunkIndex);
+        int type = query.type() == null ? -1 : query.type().ordinal();
+
+        while (position < count && result.size() < query.limit()) {
+            Chunk chunk = snapshot[chunkIndex];
+            int end = Math.min(chunk.capacity, offset + count - position);
+            for (int i = offset; i < end && result.size() < query.limit(); i++) {
+                long millis = chunk.millis.get(i);
+                if (millis >= query.fromMillis() && millis <= query.toMillis() && (type < 0 || chunk.types[i] == type)) {
+                    result.add(chunk.materialize(userId, i));
+                }
+            }
+            position += end - offset;
+            chunkIndex++;
+            offset = 0;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // id 가 afterId 보다 큰 첫 위치 (id 오름차순이므로 이분 탐색)
+    private static int positionAfter(Chunk[] snapshot, long afterId, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int chunkIndex = chunkIndex(mid);
+            if (snapshot[chunkIndex].ids.get(offset(mid, chunkIndex)) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // position + 8 이 [8 * 2^k, 8 * 2^(k+1)) 범위에 있으면 k 번째 chunk, 두 배씩 커지는 chunk 이후로는 256 건씩
+    private static int chunkIndex(int position) {
+        if (position >= GROWING_ROWS) {
+            return GROWING_CHUNKS + ((position - GROWING_ROWS) >>> MAX_CHUNK_SHIFT);
+        }
+        return 31 - Integer.numberOfLeadingZeros((position + FIRST_CHUNK_SIZE) >>> FIRST_CHUNK_SHIFT);
+    }
+
+    private static int offset(int position, int chunkIndex) {
+        if (position >= GROWING_ROWS) {
+            return (position - GROWING_ROWS) & (MAX_CHUNK_SIZE - 1);
+        }
+        return position + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunkIndex);
+    }
+
+    private static int chunkSize(int chunkIndex) {
+        return chunkIndex < GROWING_CHUNKS ? FIRST_CHUNK_SIZE << chunkIndex : MAX_CHUNK_SIZE;
+    }
+
+    private static final class Chunk {
+
+        private final int capacity;
+        private final LongColumn ids;
+        private final LongColumn amounts;
+        private final LongColumn millis;
+        private final byte[] types;
+
+        private Chunk(int capacity, long firstId, long firstAmount, long firstMillis) {
+            this.capacity = capacity;
+            this.ids = new LongColumn(capacity, firstId);
+            this.amounts = new LongColumn(capacity, firstAmount);
+            this.millis = new LongColumn(capacity, firstMillis);
+            this.types = new byte[capacity];
+        }
+
+        private void set(int offset, long id, long amount, TransactionType type, long updateMillis) {
+            ids.set(offset, id);
+            amounts.set(offset, amount);
+            millis.set(offset, updateMillis);
+            types[offset] = (byte) type.ordinal();
+        }
+
+        private PointHistory materialize(long userId, int offset) {
+            return new PointHistory(ids.get(offset), userId, amounts.get(offset), TYPES[types[offset]], millis.get(offset));
+        }
+
+        private long allocatedBytes() {
+            return ids.allocatedBytes() + amounts.allocatedBytes() + millis.allocatedBytes() + types.length;
+        }
+    }
+
+    /**
+     * long 값을 base 와의 차이(int)로 담는 컬럼
+     * 차이가 int 범위를 넘는 값이 들어오면 그때까지의 값을 long 배열로 옮기고, 이후로는 long 배열에 담는다.
+     */
+    private static final class LongColumn {
+
+        private final long base;
+
+        private final int[] deltas;
+
+        // 읽기 스레드가 옮겨진 값까지 함께 보도록 volatile 로 공개한다.
+        private volatile long[] values;
+
+        private LongColumn(int capacity, long base) {
+            this.base = base;
+            this.deltas = new int[capacity];
+        }
+
+        private void set(int offset, long value) {
+            long[] current = values;
+            if (current == null) {
+                long delta = value - base;
+                // 뺄셈이 넘치지 않았고 int 범위 안이면 차이로 담는다.
+                if (((value ^ base) & (value ^ delta)) >= 0 && delta == (int) delta) {
+                    deltas[offset] = (int) delta;
+                    return;
+                }
+                current = widen(offset);
+            }
+            current[offset] = value;
+        }
+
+        private long get(int offset) {
+            long[] current = values;
+            return current != null ? current[offset] : base + deltas[offset];
+        }
+
+        private long[] widen(int filled) {
+            long[] widened = new long[deltas.length];
+            for (int i = 0; i < filled; i++) {
+                widened[i] = base + deltas[i];
+            }
+            values = widened;
+            return widened;
+        }
+
+        private long allocatedBytes() {
+            long[] current = values;
+            return (long) deltas.length * Integer.BYTES + (current == null ? 0 : (long) current.length * Long.BYTES);
+        }
+    }
+}
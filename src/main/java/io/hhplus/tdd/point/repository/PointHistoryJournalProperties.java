@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 포인트 내역 journal 저장소 설정
+ * - directory : segment 파일을 두는 디렉터리
+ * - segmentSize : segment 파일 하나의 크기, 가득 차면 다음 segment 파일을 만든다.
+ */
+@ConfigurationProperties(prefix = "point.history.journal")
+public record PointHistoryJournalProperties(
+        @DefaultValue("data/point-history") String directory,
+        @DefaultValue("64MB") DataSize segmentSize
+) {
+}
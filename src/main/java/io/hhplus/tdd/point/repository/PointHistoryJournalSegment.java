@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.enums.TransactionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 내역 journal 의 segment 파일 하나
+ * - 파일 전체를 MappedByteBuffer 로 매핑하고, 내역을 고정 길이(40 바이트) 레코드로 slot 순서대로 기록한다.
+ * - 레코드 : id(8) userId(8) amount(8) updateMillis(8) type(1) padding(3) checksum(4)
+ * - 파일 이름은 첫 slot 의 내역 id 이고, slot 번호는 id - baseId 이다.
+ * - checksum 은 앞의 36 바이트에 대한 CRC32C 로, 중간에 끊긴 레코드를 복구 시 걸러내는 데 쓴다.
+ * - 읽기는 매핑된 버퍼에서 위치를 지정해 바로 읽으므로 파일 내용을 heap 으로 복사하지 않는다.
+ */
+final class PointHistoryJournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 40;
+
+    static final String SUFFIX = ".segment";
+
+    private static final int USER_ID_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int MILLIS_OFFSET = 24;
+    private static final int TYPE_OFFSET = 32;
+    private static final int CHECKSUM_OFFSET = 36;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path path;
+
+    private final long baseId;
+
+    private final int capacity;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private PointHistoryJournalSegment(Path path, long baseId, int capacity) throws IOException {
+        this.path = path;
+        this.baseId = baseId;
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+    }
+
+    static PointHistoryJournalSegment create(Path directory, long baseId, int capacity) throws IOException {
+        return new PointHistoryJournalSegment(directory.resolve(fileName(baseId)), baseId, capacity);
+    }
+
+    static PointHistoryJournalSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long baseId = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        int capacity = (int) (path.toFile().length() / RECORD_SIZE);
+        return new PointHistoryJournalSegment(path, baseId, capacity);
+    }
+
+    static String fileName(long baseId) {
+        return "%020d%s".formatted(baseId, SUFFIX);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long baseId() {
+        return baseId;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean contains(long id) {
+        return id >= baseId && id - baseId < capacity;
+    }
+
+    // id 자리에 내역을 기록한다. checksum 을 마지막에 기록해서 끊긴 레코드는 복구 시 걸러진다.
+    void write(PointHistory pointHistory) {
+        int position = position(pointHistory.id());
+        buffer.putLong(position, pointHistory.id());
+        buffer.putLong(position + USER_ID_OFFSET, pointHistory.userId());
+        buffer.putLong(position + AMOUNT_OFFSET, pointHistory.amount());
+        buffer.putLong(position + MILLIS_OFFSET, pointHistory.updateMillis());
+        buffer.put(position + TYPE_OFFSET, (byte) pointHistory.type().ordinal());
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(position));
+    }
+
+    PointHistory read(long id) {
+        int position = position(id);
+        return new PointHistory(id, buffer.getLong(position + USER_ID_OFFSET), buffer.getLong(position + AMOUNT_OFFSET),
+                TYPES[buffer.get(position + TYPE_OFFSET)], buffer.getLong(position + MILLIS_OFFSET));
+    }
+
+    long userId(long id) {
+        return buffer.getLong(position(id) + USER_ID_OFFSET);
+    }
+
+    long updateMillis(long id) {
+        return buffer.getLong(position(id) + MILLIS_OFFSET);
+    }
+
+    int type(long id) {
+        return buffer.get(position(id) + TYPE_OFFSET);
+    }
+
+    // slot 에 id 가 맞고 checksum 이 일치하는 온전한 레코드가 있는지 확인한다.
+    boolean isValid(long id) {
+        int position = position(id);
+        return buffer.getLong(position) == id
+                && buffer.get(position + TYPE_OFFSET) >= 0
+                && buffer.get(position + TYPE_OFFSET) < TYPES.length
+                && buffer.getInt(position + CHECKSUM_OFFSET) == checksum(position);
+    }
+
+    // id 자리부터 끝까지 지운다. 이전에 기록됐던 레코드가 이후 복구 때 다시 살아나지 않도록 한다.
+    void clearFrom(long id) {
+        for (int position = position(id), end = capacity * RECORD_SIZE; position < end; position += Long.BYTES) {
+            buffer.putLong(position, 0L);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int position(long id) {
+        return (int) (id - baseId) * RECORD_SIZE;
+    }
+
+    private int checksum(int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+}
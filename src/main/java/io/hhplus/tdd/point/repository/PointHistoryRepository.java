@@ -1,12 +1,36 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
 import io.hhplus.tdd.point.enums.TransactionType;
 
 import java.util.List;
 
 public interface PointHistoryRepository {
+
+    // 실제 저장을 담당하는 저장소(table, indexed)의 qualifier, write-behind 처럼 감싸는 저장소가 주입받는다.
+    String STORAGE = "pointHistoryStorage";
+
     PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
 
     List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 저장된 마지막 내역 id, 저장된 내역이 없으면 0
+     * 재시작 후에도 내역이 남는 저장소는 재정의해서, 미리 id 를 부여하는 저장소가 이어서 부여하도록 한다.
+     */
+    default long lastId() {
+        return 0;
+    }
+
+    /**
+     * 조건에 맞는 유저의 내역을 id 오름차순으로 최대 query.limit() 건 조회한다.
+     * 기본 구현은 전체 내역을 걸러내므로, 인덱스를 가진 저장소는 범위만 읽도록 재정의한다.
+     */
+    default List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        return selectAllByUserId(userId).stream()
+                .filter(query::matches)
+                .limit(query.limit())
+                .toList();
+    }
 }
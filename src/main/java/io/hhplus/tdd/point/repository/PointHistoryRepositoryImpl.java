@@ -1,26 +1,50 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.common.PointMetrics;
 import io.hhplus.tdd.point.domain.PointHistory;
 import io.hhplus.tdd.point.enums.TransactionType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_INSERT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.POINT_HISTORY_SELECT;
+
+/**
+ * PointHistoryTable 을 그대로 사용하는 PointHistoryRepository
+ * - point.history.storage=table
+ */
 @Component
+@Qualifier(PointHistoryRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.history", name = "storage", havingValue = "table")
 @RequiredArgsConstructor
 public class PointHistoryRepositoryImpl implements PointHistoryRepository {
 
     private final PointHistoryTable pointHistoryTable;
 
+    private final PointMetrics pointMetrics;
+
     @Override
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        long startNanos = System.nanoTime();
+        try {
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_INSERT, startNanos);
+        }
     }
 
     @Override
     public List<PointHistory> selectAllByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        long startNanos = System.nanoTime();
+        try {
+            return pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            pointMetrics.recordRepositoryCall(POINT_HISTORY_SELECT, startNanos);
+        }
     }
 }
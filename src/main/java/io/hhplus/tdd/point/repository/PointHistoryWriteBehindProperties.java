@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 내역 write-behind 저장 설정
+ * - enabled : 사용 여부
+ * - capacity : 저장 대기열 크기, 가득 차면 저장 요청이 자리가 날 때까지 기다린다.
+ * - batchSize : 백그라운드 저장 스레드가 한 번에 꺼내서 저장하는 최대 건수
+ */
+@ConfigurationProperties(prefix = "point.history.write-behind")
+public record PointHistoryWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") int capacity,
+        @DefaultValue("256") int batchSize
+) {
+}
@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * UserPointTable 앞단의 write-through 잔액 스냅샷 캐시
+ * - 쓰기는 테이블에 바로 반영하고, 저장된 UserPoint 를 그대로 스냅샷으로 남긴다.
+ * - 읽기는 스냅샷이 있으면 테이블을 조회하지 않는다. 없으면 한 요청만 테이블을 조회하고, 같은 유저의 동시 조회는 그 결과를 함께 받는다.
+ * - 조회 중에 쓰기가 들어오면 쓰기 스냅샷이 자리를 차지하므로, 늦게 끝난 조회 결과가 최신 값을 덮어쓰지 않는다.
+ * - 보관하는 유저 수(maximumSize)와 보관 시간(ttl)을 제한해서 메모리가 일정 수준을 넘지 않는다.
+ * - point.snapshot.enabled=true 이고 write-behind 잔액 캐시를 사용하지 않을 때 등록된다.
+ */
+@Primary
+@Component
+@ConditionalOnExpression("${point.snapshot.enabled:false} and !${point.cache.enabled:false}")
+public class SnapshotUserPointRepository implements UserPointRepository {
+
+    private final UserPointRepository delegate;
+
+    // 유저별 잔액 스냅샷, 조회 중인 유저는 완료되지 않은 future 로 남는다.
+    private final Cache<Long, CompletableFuture<UserPoint>> snapshots;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SnapshotUserPointRepository(@Qualifier(UserPointRepository.STORAGE) UserPointRepository delegate,
+                                       UserPointSnapshotProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.hitCounter = Counter.builder("point.snapshot.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("point.snapshot.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("point.snapshot.size", snapshots, Cache::estimatedSize).register(meterRegistry);
+        Gauge.builder("point.snapshot.hit.ratio", this, SnapshotUserPointRepository::hitRate)
+                .description("잔액 조회 중 테이블을 조회하지 않고 스냅샷으로 응답한 비율")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        CompletableFuture<UserPoint> snapshot = snapshots.getIfPresent(id);
+        if (snapshot != null) {
+            hitCounter.increment();
+            return await(snapshot);
+        }
+
+        CompletableFuture<UserPoint> loading = new CompletableFuture<>();
+        CompletableFuture<UserPoint> existing = snapshots.asMap().putIfAbsent(id, loading);
+        if (existing != null) {
+            hitCounter.increment();
+            return await(existing);
+        }
+        missCounter.increment();
+
+        try {
+            UserPoint loaded = delegate.selectById(id);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            snapshots.asMap().remove(id, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint saved;
+        try {
+            saved = delegate.insertOrUpdate(id, amount);
+        } catch (RuntimeException e) {
+            // 테이블에 반영됐는지 알 수 없으므로 다음 조회는 테이블에서 다시 읽는다.
+            snapshots.invalidate(id);
+            throw e;
+        }
+
+        // 같은 유저의 쓰기는 락이나 엔진이 순서대로 처리하지만, 순서가 어긋나 들어와도 더 오래된 값으로 덮어쓰지 않는다.
+        CompletableFuture<UserPoint> next = CompletableFuture.completedFuture(saved);
+        snapshots.asMap().merge(id, next, (current, ignored) -> isNewer(current, saved) ? current : next);
+        return saved;
+    }
+
+    public double hitRate() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    public long size() {
+        snapshots.cleanUp();
+        return snapshots.estimatedSize();
+    }
+
+    private static boolean isNewer(CompletableFuture<UserPoint> current, UserPoint saved) {
+        return current.isDone()
+                && !current.isCompletedExceptionally()
+                && current.join().updateMillis() > saved.updateMillis();
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
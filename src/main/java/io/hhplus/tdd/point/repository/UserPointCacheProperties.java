@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * write-behind 잔액 캐시 설정
+ * - enabled : 캐시 사용 여부
+ * - flushInterval : 변경분을 UserPointTable 에 반영하는 주기
+ * - flushParallelism : 한 번의 flush 에서 동시에 반영하는 유저 수, 테이블 쓰기 지연(최대 300ms)이 유저 수만큼 쌓이지 않도록 나눠서 반영한다.
+ * - maximumSize : 보관하는 최대 유저 수, flush 후 넘은 만큼 테이블에 반영된 유저부터 제거한다.
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record UserPointCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100ms") Duration flushInterval,
+        @DefaultValue("16") int flushParallelism,
+        @DefaultValue("100000") int maximumSize
+) {
+}
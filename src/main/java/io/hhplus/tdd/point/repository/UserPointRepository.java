@@ -4,6 +4,9 @@ import io.hhplus.tdd.point.domain.UserPoint;
 
 public interface UserPointRepository {
 
+    // 실제 잔액 저장을 담당하는 저장소(table, wal)의 qualifier, 캐시처럼 감싸는 저장소가 주입받는다.
+    String STORAGE = "userPointStorage";
+
     UserPoint selectById(Long id);
 
     UserPoint insertOrUpdate(long id, long amount);
@@ -1,23 +1,47 @@
 package io.hhplus.tdd.point.repository;
 
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.common.PointMetrics;
 import io.hhplus.tdd.point.domain.UserPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.USER_POINT_SELECT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.USER_POINT_UPSERT;
+
+/**
+ * UserPointTable 을 그대로 사용하는 UserPointRepository
+ * - point.balance.storage=table (기본값)
+ */
 @Component
+@Qualifier(UserPointRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.balance", name = "storage", havingValue = "table", matchIfMissing = true)
 @RequiredArgsConstructor
 public class UserPointRepositoryImpl implements UserPointRepository {
 
     private final UserPointTable userPointTable;
 
+    private final PointMetrics pointMetrics;
+
     @Override
     public UserPoint selectById(Long id) {
-        return userPointTable.selectById(id);
+        long startNanos = System.nanoTime();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            pointMetrics.recordRepositoryCall(USER_POINT_SELECT, startNanos);
+        }
     }
 
     @Override
     public UserPoint insertOrUpdate(long id, long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+        long startNanos = System.nanoTime();
+        try {
+            return userPointTable.insertOrUpdate(id, amount);
+        } finally {
+            pointMetrics.recordRepositoryCall(USER_POINT_UPSERT, startNanos);
+        }
     }
 }
\ No newline at end of file
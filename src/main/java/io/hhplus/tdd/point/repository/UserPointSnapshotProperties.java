@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액 스냅샷 캐시 설정
+ * - enabled : 캐시 사용 여부, write-behind 잔액 캐시(point.cache.enabled)를 켜면 사용하지 않는다.
+ * - maximumSize : 보관하는 최대 유저 수, 넘으면 사용 빈도가 낮은 유저부터 제거한다.
+ * - ttl : 마지막으로 저장된 후 스냅샷을 보관하는 시간
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record UserPointSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
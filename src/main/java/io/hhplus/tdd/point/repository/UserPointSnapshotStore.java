@@ -0,0 +1,201 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 스냅샷 파일을 쓰고 읽는다.
+ * - 파일 : 헤더(magic 8, sequence 8, count 8) + 레코드(userId, point, updateMillis 각 8) * count + CRC32C(4)
+ * - 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, 이름이 바뀐 스냅샷은 항상 온전하다.
+ * - 스냅샷 N 은 WAL N 이 시작된 시점 이후의 잔액을 담고 있어, 복구는 스냅샷 N 위에 WAL N 부터 재실행한다.
+ *   스냅샷을 쓰는 동안에도 잔액이 바뀌므로 일부 유저는 그 이후의 값일 수 있지만, WAL 은 변경 후 값을 기록하므로 재실행 결과는 같다.
+ * - 스냅샷 N 을 쓰면 그 이전의 WAL 과 스냅샷은 지워지므로, 가장 최근 스냅샷을 읽지 못하면 이전 스냅샷으로 대신 복구할 수 없다.
+ */
+final class UserPointSnapshotStore {
+
+    static final String PREFIX = "snapshot-";
+    static final String SUFFIX = ".snap";
+
+    private static final long MAGIC = 0x504F494E54534E50L;
+
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_SIZE = 24;
+    private static final int BUFFER_SIZE = RECORD_SIZE * 64 * 1024;
+
+    private final Path directory;
+
+    UserPointSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    static String fileName(long sequence) {
+        return "%s%020d%s".formatted(PREFIX, sequence, SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * 잔액을 스냅샷 sequence 로 기록한다.
+     */
+    void write(long sequence, Iterable<UserPoint> balances) throws IOException {
+        Path temp = directory.resolve(fileName(sequence) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            channel.position(HEADER_SIZE);
+            long count = 0;
+            for (UserPoint userPoint : balances) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    flush(channel, buffer, crc);
+                }
+                buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+                count++;
+            }
+            flush(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue()).flip();
+            writeFully(channel, buffer);
+
+            buffer.clear().putLong(MAGIC).putLong(sequence).putLong(count).flip();
+            channel.position(0);
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(fileName(sequence)), StandardCopyOption.ATOMIC_MOVE);
+        UserPointWriteAheadLog.syncDirectory(directory);
+    }
+
+    /**
+     * 가장 최근 스냅샷을 읽어서 consumer 에 넘긴다.
+     * 스냅샷이 깨져 있으면 그 이전의 WAL 이 남아있지 않아 잔액을 복구할 수 없으므로 예외를 반환한다.
+     *
+     * @return 읽은 스냅샷의 sequence, 스냅샷이 없으면 0
+     */
+    long loadLatest(Consumer<UserPoint> consumer) throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        if (!load(latest, consumer)) {
+            throw new IOException("잔액 스냅샷이 손상되어 잔액을 복구할 수 없습니다. path=" + latest);
+        }
+        return sequenceOf(latest);
+    }
+
+    /**
+     * 스냅샷 sequence 를 다시 읽어서 온전한지 확인한다.
+     * 이전 WAL 과 스냅샷을 지우기 전에 사용한다.
+     */
+    boolean verify(long sequence) throws IOException {
+        return load(directory.resolve(fileName(sequence)), userPoint -> {
+        });
+    }
+
+    /**
+     * 가장 최근 스냅샷의 레코드 수, 복구 시 잔액 map 의 크기를 미리 잡는 데 쓴다.
+     */
+    long latestCount() throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(snapshots.get(snapshots.size() - 1), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return header.getLong(16);
+        }
+    }
+
+    // sequence 보다 오래된 스냅샷을 지운다.
+    void deleteBefore(long sequence) throws IOException {
+        for (Path path : snapshots()) {
+            if (sequenceOf(path) < sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(UserPointSnapshotStore::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private boolean load(Path path, Consumer<UserPoint> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            long count = header.getLong(16);
+            if (header.getLong(0) != MAGIC || channel.size() != HEADER_SIZE + count * RECORD_SIZE + Integer.BYTES) {
+                return false;
+            }
+
+            // checksum 을 먼저 확인해서 깨진 스냅샷의 잔액이 섞이지 않도록 한다.
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            long end = HEADER_SIZE + count * RECORD_SIZE;
+            for (long position = HEADER_SIZE; position < end; ) {
+                position += readFully(channel, buffer, position, end);
+                crc.update(buffer.flip());
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(trailer, end);
+            if (trailer.getInt(0) != (int) crc.getValue()) {
+                return false;
+            }
+
+            for (long position = HEADER_SIZE; position < end; ) {
+                position += readFully(channel, buffer, position, end);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    consumer.accept(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+                }
+            }
+            return true;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    // position 부터 버퍼 크기와 end 중 작은 만큼 읽는다.
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position, long end) throws IOException {
+        buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("스냅샷 파일이 예상보다 짧습니다.");
+            }
+        }
+        return buffer.position();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
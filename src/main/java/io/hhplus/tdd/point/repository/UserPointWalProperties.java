@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액 WAL 저장소 설정
+ * - directory : WAL 과 스냅샷 파일을 두는 디렉터리
+ * - fsync : 묶음마다 fsync 후 응답할지 여부, false 면 OS 페이지 캐시에 쓴 뒤 응답한다.
+ * - batchSize : 한 번에 기록하고 fsync 하는 최대 변경 수
+ * - groupCommitDelay : 묶음의 첫 변경이 들어온 뒤 다른 변경을 더 기다리는 시간, 0 이면 이전 fsync 동안 쌓인 변경만 묶는다.
+ * - snapshotInterval : 스냅샷을 만드는 주기, 그 사이 변경이 없으면 건너뛴다.
+ */
+@ConfigurationProperties(prefix = "point.balance.wal")
+public record UserPointWalProperties(
+        @DefaultValue("data/point-balance") String directory,
+        @DefaultValue("true") boolean fsync,
+        @DefaultValue("1024") int batchSize,
+        @DefaultValue("0ms") Duration groupCommitDelay,
+        @DefaultValue("1m") Duration snapshotInterval
+) {
+}
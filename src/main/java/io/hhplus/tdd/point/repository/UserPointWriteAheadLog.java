@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 변경을 기록하는 WAL 파일 하나
+ * - 레코드 : userId(8) point(8) updateMillis(8) checksum(4), checksum 은 앞의 24 바이트에 대한 CRC32C
+ * - 변경 묶음을 한 번의 write 로 기록하고, 필요하면 한 번만 fsync 한다.
+ * - 잔액은 변경량이 아니라 변경 후 값으로 기록하므로, 같은 레코드를 여러 번 재실행해도 결과가 같다.
+ * - 파일 이름의 순번(sequence)은 파일이 만들어진 순서이고, 스냅샷도 같은 순번을 사용한다.
+ */
+final class UserPointWriteAheadLog implements Closeable {
+
+    static final int RECORD_SIZE = 28;
+
+    static final String PREFIX = "wal-";
+    static final String SUFFIX = ".log";
+
+    private static final int CHECKSUM_OFFSET = 24;
+
+    // 재실행 시 한 번에 읽는 크기
+    private static final int READ_BUFFER_RECORDS = 64 * 1024;
+
+    private final long sequence;
+
+    private final FileChannel channel;
+
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1024);
+
+    private final CRC32C crc = new CRC32C();
+
+    private UserPointWriteAheadLog(long sequence, FileChannel channel) {
+        this.sequence = sequence;
+        this.channel = channel;
+    }
+
+    static UserPointWriteAheadLog create(Path directory, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(sequence)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        syncDirectory(directory);
+        return new UserPointWriteAheadLog(sequence, channel);
+    }
+
+    // 새로 만들거나 이름을 바꾼 파일이 디렉터리에도 반영되도록 디렉터리를 fsync 한다. 지원하지 않는 OS 에서는 건너뛴다.
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    static String fileName(long sequence) {
+        return "%s%020d%s".formatted(PREFIX, sequence, SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * 파일의 레코드를 순서대로 읽어서 consumer 에 넘긴다.
+     * 처음으로 온전하지 않은 레코드에서 멈추고, 그 뒤의 내용은 잘라낸다. (fsync 가 끝나지 않아 응답하지 않은 변경)
+     *
+     * @return 재실행한 레코드 수
+     */
+    static long replay(Path path, Consumer<UserPoint> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * READ_BUFFER_RECORDS);
+            CRC32C crc = new CRC32C();
+            long replayed = 0;
+            boolean torn = false;
+            while (!torn && channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int position = buffer.position();
+                    crc.reset();
+                    crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+                    if (buffer.getInt(position + CHECKSUM_OFFSET) != (int) crc.getValue()) {
+                        torn = true;
+                        break;
+                    }
+                    consumer.accept(new UserPoint(buffer.getLong(position), buffer.getLong(position + 8), buffer.getLong(position + 16)));
+                    buffer.position(position + RECORD_SIZE);
+                    replayed++;
+                }
+                buffer.compact();
+            }
+            long validLength = replayed * RECORD_SIZE;
+            if (channel.size() > validLength) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+            return replayed;
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * 변경 묶음을 기록한다. fsync 가 true 면 디스크에 반영된 뒤 반환한다.
+     */
+    void append(List<UserPoint> batch, boolean fsync) throws IOException {
+        int bytes = batch.size() * RECORD_SIZE;
+        if (writeBuffer.capacity() < bytes) {
+            writeBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+        }
+        ByteBuffer buffer = writeBuffer.clear();
+        for (UserPoint userPoint : batch) {
+            int position = buffer.position();
+            buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+            crc.reset();
+            crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+            buffer.putInt((int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+}
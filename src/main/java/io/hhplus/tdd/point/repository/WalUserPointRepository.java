@@ -0,0 +1,353 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.USER_POINT_SELECT;
+import static io.hhplus.tdd.point.common.PointMetrics.RepositoryCall.USER_POINT_UPSERT;
+
+/**
+ * 잔액 변경을 WAL 에 기록하고 주기적으로 스냅샷을 남기는 UserPointRepository
+ * - 잔액은 메모리에 두고, 변경은 WAL 에 기록된 뒤에 메모리에 반영하고 응답한다.
+ * - 기록은 writer 스레드 하나가 모아서 한 번의 write 와 fsync 로 처리한다. (group commit)
+ *   fsync 한 번의 비용을 묶음 안의 변경이 나눠서 부담하므로, 동시 요청이 많을수록 건당 비용이 줄어든다.
+ * - snapshotInterval 마다 새 WAL 로 바꾸고 잔액 전체를 스냅샷으로 남긴 뒤, 스냅샷에 포함된 이전 WAL 을 지운다.
+ * - 시작할 때 가장 최근 스냅샷을 읽고, 그 이후의 WAL 을 순서대로 재실행해서 잔액을 복구한다.
+ * - WAL 기록에 실패하면 디스크 상태를 알 수 없으므로 이후의 변경은 모두 거부한다.
+ * - point.balance.storage=wal
+ */
+@Component
+@Qualifier(UserPointRepository.STORAGE)
+@ConditionalOnProperty(prefix = "point.balance", name = "storage", havingValue = "wal")
+public class WalUserPointRepository implements UserPointRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WalUserPointRepository.class);
+
+    private final PointMetrics pointMetrics;
+
+    private final Path directory;
+
+    private final boolean fsync;
+
+    private final int batchSize;
+
+    private final long groupCommitDelayNanos;
+
+    private final UserPointSnapshotStore snapshotStore;
+
+    private final Map<Long, UserPoint> balances;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    // WAL 기록과 WAL 교체가 동시에 일어나지 않도록 막는다.
+    private final ReentrantLock walLock = new ReentrantLock();
+
+    // 스냅샷을 하나씩만 만든다.
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private final AtomicLong writesSinceSnapshot = new AtomicLong();
+
+    private final Timer commitTimer;
+    private final DistributionSummary batchSummary;
+    private final Timer snapshotTimer;
+
+    private final Thread writer;
+
+    private final ScheduledExecutorService snapshotter;
+
+    private UserPointWriteAheadLog wal;
+
+    private volatile boolean running = true;
+
+    private volatile IOException failure;
+
+    public WalUserPointRepository(UserPointWalProperties properties, PointMetrics pointMetrics, MeterRegistry meterRegistry) {
+        this.pointMetrics = pointMetrics;
+        this.directory = Path.of(properties.directory());
+        this.fsync = properties.fsync();
+        this.batchSize = properties.batchSize();
+        this.groupCommitDelayNanos = properties.groupCommitDelay().toNanos();
+        this.snapshotStore = new UserPointSnapshotStore(directory);
+        this.commitTimer = Timer.builder("point.balance.wal.commit")
+                .description("변경 묶음을 WAL 에 기록하고 fsync 하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.batchSummary = DistributionSummary.builder("point.balance.wal.batch")
+                .description("한 번의 fsync 로 기록한 변경 수")
+                .register(meterRegistry);
+        this.snapshotTimer = Timer.builder("point.balance.snapshot")
+                .description("잔액 스냅샷을 만드는 데 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("point.balance.wal.queue", queue, BlockingQueue::size).register(meterRegistry);
+
+        try {
+            Files.createDirectories(directory);
+            this.balances = new ConcurrentHashMap<>((int) Math.min(1 << 30, snapshotStore.latestCount() * 4 / 3 + 16));
+            this.wal = recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("잔액 WAL 을 열 수 없습니다. directory=" + directory, e);
+        }
+
+        this.writer = new Thread(this::writeLoop, "user-point-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        long intervalMillis = properties.snapshotInterval().toMillis();
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.snapshotter.scheduleWithFixedDelay(this::snapshotIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        long startNanos = System.nanoTime();
+        try {
+            return balances.getOrDefault(id, UserPoint.empty(id));
+        } finally {
+            pointMetrics.recordRepositoryCall(USER_POINT_SELECT, startNanos);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long startNanos = System.nanoTime();
+        try {
+            if (failure != null) {
+                throw new IllegalStateException("잔액 WAL 기록에 실패해서 잔액을 변경할 수 없습니다.", failure);
+            }
+            if (!running) {
+                throw new IllegalStateException("잔액 WAL 저장소가 종료되었습니다.");
+            }
+            PendingWrite pending = new PendingWrite(new UserPoint(id, amount, System.currentTimeMillis()), new CompletableFuture<>());
+            queue.add(pending);
+            return await(pending.future());
+        } finally {
+            pointMetrics.recordRepositoryCall(USER_POINT_UPSERT, startNanos);
+        }
+    }
+
+    /**
+     * 새 WAL 로 바꾸고 현재 잔액을 스냅샷으로 남긴 뒤, 스냅샷을 다시 읽어서 확인하고 나서 스냅샷에 포함된 WAL 과 이전 스냅샷을 지운다.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            long sequence;
+            walLock.lock();
+            try {
+                // 이전 WAL 의 변경은 모두 메모리에 반영되어 있으므로, 이후 잔액을 읽으면 이전 WAL 을 모두 포함한다.
+                UserPointWriteAheadLog previous = wal;
+                wal = UserPointWriteAheadLog.create(directory, previous.sequence() + 1);
+                previous.close();
+                sequence = wal.sequence();
+                writesSinceSnapshot.set(0);
+            } finally {
+                walLock.unlock();
+            }
+
+            snapshotStore.write(sequence, balances.values());
+            // 다시 읽을 수 없는 스냅샷이면 이전 WAL 과 스냅샷을 남겨서 복구할 수 있도록 한다.
+            if (!snapshotStore.verify(sequence)) {
+                throw new IOException("방금 쓴 잔액 스냅샷을 다시 읽을 수 없습니다. sequence=" + sequence);
+            }
+            for (Path path : walFiles()) {
+                if (UserPointWriteAheadLog.sequenceOf(path) < sequence) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            snapshotStore.deleteBefore(sequence);
+            snapshotTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            log.info("잔액 스냅샷을 만들었습니다. sequence={}, 유저 {} 명", sequence, balances.size());
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // 종료 직전에 들어와서 기록되지 못한 변경은 실패로 응답한다.
+        for (PendingWrite pending; (pending = queue.poll()) != null; ) {
+            pending.future().completeExceptionally(new IllegalStateException("잔액 WAL 저장소가 종료되었습니다."));
+        }
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        // 다음 시작 때 WAL 재실행 없이 스냅샷만 읽도록 남긴다.
+        if (failure == null && writesSinceSnapshot.get() > 0) {
+            snapshot();
+        }
+        walLock.lock();
+        try {
+            wal.close();
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    // 가장 최근 스냅샷을 읽고 그 이후의 WAL 을 재실행한 뒤, 이어서 기록할 새 WAL 을 만든다.
+    private UserPointWriteAheadLog recover() throws IOException {
+        long startNanos = System.nanoTime();
+        long snapshotSequence = snapshotStore.loadLatest(userPoint -> balances.put(userPoint.id(), userPoint));
+        long loaded = balances.size();
+
+        long lastSequence = snapshotSequence;
+        long replayed = 0;
+        for (Path path : walFiles()) {
+            long sequence = UserPointWriteAheadLog.sequenceOf(path);
+            if (sequence < snapshotSequence) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            long replayedInFile = UserPointWriteAheadLog.replay(path, userPoint -> balances.put(userPoint.id(), userPoint));
+            replayed += replayedInFile;
+            lastSequence = Math.max(lastSequence, sequence);
+            writesSinceSnapshot.addAndGet(replayedInFile);
+            if (replayedInFile == 0) {
+                // 스냅샷 직후 변경 없이 종료된 WAL 처럼 비어있는 파일은 남겨둘 필요가 없다.
+                Files.delete(path);
+            }
+        }
+
+        log.info("잔액을 복구했습니다. 스냅샷 {} 명(sequence={}), WAL {} 건 재실행, {} ms",
+                loaded, snapshotSequence, replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return UserPointWriteAheadLog.create(directory, lastSequence + 1);
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (groupCommitDelayNanos > 0) {
+                    long deadline = System.nanoTime() + groupCommitDelayNanos;
+                    while (batch.size() < batchSize) {
+                        PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        List<UserPoint> records = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            records.add(pending.userPoint());
+        }
+
+        walLock.lock();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            long startNanos = System.nanoTime();
+            wal.append(records, fsync);
+            commitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            batchSummary.record(batch.size());
+            // WAL 순서대로 메모리에 반영한다.
+            for (UserPoint userPoint : records) {
+                balances.put(userPoint.id(), userPoint);
+            }
+            writesSinceSnapshot.addAndGet(records.size());
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+                log.error("잔액 WAL 기록에 실패했습니다. 이후의 잔액 변경은 거부합니다.", e);
+            }
+            for (PendingWrite pending : batch) {
+                pending.future().completeExceptionally(new UncheckedIOException(e));
+            }
+            return;
+        } finally {
+            walLock.unlock();
+        }
+
+        for (PendingWrite pending : batch) {
+            pending.future().complete(pending.userPoint());
+        }
+    }
+
+    private void snapshotIfChanged() {
+        if (writesSinceSnapshot.get() == 0 || failure != null) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("잔액 스냅샷을 만들지 못했습니다.", e);
+        }
+    }
+
+    private List<Path> walFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(UserPointWriteAheadLog.PREFIX) && name.endsWith(UserPointWriteAheadLog.SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(UserPointWriteAheadLog::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record PendingWrite(UserPoint userPoint, CompletableFuture<UserPoint> future) {
+    }
+}
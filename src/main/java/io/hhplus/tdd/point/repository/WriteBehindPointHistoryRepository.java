@@ -0,0 +1,259 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 내역 저장을 요청 흐름에서 분리하는 write-behind PointHistoryRepository
+ * - insert 는 메모리 대기열에 넣고 바로 반환하며, 백그라운드 스레드가 대기열 순서대로 저장소에 반영한다.
+ * - 충전/사용의 유저 락은 잔액 반영과 대기열 추가만 감싸게 되어, 내역 저장 시간만큼 락을 덜 잡는다.
+ * - 조회는 저장소의 내역에 아직 반영되지 않은 내역을 합쳐서 응답하므로, 방금 저장한 내역도 바로 보인다.
+ * - 내역 id 는 PointHistoryTable 과 같은 규칙(1부터 저장 순서대로)으로 미리 부여한다. 저장소에 남아있는 내역이 있으면 그 다음 id 부터 부여한다.
+ *   모든 내역 저장이 이 저장소를 거친다는 전제이며, 조회와 커서가 이 id 에 의존하므로 실제 id 와 다르면 저장을 멈춘다.
+ * - 저장에 실패하면 MAX_PERSIST_ATTEMPTS 번까지 다시 시도하고, 그래도 실패하면 저장을 멈추고 이후 insert 를 거절한다.
+ * - point.history.write-behind.enabled=true
+ */
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "point.history.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindPointHistoryRepository implements PointHistoryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPointHistoryRepository.class);
+
+    // 저장에 실패했을 때 다시 시도하기까지 기다리는 시간
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    // 내역 한 건을 저장하는 최대 시도 횟수
+    private static final int MAX_PERSIST_ATTEMPTS = 10;
+
+    private final PointHistoryRepository delegate;
+
+    private final int batchSize;
+
+    private final BlockingQueue<PendingHistory> queue;
+
+    // 아직 저장소에 반영되지 않은 유저별 내역, 조회 시 저장소의 내역과 합친다.
+    private final Map<Long, Queue<PointHistory>> pendingByUser = new ConcurrentHashMap<>();
+
+    // id 부여와 대기열 추가가 같은 순서로 일어나도록 막는다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final AtomicLong nextId;
+
+    // 대기열에 있거나 저장 중인 내역 수
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Timer flushLagTimer;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    // 저장을 멈추게 한 예외, 설정된 뒤로는 insert 를 거절한다.
+    private volatile RuntimeException failure;
+
+    public WriteBehindPointHistoryRepository(@Qualifier(PointHistoryRepository.STORAGE) PointHistoryRepository delegate,
+                                             PointHistoryWriteBehindProperties properties,
+                                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.nextId = new AtomicLong(delegate.lastId() + 1);
+        this.batchSize = properties.batchSize();
+        this.queue = new ArrayBlockingQueue<>(properties.capacity());
+        this.flushLagTimer = Timer.builder("point.history.flush.lag")
+                .description("내역 저장 요청 후 저장소에 반영되기까지 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("point.history.queue", pendingCount, AtomicInteger::get)
+                .description("저장소에 반영되지 않은 내역 수")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "point-history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        if (failure != null) {
+            throw new IllegalStateException("포인트 내역 저장에 실패해서 내역을 저장할 수 없습니다.", failure);
+        }
+        appendLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(nextId.get(), userId, amount, type, updateMillis);
+            // 대기열에 넣는 즉시 writer 가 저장하고 정리할 수 있으므로, 대기 수와 유저별 대기 내역을 먼저 반영한다.
+            pendingCount.incrementAndGet();
+            pendingByUser.compute(userId, (key, pending) -> {
+                Queue<PointHistory> histories = pending == null ? new ConcurrentLinkedQueue<>() : pending;
+                histories.add(pointHistory);
+                return histories;
+            });
+            try {
+                queue.put(new PendingHistory(pointHistory, System.nanoTime()));
+            } catch (InterruptedException e) {
+                removePending(pointHistory);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("포인트 내역 저장 대기 중 중단되었습니다.", e);
+            }
+            nextId.incrementAndGet();
+            return pointHistory;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        // 저장소보다 대기열을 먼저 읽어야 그 사이 반영된 내역이 양쪽 모두에서 빠지지 않는다.
+        List<PointHistory> pending = pendingOf(userId);
+        return merge(delegate.selectAllByUserId(userId), pending.stream());
+    }
+
+    @Override
+    public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+        List<PointHistory> pending = pendingOf(userId);
+        List<PointHistory> merged = merge(delegate.selectByUserId(userId, query), pending.stream().filter(query::matches));
+        return merged.size() <= query.limit() ? merged : merged.subList(0, query.limit());
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 대기 중인 내역이 모두 저장소에 반영될 때까지 기다린다.
+     */
+    public boolean awaitFlushed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pendingCount.get() > 0) {
+            // 저장이 멈췄다면 더 기다려도 반영되지 않는다.
+            if (failure != null || System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!awaitFlushed(30, TimeUnit.SECONDS)) {
+            log.warn("저장되지 않은 포인트 내역이 남아있습니다. count={}", pendingCount.get());
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private List<PointHistory> pendingOf(long userId) {
+        Queue<PointHistory> pending = pendingByUser.get(userId);
+        return pending == null ? List.of() : List.copyOf(pending);
+    }
+
+    // 저장소의 내역과 대기 중인 내역을 id 순으로 합치고, 그 사이 반영되어 양쪽에 있는 내역은 한 번만 남긴다.
+    private static List<PointHistory> merge(List<PointHistory> persisted, Stream<PointHistory> pending) {
+        List<PointHistory> extra = pending.toList();
+        if (extra.isEmpty()) {
+            return persisted;
+        }
+        Set<Long> persistedIds = new HashSet<>();
+        List<PointHistory> merged = new ArrayList<>(persisted.size() + extra.size());
+        for (PointHistory pointHistory : persisted) {
+            persistedIds.add(pointHistory.id());
+            merged.add(pointHistory);
+        }
+        for (PointHistory pointHistory : extra) {
+            if (!persistedIds.contains(pointHistory.id())) {
+                merged.add(pointHistory);
+            }
+        }
+        merged.sort(Comparator.comparingLong(PointHistory::id));
+        return merged;
+    }
+
+    private void writeLoop() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                for (PendingHistory pending : batch) {
+                    persist(pending);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // 이후 내역의 id 가 모두 어긋나므로 건너뛰지 않고 저장을 멈춘다. 대기 중인 내역은 조회에는 계속 보인다.
+                failure = e;
+                log.error("포인트 내역 저장을 멈춥니다. 저장되지 않은 건수={}", pendingCount.get(), e);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(PendingHistory pending) throws InterruptedException {
+        PointHistory pointHistory = pending.pointHistory();
+        PointHistory saved = insertWithRetry(pointHistory);
+        if (saved.id() != pointHistory.id()) {
+            throw new IllegalStateException("미리 부여한 내역 id 와 저장된 id 가 다릅니다. expected=%d, actual=%d"
+                    .formatted(pointHistory.id(), saved.id()));
+        }
+        removePending(pointHistory);
+        flushLagTimer.record(System.nanoTime() - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private PointHistory insertWithRetry(PointHistory pointHistory) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return delegate.insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_PERSIST_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("포인트 내역 저장에 실패했습니다. 다시 시도합니다. id={}, attempt={}", pointHistory.id(), attempt, e);
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void removePending(PointHistory pointHistory) {
+        pendingByUser.computeIfPresent(pointHistory.userId(), (key, histories) -> {
+            histories.remove(pointHistory);
+            return histories.isEmpty() ? null : histories;
+        });
+        pendingCount.decrementAndGet();
+    }
+
+    private record PendingHistory(PointHistory pointHistory, long enqueuedNanos) {
+    }
+}
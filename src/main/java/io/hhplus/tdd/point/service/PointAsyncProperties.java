@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 비동기 포인트 API 설정
+ * - timeout : 요청이 완료되기까지 기다리는 최대 시간, 넘으면 TimeoutException 으로 실패한다.
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record PointAsyncProperties(
+        @DefaultValue("10s") Duration timeout
+) {
+}
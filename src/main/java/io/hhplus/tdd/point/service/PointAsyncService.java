@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.common.KeyedSerialExecutor;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * PointService 의 비동기 버전
+ * - 같은 유저의 요청은 KeyedSerialExecutor 로 요청 순서대로 하나씩 실행되므로, 호출한 스레드가 락을 기다리며 블로킹되지 않는다.
+ * - 동기 API 와 동시에 호출될 수 있으므로 실제 처리는 기존 PointService 에 맡겨 락과 엔진 선택을 그대로 따른다.
+ * - 작업은 applicationTaskExecutor 에서 실행되며, spring.threads.virtual.enabled 가 true 면 virtual thread 를 사용한다.
+ * - 반환된 future 를 취소하거나 타임아웃이 나면 아직 시작하지 않은 작업은 실행하지 않는다.
+ */
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+
+    private final KeyedSerialExecutor serialExecutor;
+
+    private final long timeoutMillis;
+
+    public PointAsyncService(PointService pointService,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             PointAsyncProperties properties) {
+        this.pointService = pointService;
+        this.serialExecutor = new KeyedSerialExecutor(executor);
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    //포인트 조회
+    public CompletableFuture<UserPoint> getPointAsync(long id) {
+        return submit(id, () -> pointService.getPoint(id));
+    }
+
+    //포인트 충전
+    public CompletableFuture<UserPoint> chargeAsync(long id, long amount) {
+        return submit(id, () -> pointService.charge(id, amount));
+    }
+
+    //포인트 사용
+    public CompletableFuture<UserPoint> useAsync(long id, long amount) {
+        return submit(id, () -> pointService.use(id, amount));
+    }
+
+    //포인트 내역 조회
+    public CompletableFuture<List<PointHistory>> getHistoryAsync(long id) {
+        return submit(id, () -> pointService.getHistory(id));
+    }
+
+    private <T> CompletableFuture<T> submit(long id, Supplier<T> task) {
+        return serialExecutor.submit(id, task).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
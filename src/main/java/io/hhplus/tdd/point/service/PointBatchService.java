@@ -0,0 +1,249 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.common.KeyedSerialExecutor;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_BATCH_OPERATION;
+
+/**
+ * 여러 유저의 충전/사용을 한 번에 처리하는 일괄 처리 서비스
+ * - 같은 유저의 작업은 KeyedSerialExecutor 로 요청 순서대로 처리하고, 다른 유저의 작업은 병렬로 처리한다.
+ * - 각 작업은 PointService 를 거치므로 LockHelper 로 다른 요청과의 동시성도 그대로 보장된다.
+ * - 요청 본문은 전체를 메모리에 올리지 않고, 읽는 대로 작업을 제출한다.
+ * - 결과는 처리가 끝나는 대로 한 줄에 하나씩 NDJSON 으로 응답 스트림에 기록한다.
+ * - 작업은 전용 virtual thread 에서 실행한다. 응답을 쓰는 MVC 비동기 스레드는 작업이 끝나기를 기다리므로,
+ *   같은 풀에 작업을 제출하면 일괄 요청이 풀의 스레드 수만큼 몰렸을 때 작업이 실행되지 못하고 서로 멈춘다.
+ */
+@Service
+public class PointBatchService {
+
+    // 한 번에 처리할 수 있는 최대 작업 수
+    static final int MAX_OPERATIONS = 1_000_000;
+
+    // 동시에 처리 중일 수 있는 최대 작업 수, 결과 기록이 밀리면 새 작업 제출을 멈춘다.
+    static final int MAX_IN_FLIGHT = 4096;
+
+    // 이 건수만큼 결과를 기록할 때마다 flush
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final PointService pointService;
+
+    private final ObjectMapper objectMapper;
+
+    private final KeyedSerialExecutor serialExecutor;
+
+    // 직접 만든 executor 만 종료한다.
+    private final ExecutorService ownedExecutor;
+
+    @Autowired
+    public PointBatchService(PointService pointService, ObjectMapper objectMapper) {
+        this(pointService, objectMapper, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    PointBatchService(PointService pointService, ObjectMapper objectMapper, Executor executor) {
+        this(pointService, objectMapper, executor, false);
+    }
+
+    private PointBatchService(PointService pointService, ObjectMapper objectMapper, Executor executor, boolean owned) {
+        this.pointService = pointService;
+        this.objectMapper = objectMapper;
+        this.serialExecutor = new KeyedSerialExecutor(executor);
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * 요청 본문에서 작업을 하나씩 읽는 Iterator 를 반환한다.
+     * - JSON 배열과 한 줄에 하나씩 나열한 NDJSON 을 모두 받는다.
+     * - 첫 작업은 바로 읽으므로, 형식이 잘못된 본문은 응답을 시작하기 전에 예외를 반환한다.
+     * - 이후 작업을 읽다가 실패하거나 MAX_OPERATIONS 를 넘으면 next 에서 예외를 반환한다.
+     */
+    public Iterator<PointOperation> read(InputStream in) {
+        try {
+            // MappingIterator 는 JsonParser 로 값을 하나씩 읽으며, 본문이 배열이면 배열 안의 값을 차례로 읽는다.
+            OperationIterator operations = new OperationIterator(objectMapper.readerFor(PointOperation.class).readValues(in));
+            operations.hasNext();
+            return operations;
+        } catch (IOException e) {
+            throw new PointException(INVALID_BATCH_OPERATION, "작업 목록을 읽을 수 없습니다.");
+        }
+    }
+
+    /**
+     * 작업을 읽는 대로 제출하고 결과를 기록한다.
+     * 중간에 작업을 읽지 못하면 그때까지 제출한 작업의 결과와 함께, 읽지 못한 위치의 실패 결과를 기록하고 끝낸다.
+     */
+    public void execute(Iterator<PointOperation> operations, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        ResultWriter writer = new ResultWriter(generator);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        PointOperationResult invalid = null;
+
+        try {
+            for (int i = 0; writer.failure == null; i++) {
+                int index = i;
+                PointOperation operation;
+                try {
+                    if (!operations.hasNext()) {
+                        break;
+                    }
+                    operation = operations.next();
+                } catch (PointException e) {
+                    invalid = PointOperationResult.invalid(index, e.getErrorCode());
+                    break;
+                }
+                inFlight.acquire();
+                serialExecutor.submit(operation.userId(), () -> apply(index, operation))
+                        .whenComplete((result, e) -> {
+                            try {
+                                writer.write(result != null ? result : PointOperationResult.failure(index, operation, "error"));
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+            }
+            // 제출한 작업이 모두 끝날 때까지 대기
+            inFlight.acquire(MAX_IN_FLIGHT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("일괄 처리가 중단되었습니다.");
+        }
+
+        if (invalid != null) {
+            writer.write(invalid);
+        }
+        if (writer.failure != null) {
+            throw writer.failure;
+        }
+        generator.close();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private PointOperationResult apply(int index, PointOperation operation) {
+        try {
+            if (operation.type() == null) {
+                return PointOperationResult.failure(index, operation, INVALID_BATCH_OPERATION);
+            }
+            UserPoint userPoint = switch (operation.type()) {
+                case CHARGE -> pointService.charge(operation.userId(), operation.amount());
+                case USE -> pointService.use(operation.userId(), operation.amount());
+                case TRANSFER_OUT, TRANSFER_IN ->
+                        throw new PointException(INVALID_BATCH_OPERATION, "일괄 처리는 충전/사용만 지원합니다.");
+            };
+            return PointOperationResult.success(index, operation, userPoint);
+        } catch (PointException e) {
+            return PointOperationResult.failure(index, operation, e.getErrorCode());
+        } catch (RuntimeException e) {
+            return PointOperationResult.failure(index, operation, "error");
+        }
+    }
+
+    // 요청 본문에서 작업을 하나씩 읽는다. 다음 작업을 미리 하나 읽어둔다.
+    private static final class OperationIterator implements Iterator<PointOperation> {
+
+        private final MappingIterator<PointOperation> values;
+
+        private PointOperation next;
+
+        private int count;
+
+        private OperationIterator(MappingIterator<PointOperation> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public PointOperation next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PointOperation operation = next;
+            next = null;
+            return operation;
+        }
+
+        private PointOperation advance() {
+            try {
+                if (!values.hasNextValue()) {
+                    return null;
+                }
+                if (count++ >= MAX_OPERATIONS) {
+                    throw new PointException(INVALID_BATCH_OPERATION, "한 번에 %d 건까지 처리할 수 있습니다.".formatted(MAX_OPERATIONS));
+                }
+                return values.nextValue();
+            } catch (IOException e) {
+                throw new PointException(INVALID_BATCH_OPERATION, "작업 목록을 읽을 수 없습니다.");
+            }
+        }
+    }
+
+    // 여러 스레드에서 끝난 결과를 하나씩 응답 스트림에 기록한다.
+    private static final class ResultWriter {
+
+        private final JsonGenerator generator;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private int unflushed;
+
+        // 클라이언트 연결이 끊기는 등 기록에 실패하면 이후 작업은 제출하지 않는다.
+        private volatile IOException failure;
+
+        private ResultWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        void write(PointOperationResult result) {
+            lock.lock();
+            try {
+                if (failure != null) {
+                    return;
+                }
+                generator.writeObject(result);
+                generator.writeRaw('\n');
+                if (++unflushed >= FLUSH_INTERVAL) {
+                    generator.flush();
+                    unflushed = 0;
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
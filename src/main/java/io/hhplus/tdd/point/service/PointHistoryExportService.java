@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.enums.ExportFormat;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_EXPORT_RANGE;
+
+/**
+ * 여러 유저의 포인트 내역을 응답 스트림에 바로 기록하는 내보내기 서비스
+ * - 유저별로 PAGE_SIZE 만큼 읽어서 쓰고 flush 한 뒤 다음 페이지를 읽는다.
+ * - 클라이언트가 느리면 출력 스트림 쓰기가 막히면서 조회도 함께 멈추므로, 힙에는 한 페이지만 올라간다.
+ * - 내역은 PointService 와 같은 저장소에서 읽는다. 엔진이 내역을 직접 보관하면(sharded) 엔진의 저장소를 읽는다.
+ */
+@Service
+public class PointHistoryExportService {
+
+    static final int PAGE_SIZE = 500;
+
+    // 한 번에 내보낼 수 있는 최대 유저 수
+    static final int MAX_USERS = 1_000_000;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final PointHistoryRepository pointHistoryRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public PointHistoryExportService(PointHistoryRepository pointHistoryRepository,
+                                     ObjectProvider<PointEngine> pointEngineProvider,
+                                     ObjectMapper objectMapper) {
+        this.pointHistoryRepository = PointEngine.historyRepositoryOf(pointEngineProvider.getIfAvailable(), pointHistoryRepository);
+        this.objectMapper = objectMapper;
+    }
+
+    // 유저 id 목록이 있으면 목록을, 없으면 [fromUserId, toUserId] 범위를 내보낼 유저로 사용
+    public LongStream resolveUserIds(List<Long> userIds, Long fromUserId, Long toUserId) {
+        if (userIds != null && !userIds.isEmpty()) {
+            if (userIds.size() > MAX_USERS) {
+                throw new PointException(INVALID_EXPORT_RANGE, "한 번에 %d 명까지 내보낼 수 있습니다.".formatted(MAX_USERS));
+            }
+            return userIds.stream().mapToLong(Long::longValue).distinct();
+        }
+        if (fromUserId == null || toUserId == null || fromUserId > toUserId) {
+            throw new PointException(INVALID_EXPORT_RANGE, "userIds 또는 fromUserId, toUserId 를 입력해주세요.");
+        }
+        if (toUserId - fromUserId >= MAX_USERS) {
+            throw new PointException(INVALID_EXPORT_RANGE, "한 번에 %d 명까지 내보낼 수 있습니다.".formatted(MAX_USERS));
+        }
+        return LongStream.rangeClosed(fromUserId, toUserId);
+    }
+
+    public void export(LongStream userIds, ExportFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case NDJSON -> exportNdjson(userIds, out);
+            case BINARY -> exportBinary(userIds, out);
+        }
+    }
+
+    private void exportNdjson(LongStream userIds, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        forEachPage(userIds, histories -> {
+            for (PointHistory pointHistory : histories) {
+                generator.writeObject(pointHistory);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        });
+        generator.close();
+    }
+
+    private void exportBinary(LongStream userIds, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, WRITE_BUFFER_SIZE));
+        forEachPage(userIds, histories -> {
+            for (PointHistory pointHistory : histories) {
+                data.writeLong(pointHistory.id());
+                data.writeLong(pointHistory.userId());
+                data.writeLong(pointHistory.amount());
+                data.writeByte(pointHistory.type().ordinal());
+                data.writeLong(pointHistory.updateMillis());
+            }
+            data.flush();
+        });
+        data.flush();
+    }
+
+    private void forEachPage(LongStream userIds, PageWriter writer) throws IOException {
+        PrimitiveIterator.OfLong iterator = userIds.iterator();
+        while (iterator.hasNext()) {
+            long userId = iterator.nextLong();
+            PointHistoryQuery query = PointHistoryQuery.firstPage(PAGE_SIZE);
+            List<PointHistory> histories;
+            do {
+                histories = pointHistoryRepository.selectByUserId(userId, query);
+                if (histories.isEmpty()) {
+                    break;
+                }
+                writer.write(histories);
+                long lastId = histories.get(histories.size() - 1).id();
+                query = new PointHistoryQuery(lastId, PAGE_SIZE, query.fromMillis(), query.toMillis(), query.type());
+            } while (histories.size() == PAGE_SIZE);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageWriter {
+        void write(List<PointHistory> histories) throws IOException;
+    }
+}
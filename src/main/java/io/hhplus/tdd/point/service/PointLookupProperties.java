@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 여러 유저 포인트 조회 설정
+ * - parallelism : 모든 요청을 합쳐서 동시에 실행하는 최대 조회 수
+ * - maxIds : 한 번에 조회할 수 있는 최대 유저 수
+ */
+@ConfigurationProperties(prefix = "point.lookup")
+public record PointLookupProperties(
+        @DefaultValue("64") int parallelism,
+        @DefaultValue("1000") int maxIds
+) {
+}
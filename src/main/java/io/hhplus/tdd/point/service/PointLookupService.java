@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_LOOKUP_IDS;
+
+/**
+ * 여러 유저의 포인트를 한 번에 조회하는 서비스
+ * - 중복을 제거한 유저마다 PointService.getPoint 를 병렬로 호출하므로, 전체 응답 시간이 조회 시간의 합이 아니라 가장 느린 조회에 가까워진다.
+ * - 조회는 virtual thread 에서 실행하고, 테이블에 동시에 몰리는 조회 수는 parallelism 으로 제한한다.
+ */
+@Service
+public class PointLookupService {
+
+    private final PointService pointService;
+
+    private final int maxIds;
+
+    // 모든 요청이 함께 사용하는 동시 조회 수 제한
+    private final Semaphore permits;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PointLookupService(PointService pointService, PointLookupProperties properties) {
+        this.pointService = pointService;
+        this.maxIds = properties.maxIds();
+        this.permits = new Semaphore(properties.parallelism());
+    }
+
+    // 유저 id 별 포인트, 요청한 순서를 유지한다.
+    public Map<Long, UserPoint> getPoints(Collection<Long> ids) {
+        List<Long> distinctIds = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw new PointException(INVALID_LOOKUP_IDS, "조회할 유저 id 를 입력해주세요.");
+        }
+        if (distinctIds.size() > maxIds) {
+            throw new PointException(INVALID_LOOKUP_IDS, "한 번에 %d 명까지 조회할 수 있습니다.".formatted(maxIds));
+        }
+
+        List<CompletableFuture<UserPoint>> futures = distinctIds.stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> selectPoint(id), executor))
+                .toList();
+
+        Map<Long, UserPoint> points = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < distinctIds.size(); i++) {
+                points.put(distinctIds.get(i), futures.get(i).join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return points;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private UserPoint selectPoint(long id) {
+        permits.acquireUninterruptibly();
+        try {
+            return pointService.getPoint(id);
+        } finally {
+            permits.release();
+        }
+    }
+}
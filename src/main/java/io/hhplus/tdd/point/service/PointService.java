@@ -1,44 +1,176 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.IdempotencyCache;
 import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.common.PointMetrics.Operation;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryCursor;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.PointCommandCombiner;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.enums.TransactionType;
 import io.hhplus.tdd.point.exception.PointException;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
 import static io.hhplus.tdd.point.enums.TransactionType.USE;
 import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_CHARGE_POINT;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_HISTORY_QUERY;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_TRANSFER;
 import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
 
 @Service
-@RequiredArgsConstructor
 public class PointService {
 
+    // 한 페이지에서 조회할 수 있는 최대 내역 수
+    static final int MAX_HISTORY_PAGE_SIZE = 1000;
+
     private final UserPointRepository userPointRepository;
 
     private final PointHistoryRepository pointHistoryRepository;
 
     private final LockHelper lockHelper;
 
+    private final PointMetrics pointMetrics;
+
+    private final IdempotencyCache idempotencyCache;
+
+    // 요청이 몰리는 유저를 찾아서, 락 기반 처리 대신 combiner 로 모아서 처리한다.
+    private final HotKeyDetector hotKeyDetector;
+
+    private final PointCommandCombiner pointCommandCombiner;
+
+    // point.engine.type 으로 선택된 엔진, 없으면 아래의 락 기반 처리를 사용
+    private final PointEngine pointEngine;
+
+    public PointService(UserPointRepository userPointRepository,
+                        PointHistoryRepository pointHistoryRepository,
+                        LockHelper lockHelper,
+                        PointMetrics pointMetrics,
+                        IdempotencyCache idempotencyCache,
+                        HotKeyDetector hotKeyDetector,
+                        PointCommandCombiner pointCommandCombiner,
+                        ObjectProvider<PointEngine> pointEngineProvider) {
+        this.userPointRepository = userPointRepository;
+        this.lockHelper = lockHelper;
+        this.pointMetrics = pointMetrics;
+        this.idempotencyCache = idempotencyCache;
+        this.hotKeyDetector = hotKeyDetector;
+        this.pointCommandCombiner = pointCommandCombiner;
+        this.pointEngine = pointEngineProvider.getIfAvailable();
+        // 엔진이 내역을 직접 보관하면 내역 조회도 엔진의 저장소에서 한다.
+        this.pointHistoryRepository = PointEngine.historyRepositoryOf(pointEngine, pointHistoryRepository);
+    }
+
     //포인트 조회
     public UserPoint getPoint(long id) {
-
-        return userPointRepository.selectById(id);
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = selectPoint(id);
+            pointMetrics.recordSuccess(Operation.GET_POINT, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.GET_POINT, e, startNanos);
+            throw e;
+        }
     }
 
     //포인트 충전
     public UserPoint charge(long id, long amount) {
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = chargePoint(id, amount);
+            pointMetrics.recordSuccess(Operation.CHARGE, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.CHARGE, e, startNanos);
+            throw e;
+        }
+    }
+
+    //포인트 충전, 같은 Idempotency-Key 의 재시도는 처음 결과를 그대로 반환
+    public UserPoint charge(long id, long amount, String idempotencyKey) {
+        return idempotencyCache.execute(id, idempotencyKey, CHARGE.name() + ":" + amount, () -> charge(id, amount));
+    }
+
+    //포인트 사용
+    public UserPoint use(long id, long amount) {
+        long startNanos = System.nanoTime();
+        try {
+            UserPoint userPoint = usePoint(id, amount);
+            pointMetrics.recordSuccess(Operation.USE, startNanos);
+            return userPoint;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.USE, e, startNanos);
+            throw e;
+        }
+    }
+
+    //포인트 사용, 같은 Idempotency-Key 의 재시도는 처음 결과를 그대로 반환
+    public UserPoint use(long id, long amount, String idempotencyKey) {
+        return idempotencyCache.execute(id, idempotencyKey, USE.name() + ":" + amount, () -> use(id, amount));
+    }
+
+    //포인트 전송
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        long startNanos = System.nanoTime();
+        try {
+            PointTransfer pointTransfer = transferPoint(fromId, toId, amount);
+            pointMetrics.recordSuccess(Operation.TRANSFER, startNanos);
+            return pointTransfer;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.TRANSFER, e, startNanos);
+            throw e;
+        }
+    }
+
+    //포인트 내역 조회
+    public List<PointHistory> getHistory(long id) {
+        long startNanos = System.nanoTime();
+        try {
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(id);
+            pointMetrics.recordSuccess(Operation.GET_HISTORY, startNanos);
+            return histories;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.GET_HISTORY, e, startNanos);
+            throw e;
+        }
+    }
+
+    private UserPoint selectPoint(long id) {
+        if (pointEngine != null) {
+            return pointEngine.getPoint(id);
+        }
+
+        return userPointRepository.selectById(id);
+    }
+
+    private UserPoint chargePoint(long id, long amount) {
 
         // 포인트의 유효성 체크
         if (!validPoint(amount)) {
             throw new PointException(INVALID_CHARGE_POINT, "0보다 작은 포인트는 충전되지 않습니다.");
         }
+        boolean hot = hotKeyDetector.record(id);
+        if (pointEngine != null) {
+            return pointEngine.charge(id, amount);
+        }
+        // 요청이 몰리는 유저는 쌓인 요청을 모아서 한 번에 반영해서 락 대기열이 길어지지 않도록 한다.
+        if (hot) {
+            return pointCommandCombiner.charge(id, amount);
+        }
         // 동시성 이슈를 개선하기 위해 lockHelper 를 사용
         return lockHelper.executeWithLock(id, () -> {
 
@@ -54,13 +186,20 @@ public class PointService {
         });
     }
 
-    //포인트 사용
-    public UserPoint use(long id, long amount) {
+    private UserPoint usePoint(long id, long amount) {
 
         // 포인트의 유효성 체크
         if (!validPoint(amount)) {
             throw new PointException(INVALID_CHARGE_POINT, "0보다 작은 포인트는 사용할 수 없습니다.");
         }
+        boolean hot = hotKeyDetector.record(id);
+        if (pointEngine != null) {
+            return pointEngine.use(id, amount);
+        }
+        // 요청이 몰리는 유저는 쌓인 요청을 모아서 한 번에 반영해서 락 대기열이 길어지지 않도록 한다.
+        if (hot) {
+            return pointCommandCombiner.use(id, amount);
+        }
         // 동시성 이슈를 개선하기 위해 lockHelper 를 사용
         return lockHelper.executeWithLock(id, () -> {
             UserPoint curUser = userPointRepository.selectById(id);
@@ -80,10 +219,86 @@ public class PointService {
         });
     }
 
-    //포인트 내역 조회
-    public List<PointHistory> getHistory(long id) {
+    private PointTransfer transferPoint(long fromId, long toId, long amount) {
 
-        return pointHistoryRepository.selectAllByUserId(id);
+        // 포인트의 유효성 체크
+        if (!validPoint(amount)) {
+            throw new PointException(INVALID_CHARGE_POINT, "0보다 작은 포인트는 전송할 수 없습니다.");
+        }
+        if (fromId == toId) {
+            throw new PointException(INVALID_TRANSFER, "자기 자신에게는 전송할 수 없습니다.");
+        }
+        hotKeyDetector.record(fromId);
+        hotKeyDetector.record(toId);
+        if (pointEngine != null) {
+            return pointEngine.transfer(fromId, toId, amount);
+        }
+        // 두 유저의 락을 항상 같은 순서로 잡아서 반대 방향 전송끼리 교착 상태에 빠지지 않도록 한다.
+        return lockHelper.executeWithLocks(fromId, toId, () -> {
+            UserPoint from = userPointRepository.selectById(fromId);
+
+            // 포인트가 부족하지 않은지 체크
+            if (!isPossibleUse(amount, from.point())) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            UserPoint to = userPointRepository.selectById(toId);
+
+            // 두 유저의 포인트 반영
+            UserPoint fromAfter = userPointRepository.insertOrUpdate(fromId, from.point() - amount);
+            UserPoint toAfter = userPointRepository.insertOrUpdate(toId, to.point() + amount);
+
+            // 양쪽 유저의 전송 내역 추가
+            long now = System.currentTimeMillis();
+            pointHistoryRepository.insert(fromId, amount, TRANSFER_OUT, now);
+            pointHistoryRepository.insert(toId, amount, TRANSFER_IN, now);
+
+            return new PointTransfer(fromAfter, toAfter);
+        });
+    }
+
+    //포인트 내역 페이지 조회
+    public PointHistoryPage getHistoryPage(long id, String cursor, int limit, Long fromMillis, Long toMillis, TransactionType type) {
+        long startNanos = System.nanoTime();
+        try {
+            PointHistoryPage page = selectHistoryPage(id, cursor, limit, fromMillis, toMillis, type);
+            pointMetrics.recordSuccess(Operation.GET_HISTORY_PAGE, startNanos);
+            return page;
+        } catch (RuntimeException e) {
+            recordFailure(Operation.GET_HISTORY_PAGE, e, startNanos);
+            throw e;
+        }
+    }
+
+    private PointHistoryPage selectHistoryPage(long id, String cursor, int limit, Long fromMillis, Long toMillis, TransactionType type) {
+        // 0 이하의 limit 은 다른 잘못된 조회 조건처럼 400 으로 거절하고, 너무 큰 limit 은 MAX_HISTORY_PAGE_SIZE 로 줄인다.
+        if (limit < 1) {
+            throw new PointException(INVALID_HISTORY_QUERY, "limit 은 1 이상으로 입력해주세요.");
+        }
+        int pageSize = Math.min(limit, MAX_HISTORY_PAGE_SIZE);
+        PointHistoryQuery query = new PointHistoryQuery(
+                PointHistoryCursor.decode(cursor),
+                // 다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+                pageSize + 1,
+                fromMillis == null ? Long.MIN_VALUE : fromMillis,
+                toMillis == null ? Long.MAX_VALUE : toMillis,
+                type
+        );
+
+        List<PointHistory> histories = pointHistoryRepository.selectByUserId(id, query);
+        if (histories.size() <= pageSize) {
+            return new PointHistoryPage(histories, null);
+        }
+        List<PointHistory> page = histories.subList(0, pageSize);
+        return new PointHistoryPage(page, PointHistoryCursor.encode(page.get(pageSize - 1).id()));
+    }
+
+    // 처리 결과를 ErrorCode 별로 나눠서 기록
+    private void recordFailure(Operation operation, RuntimeException e, long startNanos) {
+        if (e instanceof PointException pointException) {
+            pointMetrics.recordFailure(operation, pointException.getErrorCode(), startNanos);
+        } else {
+            pointMetrics.recordError(operation, startNanos);
+        }
     }
 
     // 충전하려는 포인트가 0 미만인지 체크
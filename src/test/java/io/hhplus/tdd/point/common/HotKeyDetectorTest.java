@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.domain.HotKeyStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// HotKeyDetector 에 대한 단위 테스트
+class HotKeyDetectorTest {
+
+    // 자동 감쇠가 테스트 중에 끼어들지 않도록 window 를 길게 잡고, decay 는 직접 호출한다.
+    private final HotKeyDetector hotKeyDetector = new HotKeyDetector(
+            new HotKeyProperties(true, 1024, 4, 100, Duration.ofHours(1), 2), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        hotKeyDetector.close();
+    }
+
+    @DisplayName("요청 수가 threshold 에 이르면 hot key 로 감지한다.")
+    @Test
+    void detectAtThreshold() {
+        //given
+        long userId = 1;
+        for (int i = 0; i < 99; i++) {
+            hotKeyDetector.record(userId);
+        }
+
+        //when
+        boolean hot = hotKeyDetector.record(userId);
+
+        //then
+        assertThat(hot).isTrue();
+        assertThat(hotKeyDetector.isHot(userId)).isTrue();
+    }
+
+    @DisplayName("요청이 적은 유저는 다른 유저가 많이 요청해도 hot key 가 아니다.")
+    @Test
+    void coldKeysStayCold() {
+        //given
+        for (int i = 0; i < 1000; i++) {
+            hotKeyDetector.record(1);
+        }
+
+        //when
+        boolean hot = false;
+        for (long userId = 2; userId < 1000; userId++) {
+            hot |= hotKeyDetector.record(userId);
+        }
+
+        //then
+        assertThat(hot).isFalse();
+        assertThat(hotKeyDetector.estimate(1)).isGreaterThanOrEqualTo(1000);
+    }
+
+    @DisplayName("hot key 는 maxKeys 명까지만 등록한다.")
+    @Test
+    void boundedHotKeys() {
+        //when
+        for (long userId = 1; userId <= 5; userId++) {
+            for (int i = 0; i < 100; i++) {
+                hotKeyDetector.record(userId);
+            }
+        }
+
+        //then
+        assertThat(hotKeyDetector.hotKeys()).hasSize(2);
+    }
+
+    @DisplayName("요청이 줄어든 유저는 감쇠 후 hot key 에서 해제된다.")
+    @Test
+    void decayReleasesHotKey() {
+        //given
+        long userId = 1;
+        for (int i = 0; i < 150; i++) {
+            hotKeyDetector.record(userId);
+        }
+
+        //when
+        hotKeyDetector.decay();
+        boolean afterFirstDecay = hotKeyDetector.isHot(userId);
+        hotKeyDetector.decay();
+
+        //then
+        assertThat(afterFirstDecay).isTrue();
+        assertThat(hotKeyDetector.isHot(userId)).isFalse();
+    }
+
+    @DisplayName("hot key 의 요청 수와 락 대기 시간을 모아서 추정 요청 수 순서로 보여준다.")
+    @Test
+    void hotKeyStats() {
+        //given
+        for (int i = 0; i < 300; i++) {
+            hotKeyDetector.record(1);
+        }
+        for (int i = 0; i < 100; i++) {
+            hotKeyDetector.record(2);
+        }
+
+        //when
+        hotKeyDetector.recordLockWait(1, 1_000_000);
+        hotKeyDetector.recordLockWait(1, 3_000_000);
+        hotKeyDetector.recordLockWait(3, 5_000_000);
+        List<HotKeyStats> stats = hotKeyDetector.hotKeys();
+
+        //then
+        assertThat(stats).extracting(HotKeyStats::userId).containsExactly(1L, 2L);
+        assertThat(stats.get(0).requests()).isEqualTo(201);
+        assertThat(stats.get(0).lockWaits()).isEqualTo(2);
+        assertThat(stats.get(0).averageLockWaitMicros()).isEqualTo(2000);
+        assertThat(stats.get(0).maxLockWaitMicros()).isEqualTo(3000);
+    }
+}
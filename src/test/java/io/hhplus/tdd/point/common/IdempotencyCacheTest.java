@@ -0,0 +1,223 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.IDEMPOTENCY_IN_PROGRESS;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_IDEMPOTENCY_KEY;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// IdempotencyCache 에 대한 단위 테스트
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache();
+
+    @DisplayName("같은 key 로 다시 요청하면 실행하지 않고 처음 결과를 반환한다.")
+    @Test
+    void duplicateReturnsCachedResult() {
+        //given
+        AtomicInteger executed = new AtomicInteger();
+        idempotencyCache.execute(1L, "key", "CHARGE:1000", executed::incrementAndGet);
+
+        //when
+        Integer result = idempotencyCache.execute(1L, "key", "CHARGE:1000", executed::incrementAndGet);
+
+        //then
+        assertThat(result).isEqualTo(1);
+        assertThat(executed).hasValue(1);
+    }
+
+    @DisplayName("같은 key 라도 유저가 다르면 각각 실행한다.")
+    @Test
+    void keyPerUser() {
+        //given
+        AtomicInteger executed = new AtomicInteger();
+
+        //when
+        idempotencyCache.execute(1L, "key", "CHARGE:1000", executed::incrementAndGet);
+        idempotencyCache.execute(2L, "key", "CHARGE:1000", executed::incrementAndGet);
+
+        //then
+        assertThat(executed).hasValue(2);
+    }
+
+    @DisplayName("같은 key 로 동시에 요청하면 한 번만 실행하고 모두 같은 결과를 받는다.")
+    @Test
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        //given
+        int threadCount = 32;
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return idempotencyCache.execute(1L, "key", "CHARGE:1000", () -> {
+                    sleep(50);
+                    return executed.incrementAndGet();
+                });
+            }));
+        }
+        start.countDown();
+
+        //then
+        for (Future<Integer> future : futures) {
+            assertThat(future.get()).isEqualTo(1);
+        }
+        assertThat(executed).hasValue(1);
+        executorService.shutdown();
+    }
+
+    @DisplayName("실패한 요청은 보관하지 않아 같은 key 로 다시 시도할 수 있다.")
+    @Test
+    void failureIsNotCached() {
+        //given
+        assertThatThrownBy(() -> idempotencyCache.execute(1L, "key", "USE:1000", () -> {
+            throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+        }))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+
+        //when
+        String result = idempotencyCache.execute(1L, "key", "USE:1000", () -> "retried");
+
+        //then
+        assertThat(result).isEqualTo("retried");
+    }
+
+    @DisplayName("같은 key 로 다른 요청을 보내면 예외를 반환한다.")
+    @Test
+    void fingerprintMismatch() {
+        //given
+        idempotencyCache.execute(1L, "key", "CHARGE:1000", () -> "charged");
+
+        //when //then
+        assertThatThrownBy(() -> idempotencyCache.execute(1L, "key", "USE:1000", () -> "used"))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_IDEMPOTENCY_KEY);
+    }
+
+    @DisplayName("비어있거나 너무 긴 key 는 예외를 반환한다.")
+    @Test
+    void invalidKey() {
+        //when //then
+        assertThatThrownBy(() -> idempotencyCache.execute(1L, " ", "CHARGE:1000", () -> "charged"))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_IDEMPOTENCY_KEY);
+        assertThatThrownBy(() -> idempotencyCache.execute(1L, "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1), "CHARGE:1000", () -> "charged"))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_IDEMPOTENCY_KEY);
+    }
+
+    @DisplayName("보관하는 key 수는 maximumSize 를 넘지 않는다.")
+    @Test
+    void bounded() {
+        //given
+        IdempotencyCache boundedCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(5)), new SimpleMeterRegistry());
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            boundedCache.execute(1L, "key-" + i, "CHARGE:1000", () -> "charged");
+        }
+
+        //then
+        assertThat(boundedCache.size()).isLessThanOrEqualTo(100);
+    }
+
+    @DisplayName("처리 중인 key 는 maximumSize 를 넘는 key 가 들어와도 제거되지 않아, 같은 key 의 재시도가 다시 실행되지 않는다.")
+    @Test
+    void inFlightPinned() throws Exception {
+        //given
+        IdempotencyCache boundedCache = new IdempotencyCache(new IdempotencyProperties(10, Duration.ofMinutes(10), Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<String> first = executorService.submit(() -> boundedCache.execute(1L, "slow", "CHARGE:1000", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            awaitLatch(release);
+            return "charged";
+        }));
+        started.await();
+
+        //when
+        for (int i = 0; i < 1_000; i++) {
+            boundedCache.execute(1L, "key-" + i, "CHARGE:1000", () -> "charged");
+        }
+        boundedCache.size();
+        Future<String> retry = executorService.submit(() -> boundedCache.execute(1L, "slow", "CHARGE:1000", () -> {
+            executions.incrementAndGet();
+            return "charged again";
+        }));
+        release.countDown();
+
+        //then
+        assertThat(first.get()).isEqualTo("charged");
+        assertThat(retry.get()).isEqualTo("charged");
+        assertThat(executions.get()).isEqualTo(1);
+        executorService.shutdown();
+    }
+
+    @DisplayName("처리 중인 요청이 waitTimeout 안에 끝나지 않으면 같은 key 의 요청은 기다리지 않고 예외를 반환한다.")
+    @Test
+    void waitTimeout() throws Exception {
+        //given
+        IdempotencyCache timeoutCache = new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(10), Duration.ofMillis(100)), new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<String> first = executorService.submit(() -> timeoutCache.execute(1L, "slow", "CHARGE:1000", () -> {
+            started.countDown();
+            awaitLatch(release);
+            return "charged";
+        }));
+        started.await();
+
+        //when //then
+        assertThatThrownBy(() -> timeoutCache.execute(1L, "slow", "CHARGE:1000", () -> "charged again"))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(IDEMPOTENCY_IN_PROGRESS);
+        release.countDown();
+        assertThat(first.get()).isEqualTo("charged");
+        assertThat(timeoutCache.execute(1L, "slow", "CHARGE:1000", () -> "charged again")).isEqualTo("charged");
+        executorService.shutdown();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
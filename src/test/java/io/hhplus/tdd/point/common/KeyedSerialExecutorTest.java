@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// KeyedSerialExecutor 에 대한 단위 테스트
+class KeyedSerialExecutorTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+    private final KeyedSerialExecutor serialExecutor = new KeyedSerialExecutor(executorService);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("같은 key 의 작업은 제출된 순서대로 하나씩 실행된다.")
+    @Test
+    void serialPerKey() {
+        //given
+        long key = 1;
+        int count = 1000;
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < count; i++) {
+            int order = i;
+            futures.add(serialExecutor.submit(key, () -> {
+                executed.add(order);
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        //then
+        assertThat(executed).hasSize(count).isSorted();
+        assertThat(serialExecutor.pendingKeys()).isZero();
+    }
+
+    @DisplayName("다른 key 의 작업은 앞선 작업을 기다리지 않고 실행된다.")
+    @Test
+    void independentKeys() throws Exception {
+        //given
+        CountDownLatch blocker = new CountDownLatch(1);
+        CompletableFuture<Integer> blocked = serialExecutor.submit(1, () -> {
+            await(blocker);
+            return 1;
+        });
+
+        //when
+        Integer other = serialExecutor.submit(2, () -> 2).get(1, TimeUnit.SECONDS);
+
+        //then
+        assertThat(other).isEqualTo(2);
+        assertThat(blocked).isNotDone();
+        blocker.countDown();
+        assertThat(blocked.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @DisplayName("실행 전에 취소된 작업은 실행되지 않고, 뒤의 작업은 그대로 실행된다.")
+    @Test
+    void cancelBeforeRun() throws Exception {
+        //given
+        long key = 1;
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        serialExecutor.submit(key, () -> {
+            await(blocker);
+            return 0;
+        });
+        CompletableFuture<Integer> cancelled = serialExecutor.submit(key, () -> {
+            cancelledRan.set(true);
+            return 1;
+        });
+        CompletableFuture<Integer> next = serialExecutor.submit(key, () -> 2);
+
+        //when
+        cancelled.cancel(false);
+        blocker.countDown();
+
+        //then
+        assertThat(next.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(cancelledRan).isFalse();
+    }
+
+    @DisplayName("작업이 실패해도 같은 key 의 다음 작업은 실행된다.")
+    @Test
+    void failureDoesNotBlockQueue() throws Exception {
+        //given
+        long key = 1;
+
+        //when
+        CompletableFuture<Integer> failed = serialExecutor.submit(key, () -> {
+            throw new IllegalStateException("실패");
+        });
+        CompletableFuture<Integer> next = serialExecutor.submit(key, () -> 2);
+
+        //then
+        assertThat(next.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @DisplayName("executor 가 작업을 거절하면 그 작업은 거절된 예외로 끝나고, 뒤의 작업은 그대로 실행된다.")
+    @Test
+    void rejectedByExecutor() throws Exception {
+        //given
+        // 두 번째로 실행을 요청받은 작업만 거절한다.
+        AtomicInteger executions = new AtomicInteger();
+        KeyedSerialExecutor rejectingExecutor = new KeyedSerialExecutor(command -> {
+            if (executions.incrementAndGet() == 2) {
+                throw new RejectedExecutionException("rejected");
+            }
+            executorService.execute(command);
+        });
+        long key = 1;
+        CountDownLatch blocker = new CountDownLatch(1);
+        CompletableFuture<Integer> first = rejectingExecutor.submit(key, () -> {
+            await(blocker);
+            return 1;
+        });
+        CompletableFuture<Integer> rejected = rejectingExecutor.submit(key, () -> 2);
+        CompletableFuture<Integer> next = rejectingExecutor.submit(key, () -> 3);
+
+        //when
+        blocker.countDown();
+
+        //then
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(next.get(1, TimeUnit.SECONDS)).isEqualTo(3);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
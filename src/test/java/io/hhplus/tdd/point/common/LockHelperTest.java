@@ -0,0 +1,291 @@
+package io.hhplus.tdd.point.common;
+
+import io.hhplus.tdd.point.enums.LockStrategy;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.LOCK_TIMEOUT;
+import static io.hhplus.tdd.point.exception.ErrorCode.TOO_BUSY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// LockHelper 에 대한 단위 테스트
+class LockHelperTest {
+
+    @DisplayName("어떤 락 방식이든 같은 유저의 작업은 한 번에 하나씩 실행된다.")
+    @ParameterizedTest
+    @EnumSource(LockStrategy.class)
+    void mutualExclusion(LockStrategy strategy) throws InterruptedException {
+        //given
+        LockHelper lockHelper = new LockHelper(new LockProperties(strategy, 16), new SimpleMeterRegistry());
+        long userId = 1;
+        int numThreads = 8;
+        int iterations = 1000;
+        long[] counter = new long[1];
+
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < iterations; j++) {
+                        lockHelper.executeWithLock(userId, () -> counter[0]++);
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        doneSignal.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        assertThat(lockHelper.executeWithLock(userId, () -> counter[0])).isEqualTo((long) numThreads * iterations);
+    }
+
+    @DisplayName("어떤 락 방식이든 두 유저의 락을 반대 순서로 요청해도 교착 상태 없이 실행된다.")
+    @ParameterizedTest
+    @EnumSource(LockStrategy.class)
+    void executeWithLocksOrdered(LockStrategy strategy) throws InterruptedException {
+        //given
+        LockHelper lockHelper = new LockHelper(new LockProperties(strategy, 4), new SimpleMeterRegistry());
+        int numThreads = 8;
+        int iterations = 2000;
+        long[] counter = new long[1];
+
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            boolean reversed = i % 2 == 0;
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < iterations; j++) {
+                        long first = j % 16 + 1;
+                        long second = (j + 5) % 16 + 1;
+                        lockHelper.executeWithLocks(reversed ? second : first, reversed ? first : second, () -> null);
+                        lockHelper.executeWithLocks(reversed ? 2L : 1L, reversed ? 1L : 2L, () -> counter[0]++);
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        boolean finished = doneSignal.await(30, TimeUnit.SECONDS);
+        executorService.shutdownNow();
+
+        //then
+        assertThat(finished).isTrue();
+        assertThat(lockHelper.executeWithLock(1L, () -> counter[0])).isEqualTo((long) numThreads * iterations);
+    }
+
+    @DisplayName("REF_COUNTED 방식은 사용이 끝난 락을 메모리에서 제거한다.")
+    @Test
+    void refCountedEviction() {
+        //given
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.REF_COUNTED, 16), new SimpleMeterRegistry());
+
+        //when
+        for (long userId = 1; userId <= 1000; userId++) {
+            lockHelper.executeWithLock(userId, () -> {
+            });
+        }
+
+        //then
+        assertThat(lockHelper.lockCount()).isZero();
+    }
+
+    @DisplayName("STRIPED 방식은 유저 수와 상관없이 락 개수가 고정된다.")
+    @Test
+    void stripedBounded() {
+        //given
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.STRIPED, 100), new SimpleMeterRegistry());
+
+        //when
+        for (long userId = 1; userId <= 1000; userId++) {
+            lockHelper.executeWithLock(userId, () -> {
+            });
+        }
+
+        //then
+        assertThat(lockHelper.lockCount()).isEqualTo(128);
+    }
+
+    @DisplayName("락을 잡고 작업을 실행한 시간이 호출마다 기록된다.")
+    @Test
+    void holdMetric() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.PER_KEY, 16), meterRegistry);
+
+        //when
+        for (long userId = 1; userId <= 3; userId++) {
+            lockHelper.executeWithLock(userId, () -> {
+            });
+        }
+
+        //then
+        assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("point.lock.wait").timer().count()).isZero();
+    }
+
+    @DisplayName("다른 요청이 락을 잡고 있어서 기다리면 경합 횟수가 기록된다.")
+    @Test
+    void contentionMetric() throws InterruptedException {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.PER_KEY, 16), meterRegistry);
+        long userId = 1;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> lockHelper.executeWithLock(userId, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        locked.await();
+
+        //when
+        Thread waiter = new Thread(() -> lockHelper.executeWithLock(userId, () -> {
+        }));
+        waiter.start();
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+        holder.join();
+        waiter.join();
+
+        //then
+        assertThat(meterRegistry.get("point.lock.contended").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("공정 락을 사용해도 같은 유저의 작업은 한 번에 하나씩 실행된다.")
+    @ParameterizedTest
+    @EnumSource(LockStrategy.class)
+    void fairMutualExclusion(LockStrategy strategy) throws InterruptedException {
+        //given
+        LockHelper lockHelper = new LockHelper(new LockProperties(strategy, 16, true, Duration.ofSeconds(10), 0), new SimpleMeterRegistry());
+        long userId = 1;
+        int numThreads = 8;
+        int iterations = 1000;
+        long[] counter = new long[1];
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    lockHelper.executeWithLock(userId, () -> counter[0]++);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+
+        //then
+        assertThat(counter[0]).isEqualTo((long) numThreads * iterations);
+    }
+
+    @DisplayName("같은 유저의 락을 기다리는 요청이 maxWaiters 개면 기다리지 않고 예외를 반환한다.")
+    @Test
+    void rejectWhenTooManyWaiters() throws InterruptedException {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.PER_KEY, 16, false, Duration.ofSeconds(10), 1), meterRegistry);
+        long userId = 1;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> lockHelper.executeWithLock(userId, () -> {
+            locked.countDown();
+            await(release);
+        }));
+        holder.start();
+        locked.await();
+        Thread waiter = new Thread(() -> lockHelper.executeWithLock(userId, () -> {
+        }));
+        waiter.start();
+        // waiter 가 락 대기열에 들어갈 때까지 기다린다.
+        ReentrantLock lock = (ReentrantLock) lockHelper.getLock(userId);
+        while (!lock.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+
+        //when //then
+        assertThatThrownBy(() -> lockHelper.executeWithLock(userId, () -> {
+        }))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(TOO_BUSY);
+        // 다른 유저는 영향을 받지 않는다.
+        lockHelper.executeWithLock(2L, () -> {
+        });
+        assertThat(meterRegistry.get("point.lock.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+        waiter.join();
+    }
+
+    @DisplayName("timeout 안에 락을 잡지 못하면 예외를 반환하고, 락을 기다리지 않은 것으로 정리된다.")
+    @Test
+    void timeout() throws InterruptedException {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LockHelper lockHelper = new LockHelper(new LockProperties(LockStrategy.PER_KEY, 16, false, Duration.ofMillis(50), 1), meterRegistry);
+        long userId = 1;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> lockHelper.executeWithLock(userId, () -> {
+            locked.countDown();
+            await(release);
+        }));
+        holder.start();
+        locked.await();
+
+        //when //then
+        assertThatThrownBy(() -> lockHelper.executeWithLock(userId, () -> {
+        }))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(LOCK_TIMEOUT);
+        // 타임아웃된 요청은 대기 수에서 빠지므로 다음 요청은 거절되지 않고 다시 기다린다.
+        assertThatThrownBy(() -> lockHelper.executeWithLock(userId, () -> {
+        }))
+                .extracting("errorCode")
+                .isEqualTo(LOCK_TIMEOUT);
+        assertThat(meterRegistry.get("point.lock.timeouts").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("point.lock.rejected").counter().count()).isZero();
+
+        release.countDown();
+        holder.join();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
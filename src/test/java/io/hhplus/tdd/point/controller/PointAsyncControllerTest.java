@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.service.PointAsyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PointAsyncController.class)
+class PointAsyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PointAsyncService pointAsyncService;
+
+    @DisplayName("비동기로 유저의 포인트를 충전한다.")
+    @Test
+    void charge() throws Exception {
+        //given
+        long userId = 1;
+        long amount = 1000;
+        UserPoint userPoint = new UserPoint(userId, amount, System.currentTimeMillis());
+        when(pointAsyncService.chargeAsync(userId, amount)).thenReturn(CompletableFuture.completedFuture(userPoint));
+
+        //when
+        MvcResult result = mockMvc.perform(patch("/async/point/%s/charge".formatted(userId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.point").value(amount));
+    }
+
+    @DisplayName("비동기 처리 중 발생한 포인트 예외는 400 으로 응답한다.")
+    @Test
+    void useNotEnoughPoint() throws Exception {
+        //given
+        long userId = 1;
+        long amount = 1000;
+        when(pointAsyncService.useAsync(userId, amount))
+                .thenReturn(CompletableFuture.failedFuture(new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.")));
+
+        //when
+        MvcResult result = mockMvc.perform(patch("/async/point/%s/use".formatted(userId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(amount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(NOT_ENOUGH_POINT.getStatusCode()));
+    }
+
+    @DisplayName("비동기 처리 시간이 초과되면 503 으로 응답한다.")
+    @Test
+    void timeout() throws Exception {
+        //given
+        long userId = 1;
+        when(pointAsyncService.getPointAsync(userId)).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/async/point/%s".formatted(userId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"));
+    }
+}
@@ -1,8 +1,19 @@
 package io.hhplus.tdd.point.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.domain.HotKeyStats;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryCursor;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.PointTransferRequest;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.service.PointBatchService;
+import io.hhplus.tdd.point.service.PointHistoryExportService;
+import io.hhplus.tdd.point.service.PointLookupService;
 import io.hhplus.tdd.point.service.PointService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,17 +22,34 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
 import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
 import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.enums.ExportFormat.NDJSON;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_HISTORY_QUERY;
+import static io.hhplus.tdd.point.exception.ErrorCode.TOO_BUSY;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PointController.class)
@@ -33,6 +61,18 @@ class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private PointHistoryExportService pointHistoryExportService;
+
+    @MockBean
+    private PointBatchService pointBatchService;
+
+    @MockBean
+    private PointLookupService pointLookupService;
+
+    @MockBean
+    private HotKeyDetector hotKeyDetector;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,6 +114,28 @@ class PointControllerTest {
 
     }
 
+    @DisplayName("Idempotency-Key 헤더가 있으면 key 와 함께 포인트를 충전한다.")
+    @Test
+    void chargeWithIdempotencyKey() throws Exception {
+        //given
+        long userId = 2;
+        long amount = 1000;
+        String idempotencyKey = "charge-key";
+        UserPoint result = new UserPoint(userId, amount, System.currentTimeMillis());
+        when(pointService.charge(userId, amount, idempotencyKey)).thenReturn(result);
+
+        //when //then
+        mockMvc.perform(patch("/point/%s/charge".formatted(userId))
+                        .header("Idempotency-Key", idempotencyKey)
+                        .content(objectMapper.writeValueAsString(amount))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(amount));
+
+        verify(pointService).charge(userId, amount, idempotencyKey);
+    }
+
 
     @DisplayName("유저의 포인트를 사용한다.")
     @Test
@@ -116,4 +178,194 @@ class PointControllerTest {
 
 
     }
-}
\ No newline at end of file
+
+    @DisplayName("limit 없이 cursor 나 필터를 주면 전체 내역을 응답하지 않고 400 을 반환한다.")
+    @Test
+    void historyFilterWithoutLimit() throws Exception {
+        //given
+        long userId = 4;
+
+        //when //then
+        mockMvc.perform(get("/point/%s/histories".formatted(userId))
+                        .param("cursor", PointHistoryCursor.encode(1)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/point/%s/histories".formatted(userId))
+                        .param("from", "0")
+                        .param("to", "1000")
+                        .param("type", CHARGE.name()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(pointService, never()).getHistory(userId);
+    }
+
+    @DisplayName("limit 을 주면 유저의 포인트 내역을 페이지 단위로 조회한다.")
+    @Test
+    void historyPage() throws Exception {
+        //given
+        long userId = 5;
+        int limit = 1;
+        String nextCursor = PointHistoryCursor.encode(1);
+        PointHistoryPage result = new PointHistoryPage(
+                List.of(new PointHistory(1, userId, 100, CHARGE, System.currentTimeMillis())), nextCursor);
+
+        when(pointService.getHistoryPage(userId, null, limit, null, null, CHARGE)).thenReturn(result);
+
+        //when //then
+        mockMvc.perform(get("/point/%s/histories".formatted(userId))
+                        .param("limit", String.valueOf(limit))
+                        .param("type", CHARGE.name()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.histories", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @DisplayName("여러 유저의 포인트 내역을 NDJSON 스트림으로 내보낸다.")
+    @Test
+    void exportHistories() throws Exception {
+        //given
+        List<Long> userIds = List.of(1L, 2L);
+        when(pointHistoryExportService.resolveUserIds(userIds, null, null)).thenReturn(LongStream.of(1, 2));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/point/histories/export").param("userIds", "1,2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NDJSON.contentType()));
+        verify(pointHistoryExportService).export(any(LongStream.class), eq(NDJSON), any());
+    }
+
+    @DisplayName("다른 유저에게 포인트를 전송한다.")
+    @Test
+    void transfer() throws Exception {
+        //given
+        long fromId = 1;
+        long toId = 2;
+        long amount = 300;
+        PointTransfer result = new PointTransfer(new UserPoint(fromId, 700, 0), new UserPoint(toId, 300, 0));
+        when(pointService.transfer(fromId, toId, amount)).thenReturn(result);
+
+        //when //then
+        mockMvc.perform(patch("/point/%s/transfer".formatted(fromId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointTransferRequest(toId, amount))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point").value(700))
+                .andExpect(jsonPath("$.to.point").value(300));
+    }
+
+    @DisplayName("여러 유저의 충전/사용 작업을 한 번에 요청하면 결과를 NDJSON 으로 응답한다.")
+    @Test
+    void batch() throws Exception {
+        //given
+        List<PointOperation> operations = List.of(new PointOperation(1, CHARGE, 1000), new PointOperation(2, USE, 100));
+        Iterator<PointOperation> iterator = operations.iterator();
+        when(pointBatchService.read(any(InputStream.class))).thenReturn(iterator);
+
+        //when
+        MvcResult result = mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NDJSON.contentType()));
+        verify(pointBatchService).execute(eq(iterator), any());
+    }
+
+    @DisplayName("여러 유저의 포인트를 한 번에 조회한다.")
+    @Test
+    void points() throws Exception {
+        //given
+        Map<Long, UserPoint> points = new LinkedHashMap<>();
+        points.put(1L, new UserPoint(1, 1000, 0));
+        points.put(2L, new UserPoint(2, 2000, 0));
+        when(pointLookupService.getPoints(List.of(1L, 2L))).thenReturn(points);
+
+        //when //then
+        mockMvc.perform(get("/point").param("ids", "1,2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.point").value(1000))
+                .andExpect(jsonPath("$.2.point").value(2000));
+    }
+
+    @DisplayName("많은 유저의 포인트는 요청 본문으로 유저 목록을 전달해서 조회한다.")
+    @Test
+    void lookupPoints() throws Exception {
+        //given
+        Map<Long, UserPoint> points = Map.of(1L, new UserPoint(1, 1000, 0));
+        when(pointLookupService.getPoints(List.of(1L))).thenReturn(points);
+
+        //when //then
+        mockMvc.perform(post("/point/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.point").value(1000));
+    }
+
+    @DisplayName("요청이 몰리는 유저 목록과 락 대기 통계를 조회한다.")
+    @Test
+    void hotKeys() throws Exception {
+        //given
+        when(hotKeyDetector.hotKeys()).thenReturn(List.of(
+                new HotKeyStats(7, 5000, 4800, 120, 350, 2100, System.currentTimeMillis())
+        ));
+
+        //when //then
+        mockMvc.perform(get("/point/admin/hot-keys"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].userId").value(7))
+                .andExpect(jsonPath("$[0].estimatedCount").value(5000))
+                .andExpect(jsonPath("$[0].lockWaits").value(120))
+                .andExpect(jsonPath("$[0].maxLockWaitMicros").value(2100));
+    }
+
+    @DisplayName("락을 기다리는 요청이 너무 많으면 429 로 응답한다.")
+    @Test
+    void chargeTooBusy() throws Exception {
+        //given
+        long userId = 1;
+        long amount = 1000;
+        when(pointService.charge(userId, amount)).thenThrow(new PointException(TOO_BUSY, TOO_BUSY.getMessage()));
+
+        //when //then
+        mockMvc.perform(patch("/point/%s/charge".formatted(userId))
+                        .content(objectMapper.writeValueAsString(amount))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.code").value("429"));
+    }
+
+    @DisplayName("limit 이 0 이면 내역을 조회하지 않고 400 으로 응답한다.")
+    @Test
+    void historyPageZeroLimit() throws Exception {
+        //given
+        long userId = 5;
+        when(pointService.getHistoryPage(userId, null, 0, null, null, null))
+                .thenThrow(new PointException(INVALID_HISTORY_QUERY, "limit 은 1 이상으로 입력해주세요."));
+
+        //when //then
+        mockMvc.perform(get("/point/%s/histories".formatted(userId))
+                        .param("limit", "0"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"));
+    }
+}
@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_TRANSFER;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// CasPointEngine 에 대한 단위 테스트
+class CasPointEngineTest {
+
+    private FakeUserPointRepository userPointRepository;
+
+    private FakePointHistoryRepository pointHistoryRepository;
+
+    private CasPointEngine casPointEngine;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = new FakeUserPointRepository();
+        pointHistoryRepository = new FakePointHistoryRepository();
+        casPointEngine = new CasPointEngine(userPointRepository, pointHistoryRepository,
+                new CasEngineProperties(1000), new SimpleMeterRegistry());
+    }
+
+    @DisplayName("처음 사용하는 유저는 테이블의 잔액에서 이어서 충전된다.")
+    @Test
+    void chargeFromStoredPoint() {
+        //given
+        long userId = 1;
+        userPointRepository.insertOrUpdate(userId, 1000);
+
+        //when
+        UserPoint result = casPointEngine.charge(userId, 500);
+
+        //then
+        assertThat(result.point()).isEqualTo(1500);
+    }
+
+    @DisplayName("가지고 있는 포인트 이상을 사용하면 예외를 반환하고 잔액은 그대로다.")
+    @Test
+    void useOverPoint() {
+        //given
+        long userId = 2;
+        casPointEngine.charge(userId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> casPointEngine.use(userId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(casPointEngine.getPoint(userId).point()).isEqualTo(100);
+    }
+
+    @DisplayName("두 유저의 잔액을 한 번에 바꿀 수 없으므로 전송은 거절하고 잔액은 그대로다.")
+    @Test
+    void transferRejected() {
+        //given
+        long fromId = 3;
+        long toId = 4;
+        casPointEngine.charge(fromId, 1000);
+
+        //when //then
+        assertThatThrownBy(() -> casPointEngine.transfer(fromId, toId, 400))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_TRANSFER);
+        assertThat(casPointEngine.getPoint(fromId).point()).isEqualTo(1000);
+        assertThat(casPointEngine.getPoint(toId).point()).isZero();
+    }
+
+    @DisplayName("동시에 사용해도 잔액이 음수가 되지 않고, 저장이 끝나면 테이블과 내역에 모두 반영된다.")
+    @Test
+    void useWhenConcurrencyEnv() throws InterruptedException {
+        //given
+        long userId = 3;
+        int numThreads = 16;
+        int requestsPerThread = 100;
+        casPointEngine.charge(userId, 1000);
+
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        AtomicInteger successCount = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        try {
+                            casPointEngine.use(userId, 1);
+                            successCount.incrementAndGet();
+                        } catch (PointException ignored) {
+
+                        }
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        doneSignal.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        casPointEngine.close();
+
+        //then
+        assertThat(successCount.get()).isEqualTo(1000);
+        assertThat(casPointEngine.getPoint(userId).point()).isZero();
+        assertThat(userPointRepository.selectById(userId).point()).isZero();
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(1001);
+    }
+
+    @DisplayName("내역 저장이 잠시 실패해도 다시 시도해서 테이블과 내역에 모두 반영된다.")
+    @Test
+    void persistRetry() throws InterruptedException {
+        //given
+        long userId = 4;
+        pointHistoryRepository.failNext(2);
+
+        //when
+        casPointEngine.charge(userId, 1000);
+        casPointEngine.close();
+
+        //then
+        assertThat(userPointRepository.selectById(userId).point()).isEqualTo(1000);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(1);
+    }
+
+    @DisplayName("다시 시도해도 저장하지 못하면 이후의 충전/사용 요청을 거절한다.")
+    @Test
+    void persistFailureStopsEngine() throws InterruptedException {
+        //given
+        long userId = 5;
+        pointHistoryRepository.failNext(Integer.MAX_VALUE);
+        casPointEngine.charge(userId, 1000);
+
+        //when
+        casPointEngine.close();
+
+        //then
+        assertThatThrownBy(() -> casPointEngine.charge(userId, 1000))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> casPointEngine.use(userId, 100))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(casPointEngine.getPoint(userId).point()).isEqualTo(1000);
+    }
+}
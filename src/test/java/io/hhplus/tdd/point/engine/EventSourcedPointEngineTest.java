@@ -0,0 +1,189 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.EventSourcedBalanceVerifier.VerificationResult;
+import io.hhplus.tdd.point.engine.EventSourcedPointEngine.BalanceCheckpoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// EventSourcedPointEngine, EventSourcedBalanceVerifier 에 대한 단위 테스트
+class EventSourcedPointEngineTest {
+
+    private static final int CHECKPOINT_INTERVAL = 4;
+
+    private FakeUserPointRepository userPointRepository;
+
+    private FakePointHistoryRepository pointHistoryRepository;
+
+    private EventSourcedPointEngine engine;
+
+    private EventSourcedBalanceVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = new FakeUserPointRepository();
+        pointHistoryRepository = new FakePointHistoryRepository();
+        EventSourcedEngineProperties properties = new EventSourcedEngineProperties(CHECKPOINT_INTERVAL, Duration.ofHours(1), 4, true);
+        engine = new EventSourcedPointEngine(userPointRepository, pointHistoryRepository, new LockHelper(), properties, new SimpleMeterRegistry());
+        verifier = new EventSourcedBalanceVerifier(engine, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.close();
+    }
+
+    @DisplayName("충전/사용하면 내역을 저장하고 잔액은 내역을 더한 값이 된다.")
+    @Test
+    void balanceFollowsHistory() {
+        //given
+        long userId = 1;
+
+        //when
+        engine.charge(userId, 1000);
+        UserPoint result = engine.use(userId, 300);
+
+        //then
+        assertThat(result.point()).isEqualTo(700);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId))
+                .extracting(PointHistory::type)
+                .containsExactly(CHARGE, USE);
+    }
+
+    @DisplayName("가지고 있는 포인트 이상을 사용하면 예외를 반환하고 내역을 남기지 않는다.")
+    @Test
+    void useOverPoint() {
+        //given
+        long userId = 2;
+        engine.charge(userId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> engine.use(userId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(1);
+        assertThat(engine.getPoint(userId).point()).isEqualTo(100);
+    }
+
+    @DisplayName("처음 사용하는 유저는 잔액 저장소가 아니라 내역으로 잔액을 만든다.")
+    @Test
+    void firstTouchRebuildsFromHistory() {
+        //given
+        long userId = 3;
+        pointHistoryRepository.insert(userId, 1000, CHARGE, 0);
+        pointHistoryRepository.insert(userId, 200, USE, 0);
+        userPointRepository.insertOrUpdate(userId, 5000);
+
+        //when
+        UserPoint result = engine.charge(userId, 100);
+
+        //then
+        assertThat(result.point()).isEqualTo(900);
+        assertThat(engine.checkpointOf(userId).balance()).isEqualTo(800);
+    }
+
+    @DisplayName("내역이 checkpointInterval 만큼 쌓이면 체크포인트가 마지막 내역으로 옮겨진다.")
+    @Test
+    void checkpointAdvances() {
+        //given
+        long userId = 4;
+
+        //when
+        for (int i = 0; i < CHECKPOINT_INTERVAL * 2 + 1; i++) {
+            engine.charge(userId, 10);
+        }
+
+        //then
+        List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+        BalanceCheckpoint checkpoint = engine.checkpointOf(userId);
+        assertThat(checkpoint.lastHistoryId()).isEqualTo(histories.get(CHECKPOINT_INTERVAL * 2 - 1).id());
+        assertThat(checkpoint.balance()).isEqualTo(10L * CHECKPOINT_INTERVAL * 2);
+        assertThat(checkpoint.eventsSince()).isEqualTo(1);
+    }
+
+    @DisplayName("검사하면 내역과 다른 잔액을 찾아서 내역 기준으로 고친다.")
+    @Test
+    void verifierRepairsDrift() {
+        //given
+        for (long userId = 10; userId < 20; userId++) {
+            engine.charge(userId, 1000);
+        }
+        userPointRepository.insertOrUpdate(15, 1);
+
+        //when
+        VerificationResult result = verifier.verifyAll();
+
+        //then
+        assertThat(result.checked()).isEqualTo(10);
+        assertThat(result.mismatched()).isEqualTo(1);
+        assertThat(engine.getPoint(15).point()).isEqualTo(1000);
+        assertThat(verifier.verifyAll().mismatched()).isZero();
+    }
+
+    @DisplayName("동시에 전송해도 전체 포인트는 그대로이고, 검사에서 어긋난 유저가 없다.")
+    @Test
+    void concurrentTransfersStayConsistent() throws InterruptedException {
+        //given
+        int users = 8;
+        int numThreads = 16;
+        int requestsPerThread = 200;
+        for (long userId = 0; userId < users; userId++) {
+            engine.charge(userId, 1000);
+        }
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            int offset = i;
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        long fromId = (offset + j) % users;
+                        long toId = (offset + j * 3 + 1) % users;
+                        if (fromId == toId) {
+                            continue;
+                        }
+                        try {
+                            engine.transfer(fromId, toId, 7);
+                        } catch (PointException ignored) {
+
+                        }
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        doneSignal.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        long total = 0;
+        for (long userId = 0; userId < users; userId++) {
+            total += engine.getPoint(userId).point();
+        }
+        assertThat(total).isEqualTo(1000L * users);
+        assertThat(verifier.verifyAll().mismatched()).isZero();
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 엔진 테스트용 메모리 내역 저장소, 필요하면 저장 실패를 흉내낸다.
+class FakePointHistoryRepository implements PointHistoryRepository {
+
+    private final List<PointHistory> table = new CopyOnWriteArrayList<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    // 남은 횟수만큼 저장을 실패시킨다.
+    private final AtomicInteger failures = new AtomicInteger();
+
+    void failNext(int count) {
+        failures.set(count);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("저장 실패");
+        }
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        table.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+    }
+}
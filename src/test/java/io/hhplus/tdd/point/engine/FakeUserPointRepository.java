@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 엔진 테스트용 메모리 잔액 저장소, 필요하면 저장 지연을 흉내낸다.
+class FakeUserPointRepository implements UserPointRepository {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    private final long writeDelayMillis;
+
+    FakeUserPointRepository() {
+        this(0);
+    }
+
+    FakeUserPointRepository(long writeDelayMillis) {
+        this.writeDelayMillis = writeDelayMillis;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        writeCount.incrementAndGet();
+        if (writeDelayMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(writeDelayMillis);
+            } catch (InterruptedException ignored) {
+
+            }
+        }
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    int writeCount() {
+        return writeCount.get();
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// PointCommandCombiner 에 대한 단위 테스트
+class PointCommandCombinerTest {
+
+    private FakeUserPointRepository userPointRepository;
+
+    private FakePointHistoryRepository pointHistoryRepository;
+
+    private PointCommandCombiner pointCommandCombiner;
+
+    @BeforeEach
+    void setUp() {
+        // 저장이 느려야 그 사이 쌓인 요청이 한 번에 처리된다.
+        userPointRepository = new FakeUserPointRepository(20);
+        pointHistoryRepository = new FakePointHistoryRepository();
+        pointCommandCombiner = new PointCommandCombiner(userPointRepository, pointHistoryRepository, new LockHelper());
+    }
+
+    @DisplayName("충전과 사용이 순서대로 반영된다.")
+    @Test
+    void chargeAndUse() {
+        //given
+        long userId = 1;
+
+        //when
+        pointCommandCombiner.charge(userId, 1000);
+        UserPoint result = pointCommandCombiner.use(userId, 300);
+
+        //then
+        assertThat(result.point()).isEqualTo(700);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(2);
+    }
+
+    @DisplayName("가지고 있는 포인트 이상을 사용하면 해당 요청만 예외를 반환한다.")
+    @Test
+    void useOverPoint() {
+        //given
+        long userId = 2;
+        pointCommandCombiner.charge(userId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> pointCommandCombiner.use(userId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(userPointRepository.selectById(userId).point()).isEqualTo(100);
+    }
+
+    @DisplayName("같은 유저에게 동시에 들어온 충전은 모아서 저장되고, 각 요청은 자신의 결과를 받는다.")
+    @Test
+    void chargeWhenConcurrencyEnv() throws InterruptedException {
+        //given
+        long userId = 3;
+        int numThreads = 20;
+        long chargeAmount = 100;
+
+        CountDownLatch startSignal = new CountDownLatch(1);
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        Set<Long> results = ConcurrentHashMap.newKeySet();
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    startSignal.await();
+                    results.add(pointCommandCombiner.charge(userId, chargeAmount).point());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        startSignal.countDown();
+        doneSignal.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        Set<Long> expected = LongStream.rangeClosed(1, numThreads)
+                .map(i -> i * chargeAmount)
+                .boxed()
+                .collect(Collectors.toSet());
+        assertThat(results).isEqualTo(expected);
+        assertThat(userPointRepository.selectById(userId).point()).isEqualTo(numThreads * chargeAmount);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(numThreads);
+        assertThat(userPointRepository.writeCount()).isLessThan(numThreads);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.IdempotencyCache;
+import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.LockProperties;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.enums.LockStrategy;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 유저 사이의 동시 전송에 대한 부하 테스트
+class PointTransferStressTest {
+
+    private static final int USERS = 32;
+    private static final long INITIAL_POINT = 100_000;
+    private static final int THREADS = 64;
+    private static final int TRANSFERS_PER_THREAD = 200;
+
+    @DisplayName("수천 건의 교차 전송이 동시에 일어나도 교착 상태 없이 끝나고, 전체 포인트와 내역이 맞는다.")
+    @ParameterizedTest
+    @ValueSource(strings = {"per-key", "striped", "ref-counted", "combining"})
+    void concurrentCrossTransfers(String mode) throws InterruptedException {
+        //given
+        FakeUserPointRepository userPointRepository = new FakeUserPointRepository();
+        FakePointHistoryRepository pointHistoryRepository = new FakePointHistoryRepository();
+        for (long userId = 1; userId <= USERS; userId++) {
+            userPointRepository.insertOrUpdate(userId, INITIAL_POINT);
+        }
+        // striped 는 stripe 를 적게 둬서 서로 다른 유저가 같은 락을 쓰는 경우도 섞이도록 한다.
+        LockHelper lockHelper = new LockHelper(switch (mode) {
+            case "striped" -> new LockProperties(LockStrategy.STRIPED, 8);
+            case "ref-counted" -> new LockProperties(LockStrategy.REF_COUNTED, 8);
+            default -> new LockProperties(LockStrategy.PER_KEY, 8);
+        }, new SimpleMeterRegistry());
+        PointEngine engine = switch (mode) {
+            case "combining" -> new CombiningPointEngine(
+                    new PointCommandCombiner(userPointRepository, pointHistoryRepository, lockHelper), userPointRepository);
+            default -> null;
+        };
+        StaticListableBeanFactory engines = new StaticListableBeanFactory(engine == null ? Map.of() : Map.of("pointEngine", engine));
+        PointService pointService = new PointService(userPointRepository, pointHistoryRepository, lockHelper,
+                new PointMetrics(), new IdempotencyCache(), HotKeyDetector.disabled(),
+                new PointCommandCombiner(userPointRepository, pointHistoryRepository, lockHelper), engines.getBeanProvider(PointEngine.class));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+        //when
+        for (int i = 0; i < THREADS; i++) {
+            executorService.execute(() -> {
+                try {
+                    startSignal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                    long fromId = random.nextInt(USERS) + 1;
+                    long toId = (fromId + random.nextInt(USERS - 1)) % USERS + 1;
+                    try {
+                        pointService.transfer(fromId, toId, random.nextInt(1, 1000));
+                        succeeded.incrementAndGet();
+                    } catch (PointException ignored) {
+                        // 잔액 부족
+                    }
+                }
+            });
+        }
+        startSignal.countDown();
+        executorService.shutdown();
+        boolean finished = executorService.awaitTermination(60, TimeUnit.SECONDS);
+
+        //then
+        assertThat(finished).as("교착 상태 없이 모든 전송이 끝나야 한다").isTrue();
+        long total = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            long point = pointService.getPoint(userId).point();
+            assertThat(point).isNotNegative();
+            total += point;
+
+            // 유저의 잔액은 처음 잔액에 받은 포인트를 더하고 보낸 포인트를 뺀 값과 같다.
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(userId);
+            long received = histories.stream().filter(history -> history.type() == TRANSFER_IN).mapToLong(PointHistory::amount).sum();
+            long sent = histories.stream().filter(history -> history.type() == TRANSFER_OUT).mapToLong(PointHistory::amount).sum();
+            assertThat(point).isEqualTo(INITIAL_POINT + received - sent);
+        }
+        assertThat(total).isEqualTo(USERS * INITIAL_POINT);
+        long historyCount = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            historyCount += pointHistoryRepository.selectAllByUserId(userId).size();
+        }
+        assertThat(historyCount).isEqualTo(2L * succeeded.get());
+    }
+}
@@ -0,0 +1,200 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// RingBufferPointEngine 에 대한 단위 테스트
+class RingBufferPointEngineTest {
+
+    private FakeUserPointRepository userPointRepository;
+
+    private FakePointHistoryRepository pointHistoryRepository;
+
+    private RingBufferPointEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = new FakeUserPointRepository();
+        pointHistoryRepository = new FakePointHistoryRepository();
+        // 링이 여러 바퀴 돌도록 작게 잡는다.
+        engine = new RingBufferPointEngine(userPointRepository, pointHistoryRepository,
+                new RingBufferEngineProperties(8, 4), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @DisplayName("충전/사용한 결과를 바로 받고, 저장 consumer 가 잔액과 내역을 저장한다.")
+    @Test
+    void chargeAndUse() throws InterruptedException {
+        //given
+        long userId = 1;
+
+        //when
+        engine.charge(userId, 1000);
+        UserPoint result = engine.use(userId, 300);
+        engine.close();
+
+        //then
+        assertThat(result.point()).isEqualTo(700);
+        assertThat(userPointRepository.selectById(userId).point()).isEqualTo(700);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId))
+                .extracting(PointHistory::type)
+                .containsExactly(CHARGE, USE);
+    }
+
+    @DisplayName("처음 보는 유저는 테이블의 잔액에서 이어서 처리한다.")
+    @Test
+    void continueFromStoredPoint() {
+        //given
+        long userId = 2;
+        userPointRepository.insertOrUpdate(userId, 1000);
+
+        //when
+        UserPoint result = engine.charge(userId, 500);
+
+        //then
+        assertThat(result.point()).isEqualTo(1500);
+        assertThat(engine.getPoint(userId).point()).isEqualTo(1500);
+    }
+
+    @DisplayName("가지고 있는 포인트 이상을 사용하면 예외를 반환하고 내역을 남기지 않는다.")
+    @Test
+    void useOverPoint() throws InterruptedException {
+        //given
+        long userId = 3;
+        engine.charge(userId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> engine.use(userId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(engine.getPoint(userId).point()).isEqualTo(100);
+        engine.close();
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(1);
+    }
+
+    @DisplayName("전송은 두 유저에게 한 번에 반영되고 양쪽에 내역이 남는다.")
+    @Test
+    void transfer() throws InterruptedException {
+        //given
+        long fromId = 4;
+        long toId = 5;
+        engine.charge(fromId, 1000);
+
+        //when
+        PointTransfer result = engine.transfer(fromId, toId, 400);
+        engine.close();
+
+        //then
+        assertThat(result.from().point()).isEqualTo(600);
+        assertThat(result.to().point()).isEqualTo(400);
+        assertThat(userPointRepository.selectById(toId).point()).isEqualTo(400);
+        assertThat(pointHistoryRepository.selectAllByUserId(fromId)).extracting(PointHistory::type).containsExactly(CHARGE, TRANSFER_OUT);
+        assertThat(pointHistoryRepository.selectAllByUserId(toId)).extracting(PointHistory::type).containsExactly(TRANSFER_IN);
+    }
+
+    @DisplayName("동시에 사용해도 잔액이 음수가 되지 않고, 링이 여러 바퀴 돌아도 모든 명령이 저장된다.")
+    @Test
+    void useWhenConcurrencyEnv() throws InterruptedException {
+        //given
+        long userId = 6;
+        int numThreads = 16;
+        int requestsPerThread = 100;
+        engine.charge(userId, 1000);
+
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        AtomicInteger successCount = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        try {
+                            engine.use(userId, 1);
+                            successCount.incrementAndGet();
+                        } catch (PointException ignored) {
+
+                        }
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        doneSignal.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        UserPoint result = engine.getPoint(userId);
+        engine.close();
+
+        //then
+        assertThat(successCount.get()).isEqualTo(1000);
+        assertThat(result.point()).isZero();
+        assertThat(userPointRepository.selectById(userId).point()).isZero();
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).hasSize(1001);
+    }
+
+    @DisplayName("내역 저장이 잠시 실패해도 같은 명령을 다시 시도해서 모두 저장한다.")
+    @Test
+    void persistRetry() throws InterruptedException {
+        //given
+        long userId = 6;
+        pointHistoryRepository.failNext(2);
+
+        //when
+        engine.charge(userId, 1000);
+        engine.use(userId, 300);
+        engine.close();
+
+        //then
+        assertThat(userPointRepository.selectById(userId).point()).isEqualTo(700);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId))
+                .extracting(PointHistory::type)
+                .containsExactly(CHARGE, USE);
+    }
+
+    @DisplayName("다시 시도해도 저장하지 못하면 엔진을 멈추고, 링 버퍼에 자리를 기다리던 요청도 예외를 반환한다.")
+    @Test
+    void persistFailureStopsEngine() {
+        //given
+        long userId = 7;
+        pointHistoryRepository.failNext(Integer.MAX_VALUE);
+
+        //when //then
+        // 링 버퍼(8칸)가 비워지지 않으므로 결국 자리를 기다리다가 엔진이 멈추면 예외를 반환한다.
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 100; i++) {
+                engine.charge(userId, 1);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> engine.use(userId, 1))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pointHistoryRepository.selectAllByUserId(userId)).isEmpty();
+    }
+}
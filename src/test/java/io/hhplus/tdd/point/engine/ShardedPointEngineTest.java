@@ -0,0 +1,236 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// ShardedPointEngine 에 대한 단위 테스트
+class ShardedPointEngineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ShardedPointEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new ShardedPointEngine(new ShardedEngineProperties(4, 1000), new PointMetrics(meterRegistry), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @DisplayName("충전/사용하면 샤드의 잔액과 내역에 반영된다.")
+    @Test
+    void chargeAndUse() {
+        //given
+        long userId = 1;
+
+        //when
+        engine.charge(userId, 1000);
+        UserPoint result = engine.use(userId, 300);
+
+        //then
+        assertThat(result.point()).isEqualTo(700);
+        assertThat(engine.getPoint(userId).point()).isEqualTo(700);
+        assertThat(engine.historyRepository().selectAllByUserId(userId))
+                .extracting(PointHistory::type)
+                .containsExactly(CHARGE, USE);
+    }
+
+    @DisplayName("가지고 있는 포인트 이상을 사용하면 예외를 반환하고 잔액과 내역은 그대로다.")
+    @Test
+    void useOverPoint() {
+        //given
+        long userId = 2;
+        engine.charge(userId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> engine.use(userId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(engine.getPoint(userId).point()).isEqualTo(100);
+        assertThat(engine.historyRepository().selectAllByUserId(userId)).hasSize(1);
+    }
+
+    @DisplayName("서로 다른 샤드의 유저끼리 전송하면 양쪽 샤드에 반영된다.")
+    @Test
+    void transferAcrossShards() {
+        //given
+        long fromId = 10;
+        long toId = fromId + 1;
+        while (engine.shardIndex(toId) == engine.shardIndex(fromId)) {
+            toId++;
+        }
+        engine.charge(fromId, 1000);
+
+        //when
+        PointTransfer result = engine.transfer(fromId, toId, 400);
+
+        //then
+        assertThat(result.from().point()).isEqualTo(600);
+        assertThat(result.to().point()).isEqualTo(400);
+        assertThat(engine.historyRepository().selectAllByUserId(fromId)).extracting(PointHistory::type).containsExactly(CHARGE, TRANSFER_OUT);
+        assertThat(engine.historyRepository().selectAllByUserId(toId)).extracting(PointHistory::type).containsExactly(TRANSFER_IN);
+    }
+
+    @DisplayName("서로 다른 샤드의 유저끼리 반대 방향으로 동시에 전송해도 교착 상태 없이 끝나고, 두 잔액의 합은 그대로다.")
+    @Test
+    void transferAcrossShardsWhenConcurrencyEnv() throws InterruptedException {
+        //given
+        long firstId = 30;
+        long secondId = firstId + 1;
+        while (engine.shardIndex(secondId) == engine.shardIndex(firstId)) {
+            secondId++;
+        }
+        long otherId = secondId;
+        engine.charge(firstId, 100_000);
+        engine.charge(otherId, 100_000);
+        int numThreads = 8;
+        int transfersPerThread = 200;
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            boolean forward = i % 2 == 0;
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < transfersPerThread; j++) {
+                        if (forward) {
+                            engine.transfer(firstId, otherId, 10);
+                        } else {
+                            engine.transfer(otherId, firstId, 10);
+                        }
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        boolean finished = doneSignal.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        assertThat(finished).isTrue();
+        assertThat(engine.getPoint(firstId).point()).isEqualTo(100_000);
+        assertThat(engine.getPoint(otherId).point()).isEqualTo(100_000);
+    }
+
+    @DisplayName("서로 다른 샤드로 전송할 때 포인트가 부족하면 양쪽 잔액과 내역 모두 그대로다.")
+    @Test
+    void transferAcrossShardsOverPoint() {
+        //given
+        long fromId = 40;
+        long toId = fromId + 1;
+        while (engine.shardIndex(toId) == engine.shardIndex(fromId)) {
+            toId++;
+        }
+        long receiverId = toId;
+        engine.charge(fromId, 100);
+
+        //when //then
+        assertThatThrownBy(() -> engine.transfer(fromId, receiverId, 200))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        assertThat(engine.getPoint(fromId).point()).isEqualTo(100);
+        assertThat(engine.getPoint(receiverId).point()).isZero();
+        assertThat(engine.historyRepository().selectAllByUserId(receiverId)).isEmpty();
+    }
+
+    @DisplayName("내역은 커서 이후부터 limit 만큼 조회된다.")
+    @Test
+    void selectHistoryPage() {
+        //given
+        long userId = 20;
+        for (int i = 1; i <= 5; i++) {
+            engine.charge(userId, i);
+        }
+        List<PointHistory> all = engine.historyRepository().selectAllByUserId(userId);
+
+        //when
+        List<PointHistory> page = engine.historyRepository()
+                .selectByUserId(userId, new PointHistoryQuery(all.get(1).id(), 2, Long.MIN_VALUE, Long.MAX_VALUE, null));
+
+        //then
+        assertThat(page).extracting(PointHistory::amount).containsExactly(3L, 4L);
+    }
+
+    @DisplayName("샤드의 내역 저장소도 다른 저장소와 같은 point.repository.call 타이머로 기록된다.")
+    @Test
+    void historyRepositoryMetrics() {
+        //given
+        long userId = 21;
+
+        //when
+        engine.historyRepository().insert(userId, 100, CHARGE, System.currentTimeMillis());
+        engine.historyRepository().selectAllByUserId(userId);
+
+        //then
+        assertThat(meterRegistry.get("point.repository.call").tag("repository", "point_history").tag("method", "insert").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.repository.call").tag("repository", "point_history").tag("method", "selectByUserId").timer().count()).isEqualTo(1);
+    }
+
+    @DisplayName("여러 스레드가 동시에 충전해도 유저별 잔액이 정확하고 내역 id 는 샤드끼리 겹치지 않는다.")
+    @Test
+    void chargeWhenConcurrencyEnv() throws InterruptedException {
+        //given
+        int users = 32;
+        int numThreads = 16;
+        int requestsPerThread = 200;
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        engine.charge(j % users, 10);
+                    }
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        doneSignal.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        //then
+        Set<Long> historyIds = ConcurrentHashMap.newKeySet();
+        for (long userId = 0; userId < users; userId++) {
+            List<PointHistory> histories = engine.historyRepository().selectAllByUserId(userId);
+            assertThat(engine.getPoint(userId).point()).isEqualTo(10L * histories.size());
+            histories.forEach(history -> historyIds.add(history.id()));
+        }
+        assertThat(historyIds).hasSize(numThreads * requestsPerThread);
+    }
+}
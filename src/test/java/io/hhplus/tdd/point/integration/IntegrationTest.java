@@ -2,6 +2,7 @@ package io.hhplus.tdd.point.integration;
 
 import io.hhplus.tdd.point.domain.PointHistory;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
 import io.hhplus.tdd.point.service.PointService;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -18,6 +20,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
 import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.TOO_BUSY;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -109,6 +112,58 @@ public class IntegrationTest {
         assertThat(successCount.get()).isEqualTo(numThreads);
     }
 
+    @DisplayName("기본 락 설정에서 같은 유저에게 충전이 몰리면 대기 수를 넘는 요청만 TOO_BUSY 로 바로 실패하고, 받아들인 요청은 타임아웃 없이 반영된다.")
+    @Test
+    void chargeBurstWithDefaultLockSettings() throws InterruptedException {
+        //given
+        long userId = 7;
+        int numThreads = 12;
+        long initAmount = 1000;
+        long chargeAmount = 100;
+
+        userPointRepository.insertOrUpdate(userId, initAmount);
+
+        CountDownLatch startSignal = new CountDownLatch(1);
+        CountDownLatch doneSignal = new CountDownLatch(numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger tooBusyCount = new AtomicInteger();
+        List<Throwable> otherFailures = new CopyOnWriteArrayList<>();
+
+        //when
+        for (int i = 0; i < numThreads; i++) {
+            executorService.execute(() -> {
+                try {
+                    startSignal.await();
+                    pointService.charge(userId, chargeAmount);
+                    successCount.getAndIncrement();
+                } catch (PointException e) {
+                    if (e.getErrorCode() == TOO_BUSY) {
+                        tooBusyCount.getAndIncrement();
+                    } else {
+                        otherFailures.add(e);
+                    }
+                } catch (Throwable e) {
+                    otherFailures.add(e);
+                } finally {
+                    doneSignal.countDown();
+                }
+            });
+        }
+        startSignal.countDown();
+        doneSignal.await();
+        executorService.shutdown();
+
+        UserPoint result = pointService.getPoint(userId);
+        //then
+        assertThat(otherFailures).isEmpty();
+        assertThat(successCount.get() + tooBusyCount.get()).isEqualTo(numThreads);
+        // 거절이 있었다면 그 시점에 락을 잡은 요청과 기다리던 maxWaiters 개의 요청은 모두 반영된다.
+        assertThat(successCount.get()).isGreaterThanOrEqualTo(6);
+        assertThat(result.point()).isEqualTo(initAmount + successCount.get() * chargeAmount);
+    }
+
     @DisplayName("사용하는 포인트만큼 차감이 된다.")
     @Test
     void use() {
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트에서는 메트릭 노출이 기본으로 꺼져 있으므로 켜준다.
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DisplayName("포인트 조회 후 prometheus 엔드포인트에 컨트롤러/서비스/락/저장소 메트릭이 노출된다.")
+    @Test
+    void prometheus() {
+        //given
+        // 기본 HttpURLConnection 은 PATCH 를 지원하지 않는다.
+        restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+        restTemplate.getForObject("/point/1", String.class);
+        restTemplate.patchForObject("/point/1/use", 1000L, String.class);
+
+        //when
+        String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        //then
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_count{")
+                .contains("uri=\"/point/{id}\"")
+                .contains("point_service_operation_seconds_count{operation=\"get_point\",outcome=\"success\"")
+                .contains("point_service_operation_seconds_count{operation=\"use\",outcome=\"NOT_ENOUGH_POINT\"")
+                .contains("point_lock_hold_seconds_count{")
+                .contains("point_repository_call_seconds_count{method=\"selectById\",repository=\"user_point\"");
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + RequestCapacityTest.TOMCAT_MAX_THREADS,
+        "server.tomcat.threads.min-spare=" + RequestCapacityTest.TOMCAT_MAX_THREADS,
+        // 매 요청이 UserPointTable 지연을 거치도록 잔액 스냅샷 캐시를 끈다.
+        "point.snapshot.enabled=false"
+})
+class PlatformThreadCapacityTest extends RequestCapacityTest {
+
+    // 스레드 수가 동시 처리량의 상한이 된다.
+    @Override
+    void assertElapsed(Duration elapsed) {
+        assertThat(elapsed).isGreaterThan(PLATFORM_LOWER_BOUND);
+    }
+}
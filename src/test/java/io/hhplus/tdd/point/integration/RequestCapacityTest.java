@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.integration;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 요청 처리량 비교용 부하 테스트
+ * - Tomcat 스레드를 TOMCAT_MAX_THREADS 개로 제한하고, UserPointTable 지연(평균 100ms)이 있는 조회를 REQUESTS 건 동시에 보낸다.
+ * - platform thread 는 스레드 수만큼만 동시에 처리하므로 최소 REQUESTS * 평균 지연 / 스레드 수 만큼 걸린다.
+ */
+abstract class RequestCapacityTest {
+
+    static final int REQUESTS = 100;
+
+    static final int TOMCAT_MAX_THREADS = 2;
+
+    // platform thread 로 처리할 때 걸리는 시간(약 5초)의 절반
+    static final Duration PLATFORM_LOWER_BOUND = Duration.ofMillis(REQUESTS * 100L / TOMCAT_MAX_THREADS / 2);
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCapacityTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void concurrentRequests() {
+        //given
+        // 첫 요청의 초기화 비용(DispatcherServlet, JIT, 커넥션)이 측정에 섞이지 않도록 한 번 먼저 보낸다.
+        fireConcurrentRequests();
+
+        //when
+        Duration elapsed = fireConcurrentRequests();
+
+        //then
+        log.info("{} : 동시 요청 {} 건 처리 {} ms ({} req/s)", getClass().getSimpleName(), REQUESTS,
+                elapsed.toMillis(), REQUESTS * 1000L / Math.max(1, elapsed.toMillis()));
+        assertElapsed(elapsed);
+    }
+
+    abstract void assertElapsed(Duration elapsed);
+
+    private Duration fireConcurrentRequests() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+
+            long startNanos = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(REQUESTS);
+            for (int userId = 1; userId <= REQUESTS; userId++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/point/%d".formatted(port, userId))).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            assertThat(responses).allMatch(response -> response.join().statusCode() == 200);
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + RequestCapacityTest.TOMCAT_MAX_THREADS,
+        "server.tomcat.threads.min-spare=" + RequestCapacityTest.TOMCAT_MAX_THREADS,
+        // 매 요청이 UserPointTable 지연을 거치도록 잔액 스냅샷 캐시를 끈다.
+        "point.snapshot.enabled=false"
+})
+class VirtualThreadCapacityTest extends RequestCapacityTest {
+
+    // 요청마다 virtual thread 를 쓰므로 스레드 수 제한과 상관없이 지연이 겹쳐서 처리된다.
+    @Override
+    void assertElapsed(Duration elapsed) {
+        assertThat(elapsed).isLessThan(PLATFORM_LOWER_BOUND);
+    }
+}
@@ -0,0 +1,196 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// CachedUserPointRepository 에 대한 단위 테스트
+class CachedUserPointRepositoryTest {
+
+    private static final int FLUSH_PARALLELISM = 4;
+
+    private static final int MAXIMUM_SIZE = 3;
+
+    @Mock
+    private UserPointRepositoryImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachedUserPointRepository cachedUserPointRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        // 주기적인 flush 가 테스트에 끼어들지 않도록 간격을 길게 둔다.
+        UserPointCacheProperties properties = new UserPointCacheProperties(true, Duration.ofHours(1), FLUSH_PARALLELISM, MAXIMUM_SIZE);
+        cachedUserPointRepository = new CachedUserPointRepository(delegate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        cachedUserPointRepository.close();
+    }
+
+    @DisplayName("한 번 조회한 유저의 포인트는 테이블을 다시 조회하지 않는다.")
+    @Test
+    void selectFromCache() {
+        //given
+        long userId = 1;
+        when(delegate.selectById(userId)).thenReturn(new UserPoint(userId, 1000, System.currentTimeMillis()));
+
+        //when
+        cachedUserPointRepository.selectById(userId);
+        UserPoint result = cachedUserPointRepository.selectById(userId);
+
+        //then
+        assertThat(result.point()).isEqualTo(1000);
+        verify(delegate, times(1)).selectById(userId);
+        assertThat(meterRegistry.get("point.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("포인트를 변경하면 테이블에 반영되기 전에도 변경된 포인트가 조회된다.")
+    @Test
+    void readAfterWrite() {
+        //given
+        long userId = 2;
+
+        //when
+        cachedUserPointRepository.insertOrUpdate(userId, 500);
+        UserPoint result = cachedUserPointRepository.selectById(userId);
+
+        //then
+        assertThat(result.point()).isEqualTo(500);
+        verify(delegate, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(delegate, never()).selectById(userId);
+    }
+
+    @DisplayName("여러 번 변경된 포인트는 flush 시 마지막 값 한 번만 테이블에 반영된다.")
+    @Test
+    void flushCoalesced() {
+        //given
+        long userId = 3;
+        cachedUserPointRepository.insertOrUpdate(userId, 100);
+        cachedUserPointRepository.insertOrUpdate(userId, 200);
+        cachedUserPointRepository.insertOrUpdate(userId, 300);
+
+        //when
+        cachedUserPointRepository.flush();
+
+        //then
+        verify(delegate, times(1)).insertOrUpdate(anyLong(), anyLong());
+        verify(delegate).insertOrUpdate(userId, 300);
+        assertThat(cachedUserPointRepository.pendingCount()).isZero();
+    }
+
+    @DisplayName("여러 유저의 변경분은 flushParallelism 만큼 동시에 테이블에 반영된다.")
+    @Test
+    void flushInParallel() {
+        //given
+        CountDownLatch together = new CountDownLatch(FLUSH_PARALLELISM);
+        AtomicInteger concurrentWrites = new AtomicInteger();
+        when(delegate.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            together.countDown();
+            // 모든 유저의 반영이 동시에 진행되지 않으면 기다리다가 시간이 초과된다.
+            if (together.await(5, TimeUnit.SECONDS)) {
+                concurrentWrites.incrementAndGet();
+            }
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis());
+        });
+        for (long userId = 10; userId < 10 + FLUSH_PARALLELISM; userId++) {
+            cachedUserPointRepository.insertOrUpdate(userId, 100);
+        }
+
+        //when
+        cachedUserPointRepository.flush();
+
+        //then
+        assertThat(concurrentWrites.get()).isEqualTo(FLUSH_PARALLELISM);
+        assertThat(cachedUserPointRepository.pendingCount()).isZero();
+    }
+
+    @DisplayName("보관 유저가 maximumSize 를 넘으면 flush 후 테이블에 반영된 유저만 제거한다.")
+    @Test
+    void evictCleanEntries() {
+        //given
+        for (long userId = 20; userId < 24; userId++) {
+            when(delegate.selectById(userId)).thenReturn(new UserPoint(userId, 1000, System.currentTimeMillis()));
+            cachedUserPointRepository.selectById(userId);
+        }
+        // 반영에 실패한 변경분은 다음 flush 까지 남는다.
+        when(delegate.insertOrUpdate(anyLong(), anyLong())).thenThrow(new IllegalStateException("table down"));
+        cachedUserPointRepository.insertOrUpdate(30, 300);
+        cachedUserPointRepository.insertOrUpdate(31, 310);
+
+        //when
+        cachedUserPointRepository.flush();
+
+        //then
+        assertThat(cachedUserPointRepository.size()).isEqualTo(MAXIMUM_SIZE);
+        assertThat(cachedUserPointRepository.pendingCount()).isEqualTo(2);
+        assertThat(cachedUserPointRepository.selectById(30L).point()).isEqualTo(300);
+        assertThat(cachedUserPointRepository.selectById(31L).point()).isEqualTo(310);
+        verify(delegate, never()).selectById(30L);
+        verify(delegate, never()).selectById(31L);
+        assertThat(meterRegistry.get("point.cache.evictions").counter().count()).isEqualTo(3);
+    }
+
+    @DisplayName("테이블을 읽는 사이 쓰기, flush, 제거가 모두 일어나면 읽은 지난 값을 넣지 않고 다시 읽는다.")
+    @Test
+    void staleLoadAfterEviction() throws Exception {
+        //given
+        long userId = 40;
+        // flush 후 반영된 유저를 모두 제거하도록 maximumSize 를 0 으로 둔다.
+        CachedUserPointRepository evictingRepository = new CachedUserPointRepository(delegate,
+                new UserPointCacheProperties(true, Duration.ofHours(1), FLUSH_PARALLELISM, 0), new SimpleMeterRegistry());
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadRelease = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(delegate.selectById(userId)).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // 첫 조회는 쓰기 전의 값을 읽은 채로 늦게 돌아온다.
+                loadStarted.countDown();
+                loadRelease.await(5, TimeUnit.SECONDS);
+                return new UserPoint(userId, 0, System.currentTimeMillis());
+            }
+            return new UserPoint(userId, 1000, System.currentTimeMillis());
+        });
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<UserPoint> slowRead = executorService.submit(() -> evictingRepository.selectById(userId));
+        loadStarted.await(5, TimeUnit.SECONDS);
+
+        //when
+        evictingRepository.insertOrUpdate(userId, 1000);
+        evictingRepository.flush();
+        assertThat(evictingRepository.size()).isZero();
+        loadRelease.countDown();
+
+        //then
+        assertThat(slowRead.get(5, TimeUnit.SECONDS).point()).isEqualTo(1000);
+        assertThat(evictingRepository.selectById(userId).point()).isEqualTo(1000);
+        assertThat(loads.get()).isEqualTo(2);
+        executorService.shutdown();
+        evictingRepository.close();
+    }
+}
@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ColumnarPointHistoryRepository 에 대한 단위 테스트
+class ColumnarPointHistoryRepositoryTest {
+
+    private final ColumnarPointHistoryRepository columnarPointHistoryRepository = new ColumnarPointHistoryRepository(new PointMetrics());
+
+    @DisplayName("유저의 내역만 저장된 순서대로 조회되고, id 는 1부터 저장 순서대로 부여된다.")
+    @Test
+    void selectAllByUserId() {
+        //given
+        long userId = 1;
+        long otherUserId = 2;
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            columnarPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+            columnarPointHistoryRepository.insert(otherUserId, i, CHARGE, i);
+        }
+
+        //when
+        List<PointHistory> result = columnarPointHistoryRepository.selectAllByUserId(userId);
+
+        //then
+        assertThat(result).hasSize(count);
+        assertThat(result).allMatch(pointHistory -> pointHistory.userId() == userId);
+        assertThat(result).extracting("amount")
+                .containsExactlyElementsOf(LongStream.range(0, count).boxed().toList());
+        assertThat(result).extracting("id")
+                .containsExactlyElementsOf(LongStream.range(0, count).map(i -> i * 2 + 1).boxed().toList());
+        assertThat(result.get(1)).isEqualTo(new PointHistory(3, userId, 1, USE, 1));
+    }
+
+    @DisplayName("내역이 없는 유저는 빈 목록을 반환한다.")
+    @Test
+    void selectEmpty() {
+        //when
+        List<PointHistory> result = columnarPointHistoryRepository.selectAllByUserId(3);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @DisplayName("커서 이후의 내역 중 조건에 맞는 내역만 limit 만큼 조회한다.")
+    @Test
+    void selectByUserId() {
+        //given
+        long userId = 4;
+        for (int i = 0; i < 50; i++) {
+            columnarPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+        }
+        long afterId = columnarPointHistoryRepository.selectAllByUserId(userId).get(9).id();
+        PointHistoryQuery query = new PointHistoryQuery(afterId, 5, 0, 30, USE);
+
+        //when
+        List<PointHistory> result = columnarPointHistoryRepository.selectByUserId(userId, query);
+
+        //then
+        assertThat(result).extracting("amount").containsExactly(11L, 13L, 15L, 17L, 19L);
+    }
+
+    @DisplayName("여러 chunk 에 걸친 내역을 커서로 끝까지 나눠 조회하면 모든 내역이 한 번씩 순서대로 조회된다.")
+    @Test
+    void pageThroughChunks() {
+        //given
+        long userId = 5;
+        int count = 2000;
+        for (int i = 0; i < count; i++) {
+            columnarPointHistoryRepository.insert(userId, i, CHARGE, i);
+        }
+
+        //when
+        List<PointHistory> pages = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<PointHistory> page = columnarPointHistoryRepository.selectByUserId(userId,
+                    new PointHistoryQuery(afterId, 77, Long.MIN_VALUE, Long.MAX_VALUE, null));
+            if (page.isEmpty()) {
+                break;
+            }
+            pages.addAll(page);
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        //then
+        assertThat(pages).isEqualTo(columnarPointHistoryRepository.selectAllByUserId(userId));
+        assertThat(pages).extracting("amount")
+                .containsExactlyElementsOf(LongStream.range(0, count).boxed().toList());
+    }
+
+    @DisplayName("첫 값과의 차이가 int 범위를 넘는 값도 그대로 저장되고 조회된다.")
+    @Test
+    void wideValues() {
+        //given
+        long userId = 6;
+        columnarPointHistoryRepository.insert(userId, 1, CHARGE, 0);
+        columnarPointHistoryRepository.insert(userId, 10_000_000_000L, USE, Long.MAX_VALUE);
+        columnarPointHistoryRepository.insert(userId, 2, TRANSFER_IN, Long.MIN_VALUE);
+
+        //when
+        List<PointHistory> result = columnarPointHistoryRepository.selectAllByUserId(userId);
+
+        //then
+        assertThat(result).extracting("amount").containsExactly(1L, 10_000_000_000L, 2L);
+        assertThat(result).extracting("updateMillis").containsExactly(0L, Long.MAX_VALUE, Long.MIN_VALUE);
+        assertThat(result).extracting("type").containsExactly(CHARGE, USE, TRANSFER_IN);
+    }
+}
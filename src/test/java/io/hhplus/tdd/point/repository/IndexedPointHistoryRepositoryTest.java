@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// IndexedPointHistoryRepository 에 대한 단위 테스트
+class IndexedPointHistoryRepositoryTest {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private IndexedPointHistoryRepository indexedPointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AtomicLong cursor = new AtomicLong(1);
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> new PointHistory(cursor.getAndIncrement(),
+                        invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3)));
+        indexedPointHistoryRepository = new IndexedPointHistoryRepository(pointHistoryTable, new PointMetrics());
+    }
+
+    @DisplayName("유저의 내역만 저장된 순서대로 조회되고, 테이블 전체를 조회하지 않는다.")
+    @Test
+    void selectAllByUserId() {
+        //given
+        long userId = 1;
+        long otherUserId = 2;
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            indexedPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+            indexedPointHistoryRepository.insert(otherUserId, i, CHARGE, i);
+        }
+
+        //when
+        List<PointHistory> result = indexedPointHistoryRepository.selectAllByUserId(userId);
+
+        //then
+        assertThat(result).hasSize(count);
+        assertThat(result).allMatch(pointHistory -> pointHistory.userId() == userId);
+        assertThat(result).extracting("amount")
+                .containsExactlyElementsOf(LongStream.range(0, count).boxed().toList());
+        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+    }
+
+    @DisplayName("내역이 없는 유저는 빈 목록을 반환한다.")
+    @Test
+    void selectEmpty() {
+        //when
+        List<PointHistory> result = indexedPointHistoryRepository.selectAllByUserId(3);
+
+        //then
+        assertThat(result).isEmpty();
+    }
+
+    @DisplayName("커서 이후의 내역 중 조건에 맞는 내역만 limit 만큼 조회한다.")
+    @Test
+    void selectByUserId() {
+        //given
+        long userId = 4;
+        for (int i = 0; i < 50; i++) {
+            indexedPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+        }
+        long afterId = indexedPointHistoryRepository.selectAllByUserId(userId).get(9).id();
+        PointHistoryQuery query = new PointHistoryQuery(afterId, 5, 0, 30, USE);
+
+        //when
+        List<PointHistory> result = indexedPointHistoryRepository.selectByUserId(userId, query);
+
+        //then
+        assertThat(result).extracting("amount").containsExactly(11L, 13L, 15L, 17L, 19L);
+    }
+}
\ No newline at end of file
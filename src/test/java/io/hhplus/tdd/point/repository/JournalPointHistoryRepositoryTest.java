@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JournalPointHistoryRepository 에 대한 단위 테스트
+class JournalPointHistoryRepositoryTest {
+
+    // segment 하나에 내역 10 건
+    private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(PointHistoryJournalSegment.RECORD_SIZE * 10L);
+
+    @TempDir
+    private Path directory;
+
+    private JournalPointHistoryRepository journalPointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        journalPointHistoryRepository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journalPointHistoryRepository.close();
+    }
+
+    @DisplayName("유저의 내역만 저장된 순서대로 조회되고, 가득 찬 segment 다음에는 새 segment 파일에 기록된다.")
+    @Test
+    void selectAllByUserId() throws IOException {
+        //given
+        long userId = 1;
+        long otherUserId = 2;
+        int count = 25;
+        for (int i = 0; i < count; i++) {
+            journalPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+            journalPointHistoryRepository.insert(otherUserId, i, CHARGE, i);
+        }
+
+        //when
+        List<PointHistory> result = journalPointHistoryRepository.selectAllByUserId(userId);
+
+        //then
+        assertThat(result).hasSize(count);
+        assertThat(result).allMatch(pointHistory -> pointHistory.userId() == userId);
+        assertThat(result).extracting("amount")
+                .containsExactlyElementsOf(LongStream.range(0, count).boxed().toList());
+        assertThat(result.get(1)).isEqualTo(new PointHistory(3, userId, 1, USE, 1));
+        assertThat(segmentFiles()).hasSize(5);
+    }
+
+    @DisplayName("커서 이후의 내역 중 조건에 맞는 내역만 limit 만큼 조회한다.")
+    @Test
+    void selectByUserId() {
+        //given
+        long userId = 4;
+        for (int i = 0; i < 50; i++) {
+            journalPointHistoryRepository.insert(userId, i, i % 2 == 0 ? CHARGE : USE, i);
+        }
+        long afterId = journalPointHistoryRepository.selectAllByUserId(userId).get(9).id();
+        PointHistoryQuery query = new PointHistoryQuery(afterId, 5, 0, 30, USE);
+
+        //when
+        List<PointHistory> result = journalPointHistoryRepository.selectByUserId(userId, query);
+
+        //then
+        assertThat(result).extracting("amount").containsExactly(11L, 13L, 15L, 17L, 19L);
+    }
+
+    @DisplayName("다시 열면 segment 파일에서 유저별 내역을 복구하고, 다음 id 부터 이어서 기록한다.")
+    @Test
+    void recoverAfterRestart() throws IOException {
+        //given
+        for (int i = 0; i < 23; i++) {
+            journalPointHistoryRepository.insert(i % 3, i, CHARGE, i);
+        }
+        List<PointHistory> before = journalPointHistoryRepository.selectAllByUserId(1);
+
+        //when
+        journalPointHistoryRepository.close();
+        journalPointHistoryRepository = open();
+        PointHistory inserted = journalPointHistoryRepository.insert(1, 100, USE, 100);
+
+        //then
+        assertThat(journalPointHistoryRepository.lastId()).isEqualTo(24);
+        assertThat(inserted.id()).isEqualTo(24);
+        assertThat(journalPointHistoryRepository.selectAllByUserId(1))
+                .containsExactlyElementsOf(Stream.concat(before.stream(), Stream.of(inserted)).toList());
+    }
+
+    @DisplayName("중간에 끊긴 레코드가 있으면 그 앞까지만 복구하고, 그 뒤의 레코드는 다시 살아나지 않는다.")
+    @Test
+    void recoverTornTail() throws IOException {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            journalPointHistoryRepository.insert(1, i, CHARGE, i);
+        }
+        journalPointHistoryRepository.close();
+        // 4번째 레코드의 amount 일부만 기록된 상황
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(PointHistoryJournalSegment.RECORD_SIZE * 3L + 16);
+            file.writeByte(0x7f);
+        }
+
+        //when
+        journalPointHistoryRepository = open();
+        PointHistory inserted = journalPointHistoryRepository.insert(1, 40, USE, 40);
+        journalPointHistoryRepository.close();
+        journalPointHistoryRepository = open();
+
+        //then
+        assertThat(inserted.id()).isEqualTo(4);
+        assertThat(journalPointHistoryRepository.selectAllByUserId(1)).extracting("amount")
+                .containsExactly(1L, 2L, 3L, 40L);
+    }
+
+    @DisplayName("write-behind 저장소는 journal 에 남아있는 마지막 id 다음부터 id 를 부여한다.")
+    @Test
+    void writeBehindContinuesIds() throws Exception {
+        //given
+        for (int i = 0; i < 7; i++) {
+            journalPointHistoryRepository.insert(1, i, CHARGE, i);
+        }
+        journalPointHistoryRepository.close();
+        journalPointHistoryRepository = open();
+        WriteBehindPointHistoryRepository writeBehind = new WriteBehindPointHistoryRepository(journalPointHistoryRepository,
+                new PointHistoryWriteBehindProperties(true, 100, 16), new SimpleMeterRegistry());
+
+        //when
+        PointHistory inserted = writeBehind.insert(1, 100, USE, 100);
+        writeBehind.awaitFlushed(5, TimeUnit.SECONDS);
+        writeBehind.close();
+
+        //then
+        assertThat(inserted.id()).isEqualTo(8);
+        assertThat(journalPointHistoryRepository.selectAllByUserId(1)).last().isEqualTo(inserted);
+    }
+
+    private JournalPointHistoryRepository open() {
+        return new JournalPointHistoryRepository(new PointHistoryJournalProperties(directory.toString(), SEGMENT_SIZE), new PointMetrics());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(PointHistoryJournalSegment.SUFFIX)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// SnapshotUserPointRepository 에 대한 단위 테스트
+class SnapshotUserPointRepositoryTest {
+
+    @Mock
+    private UserPointRepositoryImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SnapshotUserPointRepository snapshotUserPointRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        UserPointSnapshotProperties properties = new UserPointSnapshotProperties(true, 100, Duration.ofMinutes(10));
+        snapshotUserPointRepository = new SnapshotUserPointRepository(delegate, properties, meterRegistry);
+    }
+
+    @DisplayName("한 번 조회한 유저의 포인트는 테이블을 다시 조회하지 않고, 적중률이 기록된다.")
+    @Test
+    void selectFromSnapshot() {
+        //given
+        long userId = 1;
+        when(delegate.selectById(userId)).thenReturn(new UserPoint(userId, 1000, System.currentTimeMillis()));
+
+        //when
+        snapshotUserPointRepository.selectById(userId);
+        UserPoint result = snapshotUserPointRepository.selectById(userId);
+
+        //then
+        assertThat(result.point()).isEqualTo(1000);
+        verify(delegate, times(1)).selectById(userId);
+        assertThat(snapshotUserPointRepository.hitRate()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("point.snapshot.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @DisplayName("포인트를 변경하면 테이블에 바로 반영하고, 이후 조회는 변경된 포인트를 테이블 조회 없이 반환한다.")
+    @Test
+    void readYourWrites() {
+        //given
+        long userId = 2;
+        when(delegate.insertOrUpdate(userId, 500)).thenReturn(new UserPoint(userId, 500, System.currentTimeMillis()));
+
+        //when
+        snapshotUserPointRepository.insertOrUpdate(userId, 500);
+        UserPoint result = snapshotUserPointRepository.selectById(userId);
+
+        //then
+        assertThat(result.point()).isEqualTo(500);
+        verify(delegate).insertOrUpdate(userId, 500);
+        verify(delegate, never()).selectById(userId);
+    }
+
+    @DisplayName("조회 중에 포인트가 변경되면, 늦게 끝난 조회 결과가 변경된 포인트를 덮어쓰지 않는다.")
+    @Test
+    void writeDuringLoad() throws Exception {
+        //given
+        long userId = 3;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        when(delegate.selectById(userId)).thenAnswer(invocation -> {
+            loading.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            return new UserPoint(userId, 0, System.currentTimeMillis());
+        });
+        when(delegate.insertOrUpdate(userId, 1000)).thenReturn(new UserPoint(userId, 1000, System.currentTimeMillis()));
+
+        //when
+        CompletableFuture<UserPoint> staleRead = CompletableFuture.supplyAsync(() -> snapshotUserPointRepository.selectById(userId));
+        loading.await(5, TimeUnit.SECONDS);
+        snapshotUserPointRepository.insertOrUpdate(userId, 1000);
+        written.countDown();
+        staleRead.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(snapshotUserPointRepository.selectById(userId).point()).isEqualTo(1000);
+        verify(delegate, times(1)).selectById(userId);
+    }
+
+    @DisplayName("같은 유저를 동시에 조회하면 테이블은 한 번만 조회한다.")
+    @Test
+    void concurrentLoadsCoalesce() throws Exception {
+        //given
+        long userId = 4;
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.selectById(userId)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new UserPoint(userId, 700, System.currentTimeMillis());
+        });
+
+        //when
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> snapshotUserPointRepository.selectById(userId));
+        CompletableFuture<UserPoint> second = CompletableFuture.supplyAsync(() -> snapshotUserPointRepository.selectById(userId));
+        Thread.sleep(100);
+        release.countDown();
+
+        //then
+        assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(700);
+        assertThat(second.get(5, TimeUnit.SECONDS).point()).isEqualTo(700);
+        verify(delegate, times(1)).selectById(userId);
+    }
+
+    @DisplayName("저장에 실패하면 스냅샷을 지우고 다음 조회는 테이블에서 다시 읽는다.")
+    @Test
+    void invalidateOnWriteFailure() {
+        //given
+        long userId = 5;
+        when(delegate.selectById(userId)).thenReturn(new UserPoint(userId, 100, System.currentTimeMillis()));
+        when(delegate.insertOrUpdate(userId, 200)).thenThrow(new IllegalStateException("저장 실패"));
+        snapshotUserPointRepository.selectById(userId);
+
+        //when
+        assertThatThrownBy(() -> snapshotUserPointRepository.insertOrUpdate(userId, 200))
+                .isInstanceOf(IllegalStateException.class);
+        snapshotUserPointRepository.selectById(userId);
+
+        //then
+        verify(delegate, times(2)).selectById(userId);
+    }
+
+    @DisplayName("보관하는 유저 수는 maximumSize 를 넘지 않는다.")
+    @Test
+    void bounded() {
+        //given
+        for (long userId = 1; userId <= 1000; userId++) {
+            when(delegate.insertOrUpdate(userId, 100)).thenReturn(new UserPoint(userId, 100, System.currentTimeMillis()));
+        }
+
+        //when
+        for (long userId = 1; userId <= 1000; userId++) {
+            snapshotUserPointRepository.insertOrUpdate(userId, 100);
+        }
+
+        //then
+        assertThat(snapshotUserPointRepository.size()).isLessThanOrEqualTo(100);
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// WalUserPointRepository 에 대한 단위 테스트
+class WalUserPointRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @DisplayName("변경한 잔액이 바로 조회되고, 변경 이력이 없는 유저는 0 포인트로 조회된다.")
+    @Test
+    void readAfterWrite() throws Exception {
+        //given
+        WalUserPointRepository repository = open(Duration.ZERO);
+
+        //when
+        UserPoint saved = repository.insertOrUpdate(1, 1000);
+
+        //then
+        assertThat(repository.selectById(1L)).isEqualTo(saved);
+        assertThat(repository.selectById(2L).point()).isZero();
+        repository.close();
+    }
+
+    @DisplayName("정상 종료 후 다시 열면 스냅샷에서 잔액을 복구하고, 스냅샷에 포함된 WAL 은 지운다.")
+    @Test
+    void recoverFromSnapshot() throws Exception {
+        //given
+        WalUserPointRepository repository = open(Duration.ZERO);
+        for (long id = 1; id <= 100; id++) {
+            repository.insertOrUpdate(id, id * 10);
+        }
+        repository.insertOrUpdate(1, 7);
+        repository.close();
+
+        //when
+        WalUserPointRepository recovered = open(Duration.ZERO);
+
+        //then
+        assertThat(recovered.selectById(1L).point()).isEqualTo(7);
+        assertThat(recovered.selectById(100L).point()).isEqualTo(1000);
+        assertThat(files(UserPointSnapshotStore.SUFFIX)).hasSize(1);
+        assertThat(files(UserPointWriteAheadLog.SUFFIX)).hasSize(1);
+        recovered.close();
+    }
+
+    @DisplayName("비정상 종료 후 다시 열면 스냅샷을 읽고 그 이후의 WAL 을 재실행해서 잔액을 복구한다.")
+    @Test
+    void recoverFromSnapshotAndWalTail() throws Exception {
+        //given
+        WalUserPointRepository crashed = open(Duration.ZERO);
+        crashed.insertOrUpdate(1, 100);
+        crashed.insertOrUpdate(2, 200);
+        crashed.snapshot();
+        crashed.insertOrUpdate(1, 150);
+        crashed.insertOrUpdate(3, 300);
+
+        //when
+        WalUserPointRepository recovered = open(Duration.ZERO);
+
+        //then
+        assertThat(recovered.selectById(1L).point()).isEqualTo(150);
+        assertThat(recovered.selectById(2L).point()).isEqualTo(200);
+        assertThat(recovered.selectById(3L).point()).isEqualTo(300);
+        recovered.close();
+    }
+
+    @DisplayName("가장 최근 스냅샷이 손상되었으면 잔액을 0 으로 복구하지 않고 예외를 반환한다.")
+    @Test
+    void corruptedSnapshot() throws Exception {
+        //given
+        WalUserPointRepository repository = open(Duration.ZERO);
+        repository.insertOrUpdate(1, 100);
+        repository.close();
+        Path snapshot = files(UserPointSnapshotStore.SUFFIX).get(0);
+        // 첫 레코드의 잔액을 바꿔서 checksum 이 맞지 않도록 한다.
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 999), 24 + Long.BYTES);
+        }
+
+        //when //then
+        assertThatThrownBy(() -> open(Duration.ZERO))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @DisplayName("WAL 끝에 끊긴 레코드가 있으면 그 앞까지만 재실행하고 끊긴 부분은 잘라낸다.")
+    @Test
+    void recoverTornWal() throws Exception {
+        //given
+        WalUserPointRepository crashed = open(Duration.ZERO);
+        crashed.insertOrUpdate(1, 100);
+        crashed.insertOrUpdate(1, 200);
+        Path wal = files(UserPointWriteAheadLog.SUFFIX).get(0);
+        // 세 번째 레코드의 앞부분만 기록된 상황
+        Files.write(wal, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, StandardOpenOption.APPEND);
+
+        //when
+        WalUserPointRepository recovered = open(Duration.ZERO);
+
+        //then
+        assertThat(recovered.selectById(1L).point()).isEqualTo(200);
+        assertThat(Files.size(wal)).isEqualTo(UserPointWriteAheadLog.RECORD_SIZE * 2L);
+        recovered.close();
+    }
+
+    @DisplayName("동시에 들어온 변경은 묶어서 기록하므로 fsync 횟수가 변경 수보다 적다.")
+    @Test
+    void groupCommit() throws Exception {
+        //given
+        WalUserPointRepository repository = open(Duration.ofMillis(5));
+        int writes = 1000;
+
+        //when
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            List<CompletableFuture<UserPoint>> futures = IntStream.range(0, writes)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> repository.insertOrUpdate(i % 50, i), executor))
+                    .toList();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+
+        //then
+        DistributionSummary batches = meterRegistry.get("point.balance.wal.batch").summary();
+        assertThat(batches.totalAmount()).isEqualTo(writes);
+        assertThat(batches.count()).isLessThan(writes);
+        repository.close();
+    }
+
+    private WalUserPointRepository open(Duration groupCommitDelay) {
+        // 주기적인 스냅샷이 테스트에 끼어들지 않도록 간격을 길게 둔다.
+        UserPointWalProperties properties = new UserPointWalProperties(directory.toString(), true, 1024, groupCommitDelay, Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        return new WalUserPointRepository(properties, new PointMetrics(), meterRegistry);
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// WriteBehindPointHistoryRepository 에 대한 단위 테스트
+class WriteBehindPointHistoryRepositoryTest {
+
+    private GatedPointHistoryRepository delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WriteBehindPointHistoryRepository writeBehindPointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new GatedPointHistoryRepository();
+        meterRegistry = new SimpleMeterRegistry();
+        writeBehindPointHistoryRepository = new WriteBehindPointHistoryRepository(
+                delegate, new PointHistoryWriteBehindProperties(true, 1000, 16), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        delegate.open();
+        writeBehindPointHistoryRepository.close();
+    }
+
+    @DisplayName("저장소에 반영되기 전에도 저장한 내역이 조회된다.")
+    @Test
+    void readYourWrites() {
+        //given
+        long userId = 1;
+
+        //when
+        writeBehindPointHistoryRepository.insert(userId, 1000, CHARGE, 1);
+        writeBehindPointHistoryRepository.insert(userId, 300, USE, 2);
+
+        //then
+        List<PointHistory> result = writeBehindPointHistoryRepository.selectAllByUserId(userId);
+        assertThat(result).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        assertThat(delegate.selectAllByUserId(userId)).isEmpty();
+        assertThat(meterRegistry.get("point.history.queue").gauge().value()).isEqualTo(2);
+    }
+
+    @DisplayName("대기 중인 내역은 저장 순서대로 같은 id 로 저장소에 반영된다.")
+    @Test
+    void flushInOrder() throws InterruptedException {
+        //given
+        long userId = 1;
+        List<PointHistory> inserted = List.of(
+                writeBehindPointHistoryRepository.insert(userId, 1000, CHARGE, 1),
+                writeBehindPointHistoryRepository.insert(2, 500, CHARGE, 2),
+                writeBehindPointHistoryRepository.insert(userId, 300, USE, 3)
+        );
+
+        //when
+        delegate.open();
+        boolean flushed = writeBehindPointHistoryRepository.awaitFlushed(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(flushed).isTrue();
+        assertThat(delegate.selectAllByUserId(userId)).containsExactly(inserted.get(0), inserted.get(2));
+        assertThat(writeBehindPointHistoryRepository.selectAllByUserId(userId)).containsExactly(inserted.get(0), inserted.get(2));
+        assertThat(writeBehindPointHistoryRepository.pendingCount()).isZero();
+        assertThat(meterRegistry.get("point.history.flush.lag").timer().count()).isEqualTo(3);
+    }
+
+    @DisplayName("페이지 조회는 반영된 내역과 대기 중인 내역을 합쳐서 커서 이후부터 응답한다.")
+    @Test
+    void selectPageWithPending() throws InterruptedException {
+        //given
+        long userId = 1;
+        delegate.open();
+        writeBehindPointHistoryRepository.insert(userId, 100, CHARGE, 1);
+        writeBehindPointHistoryRepository.insert(userId, 200, CHARGE, 2);
+        writeBehindPointHistoryRepository.awaitFlushed(5, TimeUnit.SECONDS);
+        delegate.close();
+        writeBehindPointHistoryRepository.insert(userId, 300, CHARGE, 3);
+        writeBehindPointHistoryRepository.insert(userId, 400, CHARGE, 4);
+
+        //when
+        List<PointHistory> result = writeBehindPointHistoryRepository.selectByUserId(userId,
+                new PointHistoryQuery(1, 2, Long.MIN_VALUE, Long.MAX_VALUE, null));
+
+        //then
+        assertThat(result).extracting(PointHistory::amount).containsExactly(200L, 300L);
+    }
+
+    @DisplayName("다시 시도해도 저장하지 못하면 저장을 멈추고 이후 insert 를 거절한다.")
+    @Test
+    void persistFailureStopsWriter() throws InterruptedException {
+        //given
+        long userId = 1;
+        delegate.failNext(Integer.MAX_VALUE);
+        delegate.open();
+        writeBehindPointHistoryRepository.insert(userId, 100, CHARGE, 1);
+
+        //when
+        boolean flushed = writeBehindPointHistoryRepository.awaitFlushed(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(flushed).isFalse();
+        assertThatThrownBy(() -> writeBehindPointHistoryRepository.insert(userId, 200, CHARGE, 2))
+                .isInstanceOf(IllegalStateException.class);
+        // 저장하지 못한 내역은 조회에는 계속 보인다.
+        assertThat(writeBehindPointHistoryRepository.selectAllByUserId(userId)).extracting(PointHistory::amount).containsExactly(100L);
+    }
+
+    @DisplayName("잠시 실패한 내역은 다시 시도해서 같은 id 로 저장한다.")
+    @Test
+    void persistRetry() throws InterruptedException {
+        //given
+        long userId = 1;
+        delegate.failNext(2);
+        delegate.open();
+
+        //when
+        PointHistory inserted = writeBehindPointHistoryRepository.insert(userId, 100, CHARGE, 1);
+        boolean flushed = writeBehindPointHistoryRepository.awaitFlushed(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(flushed).isTrue();
+        assertThat(delegate.selectAllByUserId(userId)).containsExactly(inserted);
+    }
+
+    @DisplayName("저장소가 부여한 id 가 미리 부여한 id 와 다르면 저장을 멈춘다.")
+    @Test
+    void idMismatchStopsWriter() throws InterruptedException {
+        //given
+        long userId = 1;
+        delegate.skipId();
+        delegate.open();
+        writeBehindPointHistoryRepository.insert(userId, 100, CHARGE, 1);
+
+        //when
+        boolean flushed = writeBehindPointHistoryRepository.awaitFlushed(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(flushed).isFalse();
+        assertThatThrownBy(() -> writeBehindPointHistoryRepository.insert(userId, 200, CHARGE, 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // 열리기 전까지 저장을 막아두는 메모리 내역 저장소, 필요하면 저장 실패를 흉내낸다.
+    private static class GatedPointHistoryRepository implements PointHistoryRepository {
+
+        private final List<PointHistory> table = new CopyOnWriteArrayList<>();
+        private final AtomicLong cursor = new AtomicLong(1);
+        private volatile CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger failures = new AtomicInteger();
+
+        void failNext(int count) {
+            failures.set(count);
+        }
+
+        // 다른 경로로 내역이 저장된 것처럼 id 를 하나 건너뛴다.
+        void skipId() {
+            cursor.incrementAndGet();
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                throw new IllegalStateException("저장 실패");
+            }
+            PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+// PointAsyncService 에 대한 단위 테스트
+class PointAsyncServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    private PointAsyncService pointAsyncService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pointAsyncService = new PointAsyncService(pointService, executorService, new PointAsyncProperties(Duration.ofMillis(200)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("같은 유저의 비동기 요청은 요청한 순서대로 처리된다.")
+    @Test
+    void ordered() {
+        //given
+        long userId = 1;
+        when(pointService.charge(userId, 1000)).thenReturn(new UserPoint(userId, 1000, 0));
+        when(pointService.use(userId, 300)).thenReturn(new UserPoint(userId, 700, 0));
+        when(pointService.getPoint(userId)).thenReturn(new UserPoint(userId, 700, 0));
+
+        //when
+        CompletableFuture<UserPoint> charge = pointAsyncService.chargeAsync(userId, 1000);
+        CompletableFuture<UserPoint> use = pointAsyncService.useAsync(userId, 300);
+        CompletableFuture<UserPoint> point = pointAsyncService.getPointAsync(userId);
+
+        //then
+        assertThat(point.join().point()).isEqualTo(700);
+        assertThat(charge).isCompleted();
+        assertThat(use).isCompleted();
+        InOrder inOrder = inOrder(pointService);
+        inOrder.verify(pointService).charge(userId, 1000);
+        inOrder.verify(pointService).use(userId, 300);
+        inOrder.verify(pointService).getPoint(userId);
+    }
+
+    @DisplayName("처리 시간이 타임아웃을 넘으면 TimeoutException 으로 실패한다.")
+    @Test
+    void timeout() {
+        //given
+        long userId = 1;
+        when(pointService.getPoint(userId)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new UserPoint(userId, 0, 0);
+        });
+
+        //when
+        CompletableFuture<UserPoint> point = pointAsyncService.getPointAsync(userId);
+
+        //then
+        assertThatThrownBy(point::join).hasCauseInstanceOf(TimeoutException.class);
+    }
+}
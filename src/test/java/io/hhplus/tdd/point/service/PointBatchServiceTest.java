@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.domain.PointOperation;
+import io.hhplus.tdd.point.domain.PointOperationResult;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.USE;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_BATCH_OPERATION;
+import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+// PointBatchService 에 대한 단위 테스트
+class PointBatchServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+    private PointBatchService pointBatchService;
+
+    // 유저별 잔액, PointService 대신 순서대로 반영한다.
+    private final Map<Long, Long> balances = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pointBatchService = new PointBatchService(pointService, objectMapper, executorService);
+
+        when(pointService.charge(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            long amount = invocation.getArgument(1);
+            return new UserPoint(id, balances.merge(id, amount, Long::sum), 0);
+        });
+        when(pointService.use(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            long amount = invocation.getArgument(1);
+            long current = balances.getOrDefault(id, 0L);
+            if (current < amount) {
+                throw new PointException(NOT_ENOUGH_POINT, "포인트가 부족합니다.");
+            }
+            balances.put(id, current - amount);
+            return new UserPoint(id, current - amount, 0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("JSON 배열과 NDJSON 요청 본문을 모두 읽는다.")
+    @Test
+    void read() {
+        //given
+        String array = "[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":100},{\"userId\":2,\"type\":\"USE\",\"amount\":50}]";
+        String ndjson = "{\"userId\":1,\"type\":\"CHARGE\",\"amount\":100}\n{\"userId\":2,\"type\":\"USE\",\"amount\":50}\n";
+
+        //when
+        List<PointOperation> fromArray = toList(pointBatchService.read(stream(array)));
+        List<PointOperation> fromNdjson = toList(pointBatchService.read(stream(ndjson)));
+
+        //then
+        List<PointOperation> expected = List.of(new PointOperation(1, CHARGE, 100), new PointOperation(2, USE, 50));
+        assertThat(fromArray).isEqualTo(expected);
+        assertThat(fromNdjson).isEqualTo(expected);
+    }
+
+    @DisplayName("읽을 수 없는 요청 본문은 예외를 반환한다.")
+    @Test
+    void readInvalid() {
+        //when //then
+        assertThatThrownBy(() -> pointBatchService.read(stream("[{\"userId\":")))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_BATCH_OPERATION);
+    }
+
+    @DisplayName("같은 유저의 작업은 요청 순서대로 처리되고, 작업마다 결과가 기록된다.")
+    @Test
+    void execute() throws IOException {
+        //given
+        int users = 50;
+        List<PointOperation> operations = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            for (long userId = 1; userId <= users; userId++) {
+                operations.add(new PointOperation(userId, CHARGE, 100));
+                operations.add(new PointOperation(userId, USE, 100));
+            }
+        }
+        // 잔액이 0 이므로 마지막 사용은 실패한다.
+        operations.add(new PointOperation(1, USE, 100));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        pointBatchService.execute(operations.iterator(), out);
+
+        //then
+        List<PointOperationResult> results = parse(out);
+        assertThat(results).hasSize(operations.size());
+        assertThat(results).extracting(PointOperationResult::index).doesNotHaveDuplicates();
+        PointOperationResult last = results.stream().max(Comparator.comparingInt(PointOperationResult::index)).orElseThrow();
+        assertThat(last.success()).isFalse();
+        assertThat(last.errorCode()).isEqualTo(NOT_ENOUGH_POINT.name());
+        assertThat(results).filteredOn(result -> !result.success()).hasSize(1);
+    }
+
+    @DisplayName("type 이 없는 작업은 실패 결과로 기록된다.")
+    @Test
+    void executeWithoutType() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        pointBatchService.execute(List.of(new PointOperation(1, null, 100)).iterator(), out);
+
+        //then
+        assertThat(parse(out)).singleElement()
+                .extracting(PointOperationResult::errorCode)
+                .isEqualTo(INVALID_BATCH_OPERATION.name());
+    }
+
+    @DisplayName("중간에 읽을 수 없는 작업이 있으면 앞선 작업은 처리하고, 그 위치의 실패 결과를 기록한다.")
+    @Test
+    void executeWithInvalidOperation() throws IOException {
+        //given
+        String body = "{\"userId\":1,\"type\":\"CHARGE\",\"amount\":100}\n{\"userId\":2,\"type\":\"CHARGE\",\"amount\":100}\n{\"userId\":";
+        Iterator<PointOperation> operations = pointBatchService.read(stream(body));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        pointBatchService.execute(operations, out);
+
+        //then
+        List<PointOperationResult> results = parse(out);
+        assertThat(results).hasSize(3);
+        assertThat(results.subList(0, 2)).allMatch(PointOperationResult::success);
+        assertThat(results.get(2).index()).isEqualTo(2);
+        assertThat(results.get(2).errorCode()).isEqualTo(INVALID_BATCH_OPERATION.name());
+        assertThat(balances).containsEntry(1L, 100L).containsEntry(2L, 100L);
+    }
+
+    private static List<PointOperation> toList(Iterator<PointOperation> operations) {
+        List<PointOperation> list = new ArrayList<>();
+        operations.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<PointOperationResult> parse(ByteArrayOutputStream out) throws IOException {
+        List<PointOperationResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, PointOperationResult.class));
+        }
+        return results;
+    }
+}
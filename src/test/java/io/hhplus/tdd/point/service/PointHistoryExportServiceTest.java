@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.engine.PointEngine;
+import io.hhplus.tdd.point.engine.ShardedEngineProperties;
+import io.hhplus.tdd.point.engine.ShardedPointEngine;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.enums.ExportFormat.BINARY;
+import static io.hhplus.tdd.point.enums.ExportFormat.NDJSON;
+import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_EXPORT_RANGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointHistoryExportServiceTest {
+
+    @Mock
+    private PointHistoryRepository pointHistoryRepository;
+
+    private PointHistoryExportService pointHistoryExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pointHistoryExportService = new PointHistoryExportService(pointHistoryRepository,
+                new StaticListableBeanFactory().getBeanProvider(PointEngine.class), new ObjectMapper());
+
+        // 유저마다 PAGE_SIZE 보다 많은 내역이 있어서 여러 페이지로 나눠서 조회된다.
+        int historiesPerUser = PointHistoryExportService.PAGE_SIZE + 10;
+        when(pointHistoryRepository.selectByUserId(anyLong(), any(PointHistoryQuery.class))).thenAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            PointHistoryQuery query = invocation.getArgument(1);
+            return LongStream.rangeClosed(1, historiesPerUser)
+                    .mapToObj(id -> new PointHistory(userId * 10_000 + id, userId, id, CHARGE, id))
+                    .filter(query::matches)
+                    .limit(query.limit())
+                    .toList();
+        });
+    }
+
+    @DisplayName("유저들의 포인트 내역을 한 줄에 하나씩 NDJSON 으로 기록한다.")
+    @Test
+    void exportNdjson() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        pointHistoryExportService.export(LongStream.of(1, 2), NDJSON, out);
+
+        //then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2 * (PointHistoryExportService.PAGE_SIZE + 10));
+        assertThat(lines.get(0)).contains("\"id\":10001", "\"userId\":1", "\"type\":\"CHARGE\"");
+    }
+
+    @DisplayName("BINARY 형식은 내역 하나를 33 byte 로 기록한다.")
+    @Test
+    void exportBinary() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        pointHistoryExportService.export(LongStream.of(1), BINARY, out);
+
+        //then
+        assertThat(out.size()).isEqualTo(33 * (PointHistoryExportService.PAGE_SIZE + 10));
+    }
+
+    @DisplayName("내역을 직접 보관하는 sharded 엔진을 쓰면 엔진의 저장소에서 내역을 읽어서 내보낸다.")
+    @Test
+    void exportFromShardedEngine() throws IOException, InterruptedException {
+        //given
+        ShardedPointEngine engine = new ShardedPointEngine(new ShardedEngineProperties(4, 1000), new PointMetrics(), new SimpleMeterRegistry());
+        PointHistoryExportService shardedExportService = new PointHistoryExportService(pointHistoryRepository,
+                new StaticListableBeanFactory(Map.of("pointEngine", engine)).getBeanProvider(PointEngine.class), new ObjectMapper());
+        engine.charge(1, 1000);
+        engine.use(1, 300);
+        engine.charge(2, 500);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        shardedExportService.export(LongStream.of(1, 2), NDJSON, out);
+        engine.close();
+
+        //then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).contains("\"userId\":1", "\"amount\":1000", "\"type\":\"CHARGE\"");
+        assertThat(lines.get(2)).contains("\"userId\":2", "\"amount\":500");
+        verify(pointHistoryRepository, never()).selectByUserId(anyLong(), any(PointHistoryQuery.class));
+    }
+
+    @DisplayName("유저 목록과 범위가 모두 없으면 예외를 반환한다.")
+    @Test
+    void resolveWithoutUsers() {
+        //when //then
+        assertThatThrownBy(() -> pointHistoryExportService.resolveUserIds(null, null, null))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_EXPORT_RANGE);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_LOOKUP_IDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// PointLookupService 에 대한 단위 테스트
+class PointLookupServiceTest {
+
+    private static final long SELECT_MILLIS = 200;
+
+    @Mock
+    private PointService pointService;
+
+    private PointLookupService pointLookupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        pointLookupService = new PointLookupService(pointService, new PointLookupProperties(64, 100));
+        when(pointService.getPoint(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(SELECT_MILLIS);
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, id * 100, 0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointLookupService.close();
+    }
+
+    @DisplayName("여러 유저를 병렬로 조회해서 가장 느린 조회 시간에 가깝게 응답한다.")
+    @Test
+    void parallel() {
+        //given
+        List<Long> ids = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        //when
+        long startNanos = System.nanoTime();
+        Map<Long, UserPoint> result = pointLookupService.getPoints(ids);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        //then
+        assertThat(result).hasSize(50);
+        assertThat(result.keySet()).containsExactlyElementsOf(ids);
+        assertThat(result.get(7L).point()).isEqualTo(700);
+        // 순서대로 조회하면 50 * 200ms = 10s
+        assertThat(elapsed).isLessThan(Duration.ofMillis(SELECT_MILLIS * 10));
+    }
+
+    @DisplayName("중복된 유저 id 는 한 번만 조회한다.")
+    @Test
+    void distinct() {
+        //when
+        Map<Long, UserPoint> result = pointLookupService.getPoints(List.of(1L, 2L, 1L, 2L, 1L));
+
+        //then
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(pointService, times(1)).getPoint(1L);
+        verify(pointService, times(1)).getPoint(2L);
+    }
+
+    @DisplayName("조회할 유저가 없거나 너무 많으면 예외를 반환한다.")
+    @Test
+    void invalidIds() {
+        //given
+        List<Long> tooMany = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        //when //then
+        assertThatThrownBy(() -> pointLookupService.getPoints(List.of()))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_LOOKUP_IDS);
+        assertThatThrownBy(() -> pointLookupService.getPoints(tooMany))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_LOOKUP_IDS);
+    }
+}
@@ -1,8 +1,18 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.point.common.HotKeyDetector;
+import io.hhplus.tdd.point.common.IdempotencyCache;
 import io.hhplus.tdd.point.common.LockHelper;
+import io.hhplus.tdd.point.common.PointMetrics;
+import io.hhplus.tdd.point.common.PointMetrics.Operation;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryCursor;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointHistoryQuery;
+import io.hhplus.tdd.point.domain.PointTransfer;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.engine.PointCommandCombiner;
+import io.hhplus.tdd.point.engine.PointEngine;
 import io.hhplus.tdd.point.exception.PointException;
 import io.hhplus.tdd.point.repository.PointHistoryRepository;
 import io.hhplus.tdd.point.repository.UserPointRepository;
@@ -13,16 +23,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.util.List;
 import java.util.function.Supplier;
 
 import static io.hhplus.tdd.point.enums.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_IN;
+import static io.hhplus.tdd.point.enums.TransactionType.TRANSFER_OUT;
 import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_CHARGE_POINT;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_CURSOR;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_HISTORY_QUERY;
+import static io.hhplus.tdd.point.exception.ErrorCode.INVALID_TRANSFER;
 import static io.hhplus.tdd.point.exception.ErrorCode.NOT_ENOUGH_POINT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -36,6 +56,21 @@ class PointServiceTest {
     @Mock
     private LockHelper lockHelper;
 
+    @Mock
+    private PointMetrics pointMetrics;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private HotKeyDetector hotKeyDetector;
+
+    @Mock
+    private PointCommandCombiner pointCommandCombiner;
+
+    @Mock
+    private ObjectProvider<PointEngine> pointEngineProvider;
+
     @InjectMocks
     private PointService pointService;
 
@@ -88,6 +123,53 @@ class PointServiceTest {
         assertThat(result.point()).isEqualTo(expectedAmount);
     }
 
+    @DisplayName("요청이 몰리는 유저의 충전은 락 기반 처리 대신 combiner 로 처리한다.")
+    @Test
+    void chargeHotKey() {
+        //given
+        long userId = 2;
+        long chargeAmount = 1000;
+        UserPoint combined = new UserPoint(userId, chargeAmount, System.currentTimeMillis());
+        when(hotKeyDetector.record(userId)).thenReturn(true);
+        when(pointCommandCombiner.charge(userId, chargeAmount)).thenReturn(combined);
+
+        //when
+        UserPoint result = pointService.charge(userId, chargeAmount);
+
+        //then
+        assertThat(result).isEqualTo(combined);
+        verify(lockHelper, never()).executeWithLock(anyLong(), Mockito.<Supplier<UserPoint>>any());
+    }
+
+    @DisplayName("Idempotency-Key 와 함께 충전하면 요청 종류와 포인트를 fingerprint 로 결과 캐시를 거쳐 충전한다.")
+    @Test
+    void chargeWithIdempotencyKey() {
+        //given
+        long userId = 2;
+        long chargeAmount = 1000;
+        String idempotencyKey = "charge-key";
+        UserPoint updatedUserPoint = new UserPoint(userId, chargeAmount, System.currentTimeMillis());
+
+        when(userPointRepository.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointRepository.insertOrUpdate(userId, chargeAmount)).thenReturn(updatedUserPoint);
+        when(lockHelper.executeWithLock(eq(userId), Mockito.<Supplier<UserPoint>>any())).thenAnswer(invocation -> {
+            Supplier<UserPoint> supplier = invocation.getArgument(1);
+            return supplier.get();
+        });
+        when(idempotencyCache.execute(eq(userId), eq(idempotencyKey), eq("CHARGE:1000"), Mockito.<Supplier<UserPoint>>any()))
+                .thenAnswer(invocation -> {
+                    Supplier<UserPoint> supplier = invocation.getArgument(3);
+                    return supplier.get();
+                });
+
+        //when
+        UserPoint result = pointService.charge(userId, chargeAmount, idempotencyKey);
+
+        //then
+        assertThat(result).isEqualTo(updatedUserPoint);
+        verify(idempotencyCache).execute(eq(userId), eq(idempotencyKey), eq("CHARGE:1000"), any());
+    }
+
     @DisplayName("0 미만의 포인트를 충전하려고하면 예외를 반환한다.")
     @Test
     void chargeInvalidPoint() {
@@ -103,6 +185,20 @@ class PointServiceTest {
 
     }
 
+    @DisplayName("충전에 실패하면 실패한 ErrorCode 로 처리 시간이 기록된다.")
+    @Test
+    void chargeFailureMetric() {
+        //given
+        long userId = 3;
+        long amount = -1000;
+
+        //when
+        assertThatThrownBy(() -> pointService.charge(userId, amount)).isInstanceOf(PointException.class);
+
+        //then
+        verify(pointMetrics).recordFailure(eq(Operation.CHARGE), eq(INVALID_CHARGE_POINT), anyLong());
+    }
+
 
     @DisplayName("사용하는 포인트만큼 차감이 된다.")
     @Test
@@ -145,6 +241,64 @@ class PointServiceTest {
 
     }
 
+    @DisplayName("포인트를 전송하면 보낸 유저는 차감되고 받은 유저는 충전되며 양쪽에 내역이 남는다.")
+    @Test
+    void transfer() {
+        //given
+        long fromId = 7;
+        long toId = 8;
+        long amount = 300;
+
+        when(userPointRepository.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000, 0));
+        when(userPointRepository.selectById(toId)).thenReturn(new UserPoint(toId, 100, 0));
+        when(userPointRepository.insertOrUpdate(fromId, 700)).thenReturn(new UserPoint(fromId, 700, 0));
+        when(userPointRepository.insertOrUpdate(toId, 400)).thenReturn(new UserPoint(toId, 400, 0));
+        when(lockHelper.executeWithLocks(eq(fromId), eq(toId), Mockito.<Supplier<PointTransfer>>any())).thenAnswer(invocation -> {
+            Supplier<PointTransfer> supplier = invocation.getArgument(2);
+            return supplier.get();
+        });
+
+        //when
+        PointTransfer result = pointService.transfer(fromId, toId, amount);
+
+        //then
+        assertThat(result.from().point()).isEqualTo(700);
+        assertThat(result.to().point()).isEqualTo(400);
+        verify(pointHistoryRepository).insert(eq(fromId), eq(amount), eq(TRANSFER_OUT), anyLong());
+        verify(pointHistoryRepository).insert(eq(toId), eq(amount), eq(TRANSFER_IN), anyLong());
+    }
+
+    @DisplayName("가진 포인트보다 많이 전송하려고 하면 예외를 반환하고 아무것도 반영하지 않는다.")
+    @Test
+    void transferOverPoint() {
+        //given
+        long fromId = 7;
+        long toId = 8;
+
+        when(userPointRepository.selectById(fromId)).thenReturn(new UserPoint(fromId, 100, 0));
+        when(lockHelper.executeWithLocks(eq(fromId), eq(toId), Mockito.<Supplier<PointTransfer>>any())).thenAnswer(invocation -> {
+            Supplier<PointTransfer> supplier = invocation.getArgument(2);
+            return supplier.get();
+        });
+
+        //when //then
+        assertThatThrownBy(() -> pointService.transfer(fromId, toId, 300))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(NOT_ENOUGH_POINT);
+        verify(userPointRepository, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @DisplayName("자기 자신에게 전송하려고 하면 예외를 반환한다.")
+    @Test
+    void transferToSelf() {
+        //when //then
+        assertThatThrownBy(() -> pointService.transfer(7, 7, 300))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_TRANSFER);
+    }
+
     @DisplayName("가지고 있는 포인트 이상의 포인트를 사용하려고 하면 예외를 반환한다.")
     @Test
     void useOverPoint() {
@@ -193,4 +347,78 @@ class PointServiceTest {
         //then
         assertThat(result.size()).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @DisplayName("포인트 내역을 limit 만큼 조회하고, 다음 페이지가 있으면 커서를 반환한다.")
+    @Test
+    void historyPage() {
+        //given
+        long userId = 8;
+        int limit = 2;
+        List<PointHistory> histories = List.of(
+                new PointHistory(1, userId, 100, CHARGE, System.currentTimeMillis()),
+                new PointHistory(2, userId, 200, CHARGE, System.currentTimeMillis()),
+                new PointHistory(3, userId, 300, CHARGE, System.currentTimeMillis()));
+
+        when(pointHistoryRepository.selectByUserId(eq(userId), any(PointHistoryQuery.class))).thenReturn(histories);
+
+        //when
+        PointHistoryPage result = pointService.getHistoryPage(userId, null, limit, null, null, null);
+
+        //then
+        assertThat(result.histories()).hasSize(limit);
+        assertThat(PointHistoryCursor.decode(result.nextCursor())).isEqualTo(2);
+    }
+
+    @DisplayName("마지막 페이지의 커서는 null 이다.")
+    @Test
+    void historyLastPage() {
+        //given
+        long userId = 9;
+        int limit = 2;
+        List<PointHistory> histories = List.of(new PointHistory(1, userId, 100, CHARGE, System.currentTimeMillis()));
+
+        when(pointHistoryRepository.selectByUserId(eq(userId), any(PointHistoryQuery.class))).thenReturn(histories);
+
+        //when
+        PointHistoryPage result = pointService.getHistoryPage(userId, null, limit, null, null, null);
+
+        //then
+        assertThat(result.histories()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @DisplayName("내역 페이지 조회도 처리 시간이 기록되고, 잘못된 커서는 INVALID_CURSOR 로 기록된다.")
+    @Test
+    void historyPageMetric() {
+        //given
+        long userId = 10;
+        when(pointHistoryRepository.selectByUserId(eq(userId), any(PointHistoryQuery.class))).thenReturn(List.of());
+
+        //when
+        pointService.getHistoryPage(userId, null, 2, null, null, null);
+        assertThatThrownBy(() -> pointService.getHistoryPage(userId, "!invalid!", 2, null, null, null))
+                .isInstanceOf(PointException.class);
+
+        //then
+        verify(pointMetrics).recordSuccess(eq(Operation.GET_HISTORY_PAGE), anyLong());
+        verify(pointMetrics).recordFailure(eq(Operation.GET_HISTORY_PAGE), eq(INVALID_CURSOR), anyLong());
+    }
+
+    @DisplayName("limit 이 1 보다 작으면 내역을 조회하지 않고 예외를 반환한다.")
+    @Test
+    void historyPageInvalidLimit() {
+        //given
+        long userId = 11;
+
+        //when //then
+        assertThatThrownBy(() -> pointService.getHistoryPage(userId, null, 0, null, null, null))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_HISTORY_QUERY);
+        assertThatThrownBy(() -> pointService.getHistoryPage(userId, null, -1, null, null, null))
+                .isInstanceOf(PointException.class)
+                .extracting("errorCode")
+                .isEqualTo(INVALID_HISTORY_QUERY);
+        verify(pointHistoryRepository, never()).selectByUserId(eq(userId), any(PointHistoryQuery.class));
+    }
+}